@@ -97,7 +97,7 @@ public class GoogleCalendarIO {
     }
 
     // [COMPLETE]
-    public void exportScheduleToGoogle(UserConfig userconfig, List<Day> week) throws IOException {
+    public void exportScheduleToGoogle(UserConfig userconfig, Iterable<Day> week) throws IOException {
         // need to handle null pointer here since if we try to export to Google without building, else we'll get an exception
         for(Day day : week) {
             // todo need config option that prevents writing of log output to console
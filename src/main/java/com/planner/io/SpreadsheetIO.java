@@ -8,6 +8,7 @@ import com.planner.util.EventLog;
 import org.dhatim.fastexcel.Workbook;
 import org.dhatim.fastexcel.Worksheet;
 import com.planner.util.SpreadsheetUtil;
+import com.planner.util.TaskQueue;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,7 +17,6 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * Class to handle operations related to spreadsheet files.
@@ -81,7 +81,7 @@ public class SpreadsheetIO {
     public void exportScheduleToExcel(
             List<Day> schedule,
             List<Card> cards,
-            PriorityQueue<Task> archivedTasks,
+            TaskQueue archivedTasks,
             UserConfig userConfig
     ) throws IOException {
         if (schedule.isEmpty())
@@ -5,13 +5,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.planner.io.IOProcessing;
 import com.planner.io.SpreadsheetIO;
 import com.planner.models.*;
 import com.planner.io.GoogleCalendarIO;
+import com.planner.schedule.LongOrderComparator;
+import com.planner.schedule.ScheduleImprover;
+import com.planner.schedule.ScheduleStrategy;
 import com.planner.schedule.Scheduler;
+import com.planner.schedule.StrategyResult;
 import com.planner.schedule.day.Day;
+import com.planner.schedule.day.DaySkeleton;
+import com.planner.schedule.day.Occupancy;
 import com.planner.ui.formatters.FormatType;
 import com.planner.util.*;
 import com.planner.ui.tables.TableFormatter;
@@ -26,22 +36,30 @@ public class ScheduleManager {
 
     /** List of Cards holding Tasks */
     private List<Card> cards;
-    /** LinkedList of Days representing a single schedule */
+    /** Days representing a single schedule, one for each date in order from the date of the last build */
     private List<Day> schedule;
-    /** PriorityQueue of all archived Tasks in sorted order */
-    private PriorityQueue<Task> archivedTasks;
-    /** PriorityQueue of all Tasks in sorted order */
-    private PriorityQueue<Task> taskManager;
+    /** TaskQueue of all archived Tasks in sorted order */
+    private TaskQueue archivedTasks;
+    /** TaskQueue of all Tasks in sorted order */
+    private TaskQueue taskManager;
     /** Mapping of all Tasks via their unique IDs */
-    private Map<Integer, Task> taskMap;
+    private IntMap<Task> taskMap;
+    /** Mapping of all Cards via their unique IDs */
+    private final IntMap<Card> cardMap;
+    /** Mapping of all Events via their unique IDs */
+    private final IntMap<Event> eventMap;
+    /** Tasks for each Card ID, mapped via their unique IDs */
+    private final IntMap<IntMap<Task>> cardTasks;
+    /** Events for each Card ID, mapped via their unique IDs */
+    private final IntMap<IntMap<Event>> cardEvents;
     /** Performs all scheduling operations for each day */
     private Scheduler scheduler;
+    /** Task ordering and config overrides the schedule is built with */
+    private ScheduleStrategy strategy;
     /** Holds all user settings for scheduling purposes */
     private UserConfig userConfig;
     /** Logs all actions performed by user */
     private EventLog eventLog;
-    /** Stores custom hours for future days */
-    private Map<Integer, Integer> customHours;
     /** Total count for the number of errors that occurred in schedule generation */
     private int errorCount;
     /** ID counter for Tasks */
@@ -50,35 +68,71 @@ public class ScheduleManager {
     private int dayId;
     /** ID for card */
     private int cardId;
-    /** Last day Task is due */
+    /** Latest due date of any active Task as days since the epoch, or Integer.MIN_VALUE if there are none */
     private int lastDueDate;
+    /** Number of active Tasks due on the latest due date */
+    private int lastDueCount;
     private GoogleCalendarIO googleCalendarIO;
     private SpreadsheetIO spreadsheetIO;
     private Calendar scheduleTime;
-    /** List for storing individual events */
-    private final List<Event> indivEvents;
+    /** Individual events that have yet to pass, keyed by date as days since the epoch and sorted by start time within a date */
+    private final NavigableMap<Integer, List<Event>> indivEvents;
+    /** Individual events whose date has passed, keyed the same way as upcoming ones */
+    private final NavigableMap<Integer, List<Event>> archivedEvents;
     /** List of Lists for storing recurring events.
      * The outer List is of size 7 representing each day of the week.
      * Each element inside the outer List represents a list of events that occur on that day every week.
      * For example, to access the List of events that reoccur on the first day of the week we can use <code>recurringEvents.get(0)</code>*/
     private final List<List<Event>> recurringEvents;
+    /** Layout of the recurring events for each day of the week, or null where it has to be worked out again */
+    private final DaySkeleton[] daySkeletons;
     /** ID for event */
     private int eventId;
+    /** Scheduling state recorded at the start of each Day, plus one entry past the last Day, used to resume builds */
+    private final List<Checkpoint> checkpoints;
+    /** Index of the earliest Day affected by changes made since the last build */
+    private int dirtyDay;
+    /** IDs of Tasks added since the last build */
+    private final Set<Integer> newTaskIds;
+    /** Tasks finished scheduling by a build that is still in progress, or null if no build is in progress */
+    private TaskQueue buildComplete;
+    /** Number of builds started, used to tell when a streamed schedule has been replaced */
+    private int buildCount;
+    /** Whether the schedule rolls forward once the date changes rather than being built over */
+    private boolean rolling;
+    /** Hours each Task was given on Days retired by rolling the schedule, by Task ID, which count as worked */
+    private IntMap<double[]> retiredHours;
+    /** Tasks, Cards and Events as of the last edit */
+    private Snapshot model;
+    /** Snapshots before each edit that can be undone, latest first, or null if there are none */
+    private Snapshot.History undoHistory;
+    /** Snapshots after each undone edit that can be redone, latest undone first, or null if there are none */
+    private Snapshot.History redoHistory;
 
     /**
      * Private constructor of ScheduleManager
      * Initially performs task processing as well as schedule generation
      */
     public ScheduleManager() {
-        try {
-            eventLog = EventLog.getEventLog();
-        } catch (FileNotFoundException e) {
-            throw new IllegalArgumentException("Could not locate logging file");
+        this(openEventLog(), null);
+    }
+
+    /**
+     * Constructs a ScheduleManager without any Tasks, Cards or Events
+     *
+     * @param eventLog EventLog for logging all actions
+     * @param userConfig user settings, or null to read them from the settings file
+     */
+    private ScheduleManager(EventLog eventLog, UserConfig userConfig) {
+        this.eventLog = eventLog;
+        if (userConfig == null) {
+            eventLog.reportUserLogin();
+            processUserConfigFile();
+        } else {
+            this.userConfig = userConfig;
         }
-        eventLog.reportUserLogin();
-        processUserConfigFile();
 
-        taskManager = new PriorityQueue<>();
+        taskManager = new TaskQueue();
 //        try {
 //            googleCalendarIO = new GoogleCalendarIO(eventLog);
 //            spreadsheetIO = new SpreadsheetIO(eventLog);
@@ -87,31 +141,50 @@ public class ScheduleManager {
 //            throw new IllegalArgumentException();
 //        }
 
-        scheduler = Scheduler.getInstance(userConfig, eventLog, 1);
-        // in situations where ScheduleManager is run multiple times after updates to config, this ensures options are set up properly
-        scheduler.updateConfig(userConfig);
+        strategy = ScheduleStrategy.DEFAULT;
+        scheduler = strategy.createScheduler(userConfig, eventLog);
 
-        schedule = new LinkedList<>();
-        customHours = new HashMap<>();
-        taskMap = new HashMap<>();
+        schedule = new ArrayList<>();
+        taskMap = new IntMap<>();
+        cardMap = new IntMap<>();
+        eventMap = new IntMap<>();
+        cardTasks = new IntMap<>();
+        cardEvents = new IntMap<>();
         cards = new ArrayList<>();
-        archivedTasks = new PriorityQueue<>();
-        indivEvents = new ArrayList<>();
+        archivedTasks = new TaskQueue();
+        indivEvents = new TreeMap<>();
+        archivedEvents = new TreeMap<>();
 
         // Gotta initialize all the lists lol
         recurringEvents = new ArrayList<>(7);
         for (int i = 0; i < 7; i++)
             recurringEvents.add(new ArrayList<>());
+        daySkeletons = new DaySkeleton[7];
+
+        checkpoints = new ArrayList<>();
+        newTaskIds = new HashSet<>();
 
         eventId = 0;
         taskId = 0;
         cardId = 0;
+        dirtyDay = 0;
+        lastDueDate = Integer.MIN_VALUE;
+        retiredHours = new IntMap<>();
+        model = Snapshot.EMPTY;
 
         //processSettingsCfg(filename);
         //processJBinFile("data/week.jbin");
 
     }
 
+    private static EventLog openEventLog() {
+        try {
+            return EventLog.getEventLog();
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Could not locate logging file");
+        }
+    }
+
     /**
      * Processes all settings configurations to be used
      */
@@ -199,10 +272,43 @@ public class ScheduleManager {
     /**
      * Gets individual events
      *
-     * @return List of individual events
+     * @return List of individual events, past ones first followed by upcoming ones in date order
      */
     public List<Event> getIndivEvents() {
-        return indivEvents;
+        List<Event> events = new ArrayList<>();
+        for (List<Event> dayEvents : archivedEvents.values()) {
+            events.addAll(dayEvents);
+        }
+        for (List<Event> dayEvents : indivEvents.values()) {
+            events.addAll(dayEvents);
+        }
+        return events;
+    }
+
+    /**
+     * Gets the individual events occurring on a given date
+     *
+     * @param epochDay date as days since the epoch
+     * @return List of individual events on the date sorted by start time
+     */
+    public List<Event> getEventsOnDay(int epochDay) {
+        List<Event> dayEvents = indivEvents.get(epochDay);
+        return dayEvents == null ? Collections.emptyList() : Collections.unmodifiableList(dayEvents);
+    }
+
+    /**
+     * Gets the individual events occurring within a range of dates
+     *
+     * @param fromDay first date of the range as days since the epoch
+     * @param toDay last date of the range (inclusive) as days since the epoch
+     * @return List of individual events in the range sorted by date and start time
+     */
+    public List<Event> getEventsInRange(int fromDay, int toDay) {
+        List<Event> events = new ArrayList<>();
+        for (List<Event> dayEvents : indivEvents.subMap(fromDay, true, toDay, true).values()) {
+            events.addAll(dayEvents);
+        }
+        return events;
     }
 
     /**
@@ -237,7 +343,8 @@ public class ScheduleManager {
      *
      * @return Priority queue storing all non-archived tasks in sorted order
      */
-    public PriorityQueue<Task> getTaskManager() {
+    public TaskQueue getTaskManager() {
+        settleSchedule();
         return taskManager;
     }
 
@@ -246,13 +353,185 @@ public class ScheduleManager {
      *
      * @return Priority queue storing all archived tasks in sorted order
      */
-    public PriorityQueue<Task> getArchivedTasks() { return archivedTasks; }
+    public TaskQueue getArchivedTasks() { return archivedTasks; }
 
     public void setUserConfig(UserConfig userConfig) {
         if (userConfig == null) {
             throw new IllegalArgumentException("UserConfig cannot be null");
         }
+        settleSchedule();
         this.userConfig = userConfig;
+        // explicit settings take precedence over whichever strategy a best-of build picked
+        strategy = ScheduleStrategy.DEFAULT;
+        dirtyDay = 0;
+    }
+
+    /**
+     * Sets custom hours for a date in place of the hours for its day of the week. Only the Days of the current
+     * schedule from that date onward are planned again by the next build.
+     *
+     * @param date date being changed
+     * @param hours number of hours for the date, or null to go back to the hours for its day of the week
+     */
+    public void setCustomHours(Calendar date, Integer hours) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        settleSchedule();
+        int epochDay = Time.toEpochDay(date);
+        userConfig.setCustomHours(epochDay, hours);
+        if (scheduleTime == null) {
+            dirtyDay = 0;
+            return;
+        }
+        int offset = epochDay - Time.toEpochDay(scheduleTime);
+        if (offset >= 0) dirtyDay = Math.min(dirtyDay, offset);
+    }
+
+    /**
+     * Creates a copy of the manager for trying out changes without affecting this one, such as asking what the
+     * schedule would look like with another Task. The Tasks, Cards and Events of the copy are brought back from the
+     * latest {@link Snapshot}, and the copy shares the undo and redo history up to this point, since Snapshots are
+     * never changed. The copy has its own schedule, which is empty until it is built.
+     *
+     * @return new ScheduleManager with the same Tasks, Cards, Events and settings
+     */
+    public ScheduleManager fork() {
+        settleSchedule();
+        ScheduleManager fork = new ScheduleManager(eventLog, new UserConfig(userConfig));
+        fork.strategy = strategy;
+        fork.rolling = rolling;
+        for (Task task : taskManager) {
+            double hours = getRetiredHours(task);
+            if (hours > 0) fork.retiredHours.put(task.getId(), new double[]{hours});
+        }
+        fork.taskId = taskId;
+        fork.cardId = cardId;
+        fork.eventId = eventId;
+        fork.restore(model);
+        for (Task task : archivedTasks) {
+            Task copy = fork.taskMap.get(task.getId());
+            if (fork.taskManager.remove(copy)) {
+                fork.archivedTasks.add(copy);
+                fork.untrackDueDay(copy.getDueDay());
+            }
+        }
+        fork.archivePastEvents(Time.toEpochDay(Calendar.getInstance()));
+        fork.undoHistory = undoHistory;
+        fork.redoHistory = redoHistory;
+        return fork;
+    }
+
+    /**
+     * Undoes the latest edit to the Tasks, Cards or Events. Only the entries that differ from the Snapshot before the
+     * edit are put back, and only the Days they affect are planned again by the next build.
+     *
+     * @return boolean value for whether there was an edit to undo
+     */
+    public boolean undo() {
+        settleSchedule();
+        if (undoHistory == null) return false;
+        redoHistory = new Snapshot.History(model, redoHistory);
+        restore(undoHistory.getSnapshot());
+        undoHistory = undoHistory.getRest();
+        return true;
+    }
+
+    /**
+     * Redoes the latest undone edit. Any new edit clears the edits that can be redone.
+     *
+     * @return boolean value for whether there was an edit to redo
+     */
+    public boolean redo() {
+        settleSchedule();
+        if (redoHistory == null) return false;
+        undoHistory = new Snapshot.History(model, undoHistory);
+        restore(redoHistory.getSnapshot());
+        redoHistory = redoHistory.getRest();
+        return true;
+    }
+
+    /**
+     * Gets the number of edits that can be undone
+     *
+     * @return number of edits
+     */
+    public int getNumUndos() {
+        return Snapshot.History.size(undoHistory);
+    }
+
+    /**
+     * Gets the number of edits that can be redone
+     *
+     * @return number of edits
+     */
+    public int getNumRedos() {
+        return Snapshot.History.size(redoHistory);
+    }
+
+    /**
+     * Records an edit so it can be undone
+     *
+     * @param edited Snapshot after the edit
+     */
+    private void recordEdit(Snapshot edited) {
+        undoHistory = new Snapshot.History(model, undoHistory);
+        redoHistory = null;
+        model = edited;
+    }
+
+    /**
+     * Brings the Tasks, Cards and Events back to the state of another Snapshot. The two Snapshots are compared so that
+     * only the entries that differ are removed or put back, as copies of the frozen entries.
+     *
+     * @param target Snapshot being restored
+     */
+    private void restore(Snapshot target) {
+        Snapshot current = model;
+        // Cards come first so that the Tasks and Events being put back can find theirs
+        current.getCards().diff(target.getCards(), (id, before, after) -> {
+            if (after == null) return;
+            Card card = cardMap.get(id);
+            if (card == null) {
+                attachCard(new Card(id, after.getName(), after.getColor()));
+            } else {
+                card.setName(after.getName());
+                card.setColor(after.getColor());
+            }
+        });
+        current.getTasks().diff(target.getTasks(), (id, before, after) -> {
+            Task task = taskMap.get(id);
+            if (task != null) detachTask(task);
+            if (after != null) {
+                task = new Task(after);
+                task.setCard(after.getCard() == null ? null : cardMap.get(after.getCard().getId()));
+                task.reset();
+                attachTask(task);
+            }
+        });
+        current.getEvents().diff(target.getEvents(), (id, before, after) -> {
+            Event event = eventMap.get(id);
+            if (event != null) detachEvent(event);
+            if (after != null) {
+                attachEvent(Snapshot.copyEvent(after, after.getCard() == null ? null : cardMap.get(after.getCard().getId())));
+            }
+        });
+        current.getCards().diff(target.getCards(), (id, before, after) -> {
+            if (after == null) detachCard(cardMap.get(id));
+        });
+        model = target;
+    }
+
+    /**
+     * Saves the user settings to the settings file so they are kept for the next session
+     */
+    public void saveUserConfigFile() {
+        try {
+            Files.write(Paths.get("settings/profile.json"), JsonHandler.createUserConfig(userConfig).getBytes());
+        } catch (IOException e) {
+            eventLog.reportException(e);
+            throw new IllegalArgumentException("Was unable to save settings file");
+        }
     }
 
     /**
@@ -275,6 +554,7 @@ public class ScheduleManager {
      * @return newly generated Event
      */
     public Event addEvent(String name, Integer cardId, Time.TimeStamp timeStamp, boolean recurring, List<Calendar> dates) {
+        settleSchedule();
         Event e;
 
         Card card = null;
@@ -291,16 +571,12 @@ public class ScheduleManager {
             }
 
             e = new Event(eventId, name, card, timeStamp, days);
-            Event.DayOfWeek[] eventDays = e.getDays();
-
-            for (int i = 0; i < eventDays.length; i++) {
-                recurringEvents.get(eventDays[i].ordinal()).add(e);
-            }
         } else {
             if (dates != null) throw new IllegalArgumentException("Event is non-recurring but has recurrent days");
             e = new Event(eventId, name, card, timeStamp);
-            indivEvents.add(e);
         }
+        attachEvent(e);
+        recordEdit(model.withEvent(e));
 
         eventLog.reportEventAction(e, 0);
 
@@ -319,7 +595,8 @@ public class ScheduleManager {
     public Card addCard(String title, Card.Color color) {
         Card card = new Card(cardId, title, color);
 
-        cards.add(card);
+        attachCard(card);
+        recordEdit(model.withCard(card));
         eventLog.reportCardAction(card, 0);
 
         cardId++;
@@ -337,14 +614,30 @@ public class ScheduleManager {
      * @return The new task added
      */
     public Task addTask(String name, double hours, Calendar due, Integer cardId) {
+        return addTask(name, hours, due, cardId, null);
+    }
+
+    /**
+     * Adds a task with a priority to the task manager List
+     *
+     * @param name Name of the task
+     * @param hours Number of hours of the task
+     * @param due Due date of the task
+     * @param cardId ID for card
+     * @param priority Priority of the task, or null for the lowest priority
+     * @return The new task added
+     */
+    public Task addTask(String name, double hours, Calendar due, Integer cardId, Integer priority) {
+        settleSchedule();
         Card c = null;
         if (cardId != null) {
             c = getCardById(cardId);
         }
         Task task = new Task(taskId, name, hours, due, c);
+        if (priority != null) task.setPriority(priority);
 
-        taskManager.add(task);
-        taskMap.put(taskId, task);
+        attachTask(task);
+        recordEdit(model.withTask(task));
         taskId++;
 
         return task;
@@ -361,11 +654,36 @@ public class ScheduleManager {
      * @return Task after it's modified
      */
     public Task modTask(int id, String name, Double hours, Calendar due, Integer cardId) {
+        return modTask(id, name, hours, due, cardId, null);
+    }
+
+    /**
+     * Modifies a task along with its priority
+     *
+     * @param id ID of the task to be modified
+     * @param name New name of the task
+     * @param hours New number of hours
+     * @param due New due date of the task
+     * @param cardId ID for card
+     * @param priority New priority of the task
+     * @return Task after it's modified
+     */
+    public Task modTask(int id, String name, Double hours, Calendar due, Integer cardId, Integer priority) {
+        settleSchedule();
         Task task = taskMap.get(id);
 
         if (task == null) {
             throw new IllegalArgumentException("Could not locate Task " + id + ".");
         }
+        int oldDueDay = task.getDueDay();
+
+        if (hours != null || due != null || priority != null) {
+            // both the old and new position of the Task in the queue can change the plan
+            markDirty(task.getDueDay());
+        }
+        if (priority != null) {
+            task.setPriority(priority);
+        }
 
         if (name != null) {
             task.setName(name);
@@ -375,18 +693,32 @@ public class ScheduleManager {
         }
         if (due != null) {
             task.setDueDate(due);
+            markDirty(task.getDueDay());
+        }
+        if (hours != null || due != null || priority != null) {
+            // the Task changed in place, so it has to be moved back into its spot in the queue
+            if (taskManager.update(task)) {
+                trackDueDay(task.getDueDay());
+                untrackDueDay(oldDueDay);
+            } else {
+                archivedTasks.update(task);
+            }
         }
         if (cardId != null) {
             Card c = getCardById(cardId);
             if (c != null) {
+                unindexByCard(cardTasks, task.getCard(), id);
                 task.setCard(c);
+                indexByCard(cardTasks, c, id, task);
             }
         }
+        recordEdit(model.withTask(task));
 
         return task;
     }
 
     public Card modCard(int id, String name, Card.Color color) {
+        settleSchedule();
         Card card = getCardById(id);
 
         if (card == null) {
@@ -399,11 +731,13 @@ public class ScheduleManager {
         if (color != null) {
             card.setColor(color);
         }
+        recordEdit(model.withCard(card));
 
         return card;
     }
 
     public Event modEvent(int id, String name, Integer cardId, Time.TimeStamp timeStamp, List<Calendar> dates) {
+        settleSchedule();
         Event event = findEvent(id);
 
         if (event == null) {
@@ -413,6 +747,8 @@ public class ScheduleManager {
         if (dates != null && !event.isRecurring()) {
             throw new IllegalArgumentException("Error: Individual event can't be assigned to multiple days");
         }
+        // the Days the event used to occur on need to be planned again as well
+        markEventDirty(event);
 
         if (name != null) {
             event.setName(name);
@@ -420,11 +756,24 @@ public class ScheduleManager {
         if (cardId != null) {
             Card card = getCardById(cardId);
             if (card != null) {
+                unindexByCard(cardEvents, event.getCard(), id);
                 event.setCard(card);
+                indexByCard(cardEvents, card, id, event);
             }
         }
         if (timeStamp != null) {
-            event.setTimeStamp(timeStamp);
+            if (event.isRecurring()) {
+                event.setTimeStamp(timeStamp);
+                // the new times change the layout of every day the event occurs on
+                for (int days = event.getDayMask(); days != 0; days &= days - 1) {
+                    daySkeletons[Integer.numberOfTrailingZeros(days)] = null;
+                }
+            } else {
+                // archived events move back into the calendar if they are given a new date
+                if (!removeFromCalendar(indivEvents, event)) removeFromCalendar(archivedEvents, event);
+                event.setTimeStamp(timeStamp);
+                addIndivEvent(event);
+            }
         }
         if (dates != null) {
             Event.DayOfWeek[] days = new Event.DayOfWeek[dates.size()];
@@ -434,107 +783,358 @@ public class ScheduleManager {
                 days[i] = dayOfWeekValues[dates.get(i).get(Calendar.DAY_OF_WEEK) - 1];
             }
 
+            int oldMask = event.getDayMask();
             event.setDays(days);
+            // only the lists for days that were dropped or added need to change
+            removeRecurringEvent(event, oldMask & ~event.getDayMask());
+            addRecurringEvent(event, event.getDayMask() & ~oldMask);
         }
 
+        markEventDirty(event);
+        recordEdit(model.withEvent(event));
+
         return event;
     }
 
     public boolean deleteTask(int id) {
-        Task task;
+        settleSchedule();
+        Task task = taskMap.get(id);
 
-        if (taskMap.containsKey(id)) {
-            task = taskMap.get(id);
-            taskMap.remove(id);
-        } else {
+        if (task == null) {
             return false;
         }
+        detachTask(task);
+        recordEdit(model.withoutTask(id));
+
+        return true;
+    }
 
-        boolean taskRemoved = taskManager.remove(task);
+    public boolean deleteCard(int id) {
+        settleSchedule();
+        Card card = cardMap.get(id);
 
-        if (!taskRemoved) {
-            taskRemoved = archivedTasks.remove(task);
+        if (card == null) {
+            return false;
         }
 
-        return taskRemoved;
+        // the Tasks and Events that lose their Card change as well
+        Snapshot edited = model.withoutCard(id);
+        IntMap<Task> tasks = cardTasks.get(id);
+        IntMap<Event> events = cardEvents.get(id);
+        detachCard(card);
+        if (tasks != null) {
+            for (Task task : tasks) edited = edited.withTask(task);
+        }
+        if (events != null) {
+            for (Event event : events) edited = edited.withEvent(event);
+        }
+        recordEdit(edited);
+
+        return true;
     }
 
-    public boolean deleteCard(int id) {
-        for (int i = 0; i < cards.size(); i++) {
-            if (cards.get(i).getId() == id) {
-                Card card = cards.get(i);
+    public boolean deleteEvent(int id) {
+        settleSchedule();
+        Event event = eventMap.get(id);
 
-                cards.remove(i);
+        if (event == null) {
+            return false;
+        }
+        detachEvent(event);
+        recordEdit(model.withoutEvent(id));
 
-                removeTasksWithCard(card);
+        return true;
+    }
 
-                return true;
-            }
-        }
+    /**
+     * Adds a Task to the registries and the Task queue
+     *
+     * @param task Task being added
+     */
+    private void attachTask(Task task) {
+        taskManager.add(task);
+        taskMap.put(task.getId(), task);
+        indexByCard(cardTasks, task.getCard(), task.getId(), task);
+        newTaskIds.add(task.getId());
+        markDirty(task.getDueDay());
+        trackDueDay(task.getDueDay());
+    }
 
-        return false;
+    /**
+     * Removes a Task from the registries and from whichever Task queue holds it
+     *
+     * @param task Task being removed
+     */
+    private void detachTask(Task task) {
+        taskMap.remove(task.getId());
+        unindexByCard(cardTasks, task.getCard(), task.getId());
+        newTaskIds.remove(task.getId());
+        markDirty(task.getDueDay());
+        if (taskManager.remove(task)) untrackDueDay(task.getDueDay());
+        else archivedTasks.remove(task);
     }
 
-    public boolean deleteEvent(int id) {
-        for (int i = 0; i < indivEvents.size(); i++) {
-            if (indivEvents.get(i).getId() == id) {
-                indivEvents.remove(i);
-                return true;
-            }
+    /**
+     * Counts an active Task due on the given date towards the latest due date, which moves later if the Task is due
+     * after it
+     *
+     * @param dueDay due date of the Task as days since the epoch
+     */
+    private void trackDueDay(int dueDay) {
+        if (dueDay > lastDueDate) {
+            lastDueDate = dueDay;
+            lastDueCount = 0;
+        }
+        if (dueDay == lastDueDate) lastDueCount++;
+    }
+
+    /**
+     * Stops counting an active Task due on the given date towards the latest due date. Once no active Task is due on
+     * the latest due date, it moves back to the latest due date of those that are left.
+     *
+     * @param dueDay due date of the Task as days since the epoch
+     */
+    private void untrackDueDay(int dueDay) {
+        if (dueDay != lastDueDate || --lastDueCount > 0) return;
+        lastDueDate = Integer.MIN_VALUE;
+        for (Task task : taskManager) {
+            trackDueDay(task.getDueDay());
         }
+    }
 
-        boolean eventRemoved = false;
+    /**
+     * Adds a Card to the registries, keeping the List of Cards sorted by ID
+     *
+     * @param card Card being added
+     */
+    private void attachCard(Card card) {
+        int idx = cards.size();
+        while (idx > 0 && cards.get(idx - 1).getId() > card.getId()) idx--;
+        cards.add(idx, card);
+        cardMap.put(card.getId(), card);
+    }
 
-        for (List<Event> events : recurringEvents)
-        {
-            for (int i = 0; i < events.size(); i++) {
-                if (events.get(i).getId() == id) {
-                    events.remove(i);
-                    eventRemoved = true;
-                }
+    /**
+     * Removes a Card from the registries and from every Task and Event that has it
+     *
+     * @param card Card being removed
+     */
+    private void detachCard(Card card) {
+        int id = card.getId();
+        cardMap.remove(id);
+        // Cards are added in order of their IDs, so the List stays sorted for a binary search
+        int lo = 0;
+        int hi = cards.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int midId = cards.get(mid).getId();
+            if (midId < id) lo = mid + 1;
+            else if (midId > id) hi = mid - 1;
+            else {
+                cards.remove(mid);
+                break;
             }
         }
 
-        return eventRemoved;
+        removeTasksWithCard(card);
+    }
+
+    /**
+     * Adds an Event to the registries and the calendar
+     *
+     * @param event Event being added
+     */
+    private void attachEvent(Event event) {
+        if (event.isRecurring()) addRecurringEvent(event, event.getDayMask());
+        else addIndivEvent(event);
+        eventMap.put(event.getId(), event);
+        indexByCard(cardEvents, event.getCard(), event.getId(), event);
+        markEventDirty(event);
+    }
+
+    /**
+     * Removes an Event from the registries and the calendar or the archive
+     *
+     * @param event Event being removed
+     */
+    private void detachEvent(Event event) {
+        eventMap.remove(event.getId());
+        unindexByCard(cardEvents, event.getCard(), event.getId());
+        if (event.isRecurring()) {
+            removeRecurringEvent(event, event.getDayMask());
+            markEventDirty(event);
+        } else if (removeFromCalendar(indivEvents, event)) {
+            markEventDirty(event);
+        } else {
+            removeFromCalendar(archivedEvents, event);
+        }
     }
 
     private void removeTasksWithCard(Card card) {
-        for (Task task : taskManager) {
-            if (task.getCard() != null && task.getCard().getId() == card.getId()) {
+        IntMap<Task> tasks = cardTasks.remove(card.getId());
+        if (tasks != null) {
+            for (Task task : tasks) {
                 task.setCard(null);
             }
         }
 
-        for (Task task : archivedTasks) {
-            if (task.getCard() != null && task.getCard().getId() == card.getId()) {
-                task.setCard(null);
+        IntMap<Event> events = cardEvents.remove(card.getId());
+        if (events != null) {
+            for (Event event : events) {
+                event.setCard(null);
             }
         }
     }
 
-    private Event findEvent(int id)
-    {
-        Event event = null;
+    /**
+     * Adds an entity to the reverse index for its Card
+     *
+     * @param index reverse index from Card ID to entities
+     * @param card Card of the entity, possibly null
+     * @param id ID of the entity
+     * @param entity entity being indexed
+     * @param <T> type of entity
+     */
+    private static <T> void indexByCard(IntMap<IntMap<T>> index, Card card, int id, T entity) {
+        if (card == null) return;
+        IntMap<T> entities = index.get(card.getId());
+        if (entities == null) {
+            entities = new IntMap<>();
+            index.put(card.getId(), entities);
+        }
+        entities.put(id, entity);
+    }
 
-        for (Event indivEvent : indivEvents) {
-            if (indivEvent.getId() == id) {
-                return indivEvent;
-            }
+    /**
+     * Removes an entity from the reverse index for its Card
+     *
+     * @param index reverse index from Card ID to entities
+     * @param card Card of the entity, possibly null
+     * @param id ID of the entity
+     * @param <T> type of entity
+     */
+    private static <T> void unindexByCard(IntMap<IntMap<T>> index, Card card, int id) {
+        if (card == null) return;
+        IntMap<T> entities = index.get(card.getId());
+        if (entities != null) {
+            entities.remove(id);
+            if (entities.isEmpty()) index.remove(card.getId());
         }
+    }
 
-        for (List<Event> events : recurringEvents)
-        {
-            for (Event recurringEvent : events) {
-                if (recurringEvent.getId() == id) {
-                    return recurringEvent;
-                }
-            }
+    private Event findEvent(int id) {
+        return eventMap.get(id);
+    }
+
+    /**
+     * Adds an individual event to the calendar after any events on the same date that start at the same time or earlier
+     *
+     * @param event individual event being added
+     */
+    private void addIndivEvent(Event event) {
+        List<Event> dayEvents = indivEvents.computeIfAbsent(event.getTimeStamp().getDay(), k -> new ArrayList<>());
+        int startMinute = event.getTimeStamp().getStartMinute();
+        int idx = dayEvents.size();
+        while (idx > 0 && dayEvents.get(idx - 1).getTimeStamp().getStartMinute() > startMinute) {
+            idx--;
+        }
+        dayEvents.add(idx, event);
+    }
+
+    /**
+     * Removes an individual event from a calendar of events keyed by date
+     *
+     * @param calendar events keyed by date as days since the epoch
+     * @param event individual event being removed
+     * @return boolean value for whether the event was in the calendar
+     */
+    private static boolean removeFromCalendar(NavigableMap<Integer, List<Event>> calendar, Event event) {
+        int day = event.getTimeStamp().getDay();
+        List<Event> dayEvents = calendar.get(day);
+        if (dayEvents == null || !dayEvents.remove(event)) return false;
+        if (dayEvents.isEmpty()) calendar.remove(day);
+        return true;
+    }
+
+    /**
+     * Adds a recurring event to the list for each day of the week in the given bitmask
+     *
+     * @param event recurring event being added
+     * @param dayMask bitmask of the days of the week to add it to
+     */
+    private void addRecurringEvent(Event event, int dayMask) {
+        for (int days = dayMask; days != 0; days &= days - 1) {
+            recurringEvents.get(Integer.numberOfTrailingZeros(days)).add(event);
+            daySkeletons[Integer.numberOfTrailingZeros(days)] = null;
+        }
+    }
+
+    /**
+     * Removes a recurring event from the list for each day of the week in the given bitmask
+     *
+     * @param event recurring event being removed
+     * @param dayMask bitmask of the days of the week to remove it from
+     */
+    private void removeRecurringEvent(Event event, int dayMask) {
+        for (int days = dayMask; days != 0; days &= days - 1) {
+            recurringEvents.get(Integer.numberOfTrailingZeros(days)).remove(event);
+            daySkeletons[Integer.numberOfTrailingZeros(days)] = null;
+        }
+    }
+
+    /**
+     * Gets the layout of the recurring events for a day of the week, working it out again if they have changed
+     *
+     * @param dayOfWeek day of the week (0=Sunday, ...)
+     * @return skeleton shared by every Day falling on the day of the week
+     */
+    private DaySkeleton getDaySkeleton(int dayOfWeek) {
+        DaySkeleton skeleton = daySkeletons[dayOfWeek];
+        if (skeleton == null) {
+            skeleton = new DaySkeleton(recurringEvents.get(dayOfWeek));
+            daySkeletons[dayOfWeek] = skeleton;
+        }
+        return skeleton;
+    }
+
+    /**
+     * Moves all individual events dated before the given date out of the calendar and into the archive
+     *
+     * @param today current date as days since the epoch
+     */
+    private void archivePastEvents(int today) {
+        SortedMap<Integer, List<Event>> pastEvents = indivEvents.headMap(today);
+        for (Map.Entry<Integer, List<Event>> entry : pastEvents.entrySet()) {
+            archivedEvents.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
         }
+        pastEvents.clear();
+    }
 
-        return null;
+    /**
+     * Marks the earliest Day of the current schedule on which the given event occurs as needing to be planned again
+     *
+     * @param event Event being added, modified, or removed
+     */
+    private void markEventDirty(Event event) {
+        if (scheduleTime == null) {
+            dirtyDay = 0;
+            return;
+        }
+        int offset;
+        if (event.isRecurring()) {
+            int weekday = scheduleTime.get(Calendar.DAY_OF_WEEK) - 1;
+            offset = Integer.MAX_VALUE;
+            for (Event.DayOfWeek day : event.getDays()) {
+                offset = Math.min(offset, (day.ordinal() - weekday + 7) % 7);
+            }
+        } else {
+            offset = event.getTimeStamp().getDay() - Time.toEpochDay(scheduleTime);
+        }
+        if (offset >= 0) dirtyDay = Math.min(dirtyDay, offset);
     }
 
     public int getNumActiveTasks() {
+        settleSchedule();
         return taskManager.size();
     }
 
@@ -545,10 +1145,7 @@ public class ScheduleManager {
      * @return Card with matching ID
      */
     public Card getCardById(int id) {
-        for (Card c : cards) {
-            if (c.getId() == id) return c;
-        }
-        return null;
+        return cardMap.get(id);
     }
 
     /**
@@ -562,55 +1159,658 @@ public class ScheduleManager {
     }
 
     /**
-     * Generates an entire schedule following a distributive approach
+     * Generates an entire schedule following a distributive approach.
+     * <p>
+     * When only Tasks changed since the last build (and it is still the same scheduling slot of the same day), the
+     * Days before the earliest affected Day are kept and planning resumes from there. The result is identical to a
+     * full rebuild.
      */
     public void buildSchedule() {
-        eventLog.reportSchedulingStart();
-        resetSchedule();
-        //Tasks that are "finished scheduling" are added here
-        PriorityQueue<Task> complete = new PriorityQueue<>();
-
-        schedule = new ArrayList<>(userConfig.getMaxDays());
-        scheduleTime = Calendar.getInstance();
-        int idx = scheduleTime.get(Calendar.DAY_OF_WEEK) - 1;
-        int dayCount = 0;
-        Day currDay;
-
-        // need to archive tasks that are 'past due' (this is to handle edge case where we started at 11PM, and now it's 1AM)
-        Task head = taskManager.peek();
-        while (head != null && !Time.doDatesMatch(head.getDueDate(), scheduleTime)
-                && head.getDueDate().compareTo(scheduleTime) < 0) {
-            archivedTasks.add(taskManager.remove());
-            head = taskManager.peek();
-        }
-
-        int eventIdx = 0;
-        while(!taskManager.isEmpty() && dayId < userConfig.getMaxDays()) {
-            currDay = new Day(dayId++, userConfig.getHoursPerDayOfWeek()[idx++ % 7], dayCount++);
-            schedule.add(currDay);
-
-            if (!recurringEvents.get(currDay.getDate().get(Calendar.DAY_OF_WEEK) - 1).isEmpty()) {
-                for (Event e1 : recurringEvents.get(currDay.getDate().get(Calendar.DAY_OF_WEEK) - 1)) {
-                    currDay.addEvent(e1);
-                }
+        beginSchedule();
+        while (planNextDay()) {
+            // plans the whole horizon up front
+        }
+        finishSchedule();
+    }
+
+    /**
+     * Generates the schedule lazily, planning each Day only once it is consumed. Days kept from the last build are
+     * given first, so the stream holds the same Days {@link #buildSchedule()} would produce.
+     * <p>
+     * A stream that is closed, or not read to the end before the next change to the schedule, leaves the Days planned
+     * so far in place and the next build carries on after them. The stream fails with a
+     * {@link ConcurrentModificationException} once another build has started.
+     *
+     * @return Stream of the Days of the schedule in order
+     */
+    public Stream<Day> streamSchedule() {
+        beginSchedule();
+        int build = buildCount;
+        Iterator<Day> days = new Iterator<>() {
+            private int idx = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (build != buildCount) throw new ConcurrentModificationException("Schedule was rebuilt while streaming");
+                if (idx < schedule.size()) return true;
+                if (buildComplete == null) return false;
+                if (planNextDay()) return true;
+                finishSchedule();
+                return false;
             }
 
-            while (eventIdx < indivEvents.size()) {
-                Calendar eventDate = indivEvents.get(eventIdx).getTimeStamp().getStart();
-                Calendar dayDate = currDay.getDate();
-                if (Time.doDatesMatch(eventDate, dayDate)) {
-                    currDay.addEvent(indivEvents.get(eventIdx));
-                    eventIdx++;
-                } else break;
+            @Override
+            public Day next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return schedule.get(idx++);
             }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(days, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::settleSchedule);
+    }
+
+    /**
+     * Prepares for planning Days, either by resuming from a {@link Checkpoint} or by starting over
+     */
+    private void beginSchedule() {
+        settleSchedule();
+        eventLog.reportSchedulingStart();
+        Calendar now = Calendar.getInstance();
+        if (canRollSchedule(now)) rollSchedule(now);
 
-            // don't need incomplete as argument (should be local to schedulers)
-            errorCount = scheduler.assignDay(currDay, errorCount, complete, taskManager, scheduleTime);
+        if (canResumeSchedule(now)) {
+            buildComplete = resumeSchedule(Math.min(dirtyDay, checkpoints.size() - 1));
+        } else {
+            resetSchedule();
+            buildComplete = strategy.createQueue(userConfig);
+            scheduleTime = now;
+
+            // need to archive tasks that are 'past due' (this is to handle edge case where we started at 11PM, and now it's 1AM)
+            int today = Time.toEpochDay(scheduleTime);
+            while (taskManager.peekDueDay() < today) {
+                Task task = taskManager.pollDueOn(taskManager.peekDueDay());
+                archivedTasks.add(task);
+                untrackDueDay(task.getDueDay());
+            }
+            archivePastEvents(today);
+            schedule = new ArrayList<>(getHorizon(scheduleTime));
         }
-        this.taskManager = complete;
+        buildCount++;
+    }
+
+    /**
+     * Plans the next Day of the schedule in progress
+     *
+     * @return boolean value for whether a Day was planned, false once all Tasks are scheduled or the horizon is reached
+     */
+    private boolean planNextDay() {
+        if (taskManager.isEmpty() || dayId >= getHorizon(scheduleTime)) return false;
+        Checkpoint checkpoint = new Checkpoint(errorCount);
+        checkpoints.add(checkpoint);
+
+        Day currDay = createDay(dayId);
+        dayId++;
+        schedule.add(currDay);
+
+        // don't need incomplete as argument (should be local to schedulers)
+        errorCount = scheduler.assignDay(currDay, errorCount, buildComplete, taskManager, scheduleTime);
+        if (userConfig.isOptimizeDay()) scheduler.optimizeDay(currDay);
+        checkpoint.frontier = currDay.hasSpareHours() ? Integer.MAX_VALUE : getLatestDueDay(currDay);
+        return true;
+    }
+
+    /**
+     * Ends the build in progress. If it stopped before every Day was planned, the next build resumes after the last
+     * planned Day.
+     */
+    private void finishSchedule() {
+        boolean stoppedEarly = !taskManager.isEmpty() && dayId < getHorizon(scheduleTime);
+        checkpoints.add(new Checkpoint(errorCount));
+
+        // Tasks that did not fit inside the horizon remain active for the next build
+        while (!taskManager.isEmpty()) {
+            buildComplete.add(taskManager.remove());
+        }
+        this.taskManager = buildComplete;
+        buildComplete = null;
+        newTaskIds.clear();
+        dirtyDay = stoppedEarly ? dayId : Integer.MAX_VALUE;
         eventLog.reportSchedulingFinish();
     }
 
+    /**
+     * Ends a streamed build that was not read to the end, so that every active Task is back in the Task queue
+     */
+    private void settleSchedule() {
+        if (buildComplete != null) finishSchedule();
+    }
+
+    /**
+     * Builds the schedule with each of the {@link ScheduleStrategy#getCandidates()} in parallel, then keeps the strategy
+     * whose schedule has the fewest errors, breaking ties by the fewest overflow hours and then by candidate order.
+     * Each strategy plans its own copies of the Tasks. The winner is then built again on the real Tasks, so the
+     * schedule and all incremental state stay in terms of the Tasks the manager holds.
+     *
+     * @return results for each strategy in candidate order
+     */
+    public List<StrategyResult> buildBestSchedule() {
+        settleSchedule();
+        List<ScheduleStrategy> candidates = ScheduleStrategy.getCandidates();
+        Calendar now = Calendar.getInstance();
+        // copies are made up front since Tasks and Calendars are not safe to read from several threads at once
+        List<List<Task>> taskCopies = new ArrayList<>(candidates.size());
+        List<Calendar> times = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            List<Task> copies = new ArrayList<>(taskManager.size());
+            for (Task task : taskManager) {
+                copies.add(new Task(task));
+            }
+            taskCopies.add(copies);
+            times.add((Calendar) now.clone());
+        }
+        // skeletons are worked out up front so the evaluations only read them
+        for (int dayOfWeek = 0; dayOfWeek < 7; dayOfWeek++) {
+            getDaySkeleton(dayOfWeek);
+        }
+
+        List<StrategyResult> results = IntStream.range(0, candidates.size()).parallel()
+                .mapToObj(i -> evaluateStrategy(candidates.get(i), taskCopies.get(i), times.get(i)))
+                .collect(Collectors.toList());
+
+        StrategyResult best = results.get(0);
+        for (StrategyResult result : results) {
+            if (result.isBetterThan(best)) best = result;
+        }
+        strategy = best.getStrategy();
+        dirtyDay = 0;
+        buildSchedule();
+        return results;
+    }
+
+    /**
+     * Plans a schedule for copies of the active Tasks with the given strategy without touching the state of the
+     * manager. Only reads shared data, so several strategies can be evaluated at once.
+     *
+     * @param candidate strategy being evaluated
+     * @param tasks copies of the active Tasks, owned by this evaluation
+     * @param time time at which the build is occurring, owned by this evaluation
+     * @return result of building the schedule with the strategy
+     */
+    private StrategyResult evaluateStrategy(ScheduleStrategy candidate, List<Task> tasks, Calendar time) {
+        long start = System.nanoTime();
+        UserConfig config = candidate.configure(userConfig);
+        Scheduler candidateScheduler = candidate.createScheduler(userConfig, null);
+        candidateScheduler.setLastDueDate(lastDueDate);
+        TaskQueue queue = candidate.createQueue(userConfig);
+        TaskQueue complete = candidate.createQueue(userConfig);
+        int today = Time.toEpochDay(time);
+        for (Task task : tasks) {
+            // past due Tasks would be archived by a real build
+            if (task.getDueDay() >= today) {
+                task.reset(getRetiredHours(task));
+                queue.add(task);
+            }
+        }
+
+        int errors = 0;
+        double overflowHours = 0;
+        int horizon = getHorizon(time);
+        for (int dayIdx = 0; !queue.isEmpty() && dayIdx < horizon; dayIdx++) {
+            Day day = createDay(dayIdx);
+            errors = candidateScheduler.assignDay(day, errors, complete, queue, time);
+            if (config.isOptimizeDay()) candidateScheduler.optimizeDay(day);
+            overflowHours += Math.max(day.getHoursFilled() - day.getCapacity(), 0);
+        }
+        for (Task task : queue) {
+            overflowHours += task.getSubTotalHoursRemaining();
+        }
+        return new StrategyResult(candidate, errors, overflowHours, System.nanoTime() - start);
+    }
+
+    /**
+     * Creates a Day of the schedule along with all of its events
+     *
+     * @param dayIdx number of days from present day (0=today, 1=tomorrow, ...)
+     * @return new Day holding its events
+     */
+    private Day createDay(int dayIdx) {
+        Calendar date = Time.getFormattedCalendarInstance(dayIdx);
+        DaySkeleton skeleton = getDaySkeleton(date.get(Calendar.DAY_OF_WEEK) - 1);
+        Day day = new Day(dayIdx, userConfig.getHoursOnDay(Time.toEpochDay(date)), date, skeleton);
+        for (Event e1 : getEventsOnDay(day.getEpochDay())) {
+            day.addEvent(e1);
+        }
+        return day;
+    }
+
+    /**
+     * Finds the Tasks that cannot be finished by their due dates without running a build. Tasks are taken in
+     * earliest-deadline-first order and checked against prefix sums of the capacity of each Day in the horizon, so the
+     * whole check is O(n log n) in the number of active Tasks.
+     * <p>
+     * The capacity of a Day is its hours from {@link UserConfig#getHoursOnDay(int)}, limited to the time inside
+     * the daily hours range that is not taken up by events. A Task that does not fit takes whatever capacity is left
+     * until its due date, with the rest overflowing onto that date, just as the schedulers overflow a Task on its
+     * due date. Tasks due after the horizon are not checked.
+     *
+     * @return Tasks that will overflow, in the order they are due
+     */
+    public List<Task> getInfeasibleTasks() {
+        settleSchedule();
+        Calendar now = Calendar.getInstance();
+        Task[] tasks = taskManager.toArray(new Task[0]);
+        Arrays.sort(tasks, new LongOrderComparator());
+        List<Task> infeasible = new ArrayList<>();
+        getOverflowHours(tasks, getCapacityBefore(now, getHorizon(now)), Time.toEpochDay(now), infeasible);
+        return infeasible;
+    }
+
+    /**
+     * Finds the earliest date a new Task of the given length could be due without causing any overflow, that is
+     * without any Task going past the capacity of the Days before its due date that would not already. Dates in the
+     * horizon are binary searched, and each is checked against the capacity of the Days in the same way as
+     * {@link #getInfeasibleTasks()}. Once the capacities are worked out, the query takes O(n log d) time for n active
+     * Tasks over d days.
+     * <p>
+     * Neither the schedule nor any Task is changed, and a build that is still being streamed is left as it is.
+     *
+     * @param hours number of hours for the new Task
+     * @return earliest due date for the new Task, or null if no date in the horizon fits it
+     * @throws IllegalArgumentException if the hours are not valid for a Task
+     */
+    public Calendar getEarliestDueDate(double hours) {
+        Calendar now = Calendar.getInstance();
+        int today = Time.toEpochDay(now);
+        int numDays = userConfig.getMaxDays();
+        Task query = new Task(taskId, "query", hours, Time.getFormattedCalendarInstance(0));
+
+        // Tasks finished scheduling by a streamed build are still active
+        List<Task> active = new ArrayList<>(taskManager);
+        if (buildComplete != null) active.addAll(buildComplete);
+        Comparator<Task> order = new LongOrderComparator();
+        Task[] tasks = active.toArray(new Task[0]);
+        Arrays.sort(tasks, order);
+        // the new Task could be due after every other one, so the whole of the largest horizon is searched
+        double[] capacityBefore = getCapacityBefore(now, numDays);
+        double overflowHours = getOverflowHours(tasks, capacityBefore, today, null);
+
+        Task[] withQuery = new Task[tasks.length + 1];
+        int lo = 0;
+        int hi = numDays;
+        while (lo < hi) {
+            int dayIdx = (lo + hi) >>> 1;
+            query.setDueDate(Time.getFormattedCalendarInstance(dayIdx));
+            int idx = -Arrays.binarySearch(tasks, query, order) - 1;
+            System.arraycopy(tasks, 0, withQuery, 0, idx);
+            withQuery[idx] = query;
+            System.arraycopy(tasks, idx, withQuery, idx + 1, tasks.length - idx);
+            if (getOverflowHours(withQuery, capacityBefore, today, null) <= overflowHours + 1e-9) hi = dayIdx;
+            else lo = dayIdx + 1;
+        }
+        return lo == numDays ? null : Time.getFormattedCalendarInstance(lo);
+    }
+
+    /**
+     * Gets the total capacity of the Days before each of the given number of Days
+     *
+     * @param now time at which the schedule is built
+     * @param numDays number of Days from today
+     * @return array where the i-th value is the total hours the Days before the i-th Day can hold
+     */
+    private double[] getCapacityBefore(Calendar now, int numDays) {
+        double[] capacityBefore = new double[numDays + 1];
+        for (int dayIdx = 0; dayIdx < numDays; dayIdx++) {
+            capacityBefore[dayIdx + 1] = capacityBefore[dayIdx] + getAvailableHours(dayIdx, now);
+        }
+        return capacityBefore;
+    }
+
+    /**
+     * Takes Tasks in earliest-deadline-first order against the total capacity before each Day, where a Task that does
+     * not fit takes whatever capacity is left until its due date and overflows with the rest
+     *
+     * @param tasks active Tasks sorted by {@link LongOrderComparator}
+     * @param capacityBefore total capacity of the Days before each Day of the horizon
+     * @param today date of the first Day of the horizon as days since the epoch
+     * @param infeasible List the Tasks that overflow are added to, or null if they are not needed
+     * @return total hours that overflow
+     */
+    private double getOverflowHours(Task[] tasks, double[] capacityBefore, int today, List<Task> infeasible) {
+        int numDays = capacityBefore.length - 1;
+        double overflowHours = 0;
+        double hoursAssigned = 0;
+        for (Task task : tasks) {
+            int dayIdx = task.getDueDay() - today;
+            // past due Tasks are archived by the next build
+            if (dayIdx < 0) continue;
+            if (dayIdx >= numDays) break;
+            double available = capacityBefore[dayIdx + 1] - hoursAssigned;
+            double hours = task.getTotalHours() - getRetiredHours(task);
+            if (hours > available) {
+                if (infeasible != null) infeasible.add(task);
+                overflowHours += hours - available;
+                hoursAssigned = capacityBefore[dayIdx + 1];
+            } else {
+                hoursAssigned += hours;
+            }
+        }
+        return overflowHours;
+    }
+
+    /**
+     * Gets the hours a Day can hold, which are its hours from {@link UserConfig#getHoursOnDay(int)} limited to the time
+     * inside the daily hours range that is not taken up by events
+     *
+     * @param dayIdx number of days from the given time (0=today, 1=tomorrow, ...)
+     * @param now time at which the schedule is built
+     * @return hours the Day can hold
+     */
+    private double getAvailableHours(int dayIdx, Calendar now) {
+        int[] range = userConfig.getDailyHoursRange();
+        int epochDay = Time.toEpochDay(now) + dayIdx;
+        int startMinute = range[0] * 60;
+        if (dayIdx == 0 && !userConfig.isDefaultAtStart()) {
+            startMinute = Math.max(startMinute, Time.toMinuteOfDay(now) / 60 * 60);
+        }
+        int endMinute = range[1] * 60;
+        DaySkeleton skeleton = getDaySkeleton((now.get(Calendar.DAY_OF_WEEK) - 1 + dayIdx) % 7);
+        List<Event> dayEvents = getEventsOnDay(epochDay);
+        int freeMinutes;
+        if (dayEvents.isEmpty()) {
+            freeMinutes = skeleton.countFree(startMinute, endMinute);
+        } else {
+            Occupancy occupancy = skeleton.copyOccupancy();
+            for (Event event : dayEvents) {
+                occupancy.occupy(event.getTimeStamp().getStartMinute(), event.getTimeStamp().getEndMinute());
+            }
+            freeMinutes = Math.max(endMinute - startMinute, 0) - occupancy.countOccupied(startMinute, endMinute);
+        }
+        return Math.min(userConfig.getHoursOnDay(epochDay), freeMinutes / 60.0);
+    }
+
+    /**
+     * Improves the last built schedule with a {@link ScheduleImprover}, moving hours between its Days to cut overflow,
+     * the number of Days each Task is split across, and the spread of the load. The search stops once the time budget
+     * runs out, and the Days are only rebuilt if a better plan was found by then.
+     * <p>
+     * The improved schedule no longer follows the strategy it was built with, so the next build plans every Day again.
+     *
+     * @param numThreads number of threads searching at once
+     * @param budgetMillis time the search can take in milliseconds
+     * @return boolean value for whether the schedule was changed
+     * @throws IllegalArgumentException if the number of threads is not positive or the time budget is negative
+     */
+    public boolean improveSchedule(int numThreads, long budgetMillis) {
+        settleSchedule();
+        if (schedule.isEmpty() || scheduleTime == null) return false;
+        int today = Time.toEpochDay(scheduleTime);
+        double[] capacities = new double[schedule.size()];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = getAvailableHours(schedule.get(i).getEpochDay() - today, scheduleTime);
+        }
+        ScheduleImprover improver = new ScheduleImprover(userConfig, schedule, capacities);
+        if (!improver.improve(numThreads, budgetMillis)) return false;
+
+        int[] dayErrors = improver.apply(scheduleTime, eventLog);
+        // error counts are rebuilt for every Day, keeping those of the Days that were left as they were
+        int errors = 0;
+        List<Checkpoint> counts = new ArrayList<>(checkpoints.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            counts.add(new Checkpoint(errors));
+            if (dayErrors[i] == -1) {
+                errors += checkpoints.get(i + 1).errorCount - checkpoints.get(i).errorCount;
+            } else {
+                errors += dayErrors[i];
+                if (userConfig.isOptimizeDay()) scheduler.optimizeDay(schedule.get(i));
+            }
+        }
+        counts.add(new Checkpoint(errors));
+        checkpoints.clear();
+        checkpoints.addAll(counts);
+        errorCount = errors;
+        dirtyDay = 0;
+        return true;
+    }
+
+    /**
+     * Gets the latest due date of any active Task, which is kept up to date as Tasks are added, modified, and removed
+     *
+     * @return latest due date as days since the epoch, or Integer.MIN_VALUE if there are no active Tasks
+     */
+    public int getLastDueDate() {
+        return lastDueDate;
+    }
+
+    /**
+     * Gets the number of Days the schedule is built over, which runs from today up to the latest due date of any
+     * active Task. It grows as soon as a Task due later is added and shrinks once the last Task due at the end is
+     * gone, but never goes past the 'maxDays' config option.
+     *
+     * @param now time at which the schedule is built
+     * @return number of Days in the horizon
+     */
+    private int getHorizon(Calendar now) {
+        if (lastDueDate == Integer.MIN_VALUE) return 0;
+        return Math.max(Math.min(userConfig.getMaxDays(), lastDueDate - Time.toEpochDay(now) + 1), 0);
+    }
+
+    /**
+     * Gets the strategy the schedule is built with
+     *
+     * @return strategy for building the schedule
+     */
+    public ScheduleStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Determines whether the next build can resume from a recorded {@link Checkpoint} rather than starting over
+     *
+     * @param now time at which the build is occurring
+     * @return boolean value for whether the previous schedule can be partially reused
+     */
+    private boolean canResumeSchedule(Calendar now) {
+        return dirtyDay > 0 && !checkpoints.isEmpty() && scheduleTime != null && scheduler.isIncremental()
+                && Time.doDatesMatch(scheduleTime, now) && getSchedulingSlot(scheduleTime) == getSchedulingSlot(now);
+    }
+
+    /**
+     * Sets whether the schedule rolls forward once the date changes. With rolling on, the first build on a later date
+     * retires the Days that have passed, and the hours planned on them count as worked. Tasks that are past due or
+     * have no hours left are archived, and the Days that are left keep their plans, so only the Days added at the end
+     * of the horizon are planned. Turning rolling off forgets the retired hours, and the next build starts over.
+     *
+     * @param rolling boolean value for whether the schedule rolls forward
+     */
+    public void setRolling(boolean rolling) {
+        settleSchedule();
+        if (this.rolling && !rolling) {
+            retiredHours = new IntMap<>();
+            dirtyDay = 0;
+        }
+        this.rolling = rolling;
+    }
+
+    /**
+     * Determines whether the schedule rolls forward once the date changes
+     *
+     * @return boolean value for whether the schedule rolls forward
+     */
+    public boolean isRolling() {
+        return rolling;
+    }
+
+    /**
+     * Determines whether the next build should roll the schedule forward rather than build it over
+     *
+     * @param now time at which the build is occurring
+     * @return boolean value for whether the date changed since the last build with rolling on
+     */
+    private boolean canRollSchedule(Calendar now) {
+        return rolling && !checkpoints.isEmpty() && scheduleTime != null
+                && Time.toEpochDay(now) > Time.toEpochDay(scheduleTime);
+    }
+
+    /**
+     * Rolls the schedule forward to the given date. The Days before it are retired and the hours planned on them are
+     * recorded as worked, then the Tasks that are past due or have no hours left are archived. The Days that are left,
+     * along with their {@link Checkpoint}s, move to the front, so the next build resumes after the last of them. The
+     * new first Day is only planned again if its working hours have already started.
+     *
+     * @param now time the schedule is rolled forward to
+     */
+    void rollSchedule(Calendar now) {
+        int today = Time.toEpochDay(now);
+        int numRetired = Math.min(today - Time.toEpochDay(scheduleTime), schedule.size());
+        List<Day> retired = schedule.subList(0, numRetired);
+        for (Day day : retired) {
+            for (int i = 0; i < day.getNumSubTasks(); i++) {
+                int id = day.getSubTaskParent(i).getId();
+                double[] hours = retiredHours.get(id);
+                if (hours == null) retiredHours.put(id, hours = new double[1]);
+                hours[0] += day.getSubTaskHours(i);
+            }
+        }
+        retired.clear();
+
+        // errors on the retired Days no longer count
+        int retiredErrors = checkpoints.get(numRetired).errorCount;
+        List<Checkpoint> shifted = new ArrayList<>(checkpoints.size() - numRetired);
+        for (Checkpoint checkpoint : checkpoints.subList(numRetired, checkpoints.size())) {
+            Checkpoint copy = new Checkpoint(checkpoint.errorCount - retiredErrors);
+            copy.frontier = checkpoint.frontier;
+            shifted.add(copy);
+        }
+        checkpoints.clear();
+        checkpoints.addAll(shifted);
+        errorCount -= retiredErrors;
+        dayId -= numRetired;
+        if (dirtyDay != Integer.MAX_VALUE) dirtyDay = Math.max(dirtyDay - numRetired, 0);
+        scheduleTime = now;
+
+        List<Task> finished = new ArrayList<>();
+        for (Task task : taskManager) {
+            if (task.getDueDay() < today || getRetiredHours(task) >= task.getTotalHours()) finished.add(task);
+        }
+        for (Task task : finished) {
+            taskManager.remove(task);
+            archivedTasks.add(task);
+            untrackDueDay(task.getDueDay());
+        }
+        archivePastEvents(today);
+
+        // the first Day was planned as a later date, which only holds while none of its working hours have gone by
+        if (!userConfig.isDefaultAtStart() && Time.toMinuteOfDay(now) / 60 >= userConfig.getDailyHoursRange()[0]) {
+            dirtyDay = 0;
+        }
+    }
+
+    /**
+     * Gets the hours of a Task that were planned on Days retired by rolling the schedule
+     *
+     * @param task Task being measured
+     * @return retired hours of the Task, at most its total hours
+     */
+    private double getRetiredHours(Task task) {
+        double[] hours = retiredHours.get(task.getId());
+        return hours == null ? 0 : Math.min(hours[0], task.getTotalHours());
+    }
+
+    /**
+     * Gets the slot of the day that a time falls into as far as the schedulers are concerned. Two builds in the same
+     * slot produce the same plan for today, since start times are only rounded to the nearest quarter of an hour and
+     * fitted around the half hour.
+     *
+     * @param time time being measured
+     * @return slot of the day for the given time
+     */
+    private static int getSchedulingSlot(Calendar time) {
+        int min = time.get(Calendar.MINUTE);
+        int quarter = min == 0 ? 0 : (min - 1) / 15 + 1;
+        return time.get(Calendar.HOUR_OF_DAY) * 10 + quarter * 2 + (min >= 30 ? 1 : 0);
+    }
+
+    /**
+     * Discards all Days from the given Day onward and restores the Task queue to the state it was in at that point.
+     * The state is worked out from the kept Days rather than recorded for every Day, since a scheduler that can resume
+     * finishes scheduling a Task on its due date or once it has no hours left.
+     *
+     * @param startDay index of the first Day to be planned again
+     * @return queue of Tasks that were finished scheduling before the given Day
+     */
+    private TaskQueue resumeSchedule(int startDay) {
+        scheduler = strategy.createScheduler(userConfig, eventLog);
+        scheduler.setLastDueDate(lastDueDate);
+        Checkpoint checkpoint = checkpoints.get(startDay);
+        schedule.subList(startDay, schedule.size()).clear();
+        checkpoints.subList(startDay, checkpoints.size()).clear();
+        errorCount = checkpoint.errorCount;
+        dayId = startDay;
+
+        // hours each Task was assigned on the kept Days and on the retired Days before them, by Task ID
+        IntMap<double[]> hoursAssigned = new IntMap<>();
+        for (Task task : taskManager) {
+            double hours = getRetiredHours(task);
+            if (hours > 0) hoursAssigned.put(task.getId(), new double[]{hours});
+        }
+        for (Day day : schedule) {
+            for (int i = 0; i < day.getNumSubTasks(); i++) {
+                int id = day.getSubTaskParent(i).getId();
+                double[] hours = hoursAssigned.get(id);
+                if (hours == null) hoursAssigned.put(id, hours = new double[1]);
+                hours[0] += day.getSubTaskHours(i);
+            }
+        }
+
+        int startEpochDay = Time.toEpochDay(scheduleTime) + startDay;
+        TaskQueue queue = strategy.createQueue(userConfig);
+        TaskQueue complete = strategy.createQueue(userConfig);
+        for (Task task : taskManager) {
+            if (newTaskIds.contains(task.getId())) {
+                // the kept Days never reached the Task
+                task.reset(getRetiredHours(task));
+                queue.add(task);
+                continue;
+            }
+            double[] hours = hoursAssigned.get(task.getId());
+            task.reset(hours == null ? 0 : hours[0]);
+            if (task.getDueDay() < startEpochDay || task.getSubTotalHoursRemaining() == 0) complete.add(task);
+            else queue.add(task);
+        }
+        taskManager = queue;
+        return complete;
+    }
+
+    /**
+     * Marks the earliest Day whose plan could change once a Task due on the given date is added, modified, or removed.
+     * A Day is unaffected if it was filled by Tasks that are all due before the given date, since the scheduler would
+     * never have reached the Task on that Day.
+     *
+     * @param dueDay due date of the Task being changed as days since the epoch
+     */
+    private void markDirty(int dueDay) {
+        for (int i = 0; i < dirtyDay && i < checkpoints.size(); i++) {
+            if (checkpoints.get(i).frontier >= dueDay) {
+                dirtyDay = i;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the latest due date of any Task the Day could have drawn from the queue
+     *
+     * @param day Day being measured
+     * @return latest due date out of the Day itself and its SubTasks as days since the epoch
+     */
+    private static int getLatestDueDay(Day day) {
+        int latest = day.getEpochDay();
+        for (int i = 0; i < day.getNumSubTasks(); i++) {
+            latest = Math.max(latest, day.getSubTaskParent(i).getDueDay());
+        }
+        return latest;
+    }
+
     /**
      * Determines whether the schedule is empty
      *
@@ -624,18 +1824,19 @@ public class ScheduleManager {
      * Resets all the tasks as well as the entire schedule for it to be regenerated
      */
     private void resetSchedule() {
-        scheduler.updateConfig(userConfig);
-        schedule = new LinkedList<>();
-        PriorityQueue<Task> copy = new PriorityQueue<>();
-        while(!taskManager.isEmpty()) {
-            Task task = taskManager.remove();
-            task.reset();
+        scheduler = strategy.createScheduler(userConfig, eventLog);
+        scheduler.setLastDueDate(lastDueDate);
+        schedule = new ArrayList<>();
+        TaskQueue copy = strategy.createQueue(userConfig);
+        for (Task task : taskManager) {
+            task.reset(getRetiredHours(task));
             copy.add(task);
         }
         taskManager = copy;
         errorCount = 0;
         dayId = 0;
-        Collections.sort(indivEvents);
+        checkpoints.clear();
+        newTaskIds.clear();
     }
 
     /**
@@ -653,7 +1854,7 @@ public class ScheduleManager {
      * @return Events table as a String
      */
     public String buildEventStr() {
-        return TableFormatter.formatEventSetTables(recurringEvents, indivEvents, userConfig);
+        return TableFormatter.formatEventSetTables(recurringEvents, getIndivEvents(), userConfig);
     }
 
     /**
@@ -671,6 +1872,7 @@ public class ScheduleManager {
      * @return Tasks table as a String
      */
     public String buildTaskStr() {
+        settleSchedule();
         return TableFormatter.formatTaskTable(taskManager, archivedTasks, true);
     }
 
@@ -740,6 +1942,58 @@ public class ScheduleManager {
         return schedule;
     }
 
+    /**
+     * Gets the Day of the schedule for a date. The Days are held in order of their dates with none missing, so the
+     * Day is found by its offset from the first Day in O(1) time.
+     *
+     * @param date date of the Day
+     * @return Day for the date, or null if the date is outside of the schedule
+     * @throws IllegalArgumentException if the date is null
+     */
+    public Day getDay(Calendar date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (schedule.isEmpty()) return null;
+        int dayIdx = Time.toEpochDay(date) - schedule.get(0).getEpochDay();
+        return dayIdx < 0 || dayIdx >= schedule.size() ? null : schedule.get(dayIdx);
+    }
+
+    /**
+     * Gets the Days of the schedule from one date to another, both included, as a read-only view of the schedule
+     * rather than a copy. Dates outside of the schedule are left out, so the view may be empty. The view is only valid
+     * until the schedule is built again.
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     * @return Days for the dates in the range that are in the schedule, in order
+     * @throws IllegalArgumentException if either date is null or the range ends before it starts
+     */
+    public List<Day> getDays(Calendar from, Calendar to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        int fromDay = Time.toEpochDay(from);
+        int toDay = Time.toEpochDay(to);
+        if (toDay < fromDay) {
+            throw new IllegalArgumentException("Range cannot end before it starts");
+        }
+        if (schedule.isEmpty()) return Collections.emptyList();
+        int firstDay = schedule.get(0).getEpochDay();
+        int start = (int) Math.min(Math.max((long) fromDay - firstDay, 0), schedule.size());
+        int end = (int) Math.min(Math.max((long) toDay - firstDay + 1, start), schedule.size());
+        return Collections.unmodifiableList(schedule.subList(start, end));
+    }
+
+    /**
+     * Gets the number of errors that occurred in the last schedule generation
+     *
+     * @return number of scheduling errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
     /**
      * Gets event log
      *
@@ -754,10 +2008,34 @@ public class ScheduleManager {
         spreadsheetIO.exportScheduleToExcel(schedule, cards, archivedTasks, userConfig);
     }
 
+    /**
+     * Exports the Days of the schedule from one date to another, both included, to an Excel file
+     *
+     * @param filename name of the Excel file
+     * @param from first date of the range
+     * @param to last date of the range
+     * @throws IOException if the file could not be written
+     */
+    public void exportScheduleToExcel(String filename, Calendar from, Calendar to) throws IOException {
+        spreadsheetIO.setFilename(filename);
+        spreadsheetIO.exportScheduleToExcel(getDays(from, to), cards, archivedTasks, userConfig);
+    }
+
     public void exportScheduleToGoogle() throws IOException {
         googleCalendarIO.exportScheduleToGoogle(userConfig, schedule);
     }
 
+    /**
+     * Exports the Days of the schedule from one date to another, both included, to Google Calendar
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     * @throws IOException if the Days could not be exported
+     */
+    public void exportScheduleToGoogle(Calendar from, Calendar to) throws IOException {
+        googleCalendarIO.exportScheduleToGoogle(userConfig, getDays(from, to));
+    }
+
     public void cleanGoogleSchedule() throws IOException {
         googleCalendarIO.cleanGoogleSchedule();
     }
@@ -766,6 +2044,26 @@ public class ScheduleManager {
         googleCalendarIO.importScheduleFromGoogle();
     }
 
+    /**
+     * Scheduling state recorded at the start of a Day so that planning can resume from it
+     */
+    private static class Checkpoint {
+        /** Number of errors before the Day */
+        private final int errorCount;
+        /** Latest due date the Day could have drawn from the queue, or Integer.MAX_VALUE if it had room for any Task */
+        private int frontier;
+
+        /**
+         * Constructs a new Checkpoint from the current scheduling state
+         *
+         * @param errorCount number of errors so far
+         */
+        private Checkpoint(int errorCount) {
+            this.errorCount = errorCount;
+            this.frontier = Integer.MAX_VALUE;
+        }
+    }
+
     public static void main(String[] args) {
         ScheduleManager sm = new ScheduleManager();
         Calendar start = Calendar.getInstance();
@@ -0,0 +1,132 @@
+package com.planner.manager;
+
+import com.planner.models.Card;
+import com.planner.models.Event;
+import com.planner.models.Task;
+import com.planner.util.PersistentIntMap;
+
+/**
+ * Immutable record of the Tasks, Cards and Events held by a {@link ScheduleManager} at one point in time. Each edit
+ * creates a new Snapshot that shares everything but the changed entries with the one before it, so snapshots are
+ * cheap to keep around for undo and redo, and to hand over to a forked manager.
+ * <p>
+ * The entries are frozen copies that are never handed out or changed. Cards that Tasks and Events refer to are
+ * looked up again by ID when an entry is brought back.
+ *
+ * @author Andrew Roe
+ */
+final class Snapshot {
+
+    /** Snapshot of a manager without any Tasks, Cards or Events */
+    static final Snapshot EMPTY = new Snapshot(PersistentIntMap.empty(), PersistentIntMap.empty(), PersistentIntMap.empty());
+    /** Frozen copies of the Tasks by ID */
+    private final PersistentIntMap<Task> tasks;
+    /** Frozen copies of the Cards by ID */
+    private final PersistentIntMap<Card> cards;
+    /** Frozen copies of the Events by ID */
+    private final PersistentIntMap<Event> events;
+
+    private Snapshot(PersistentIntMap<Task> tasks, PersistentIntMap<Card> cards, PersistentIntMap<Event> events) {
+        this.tasks = tasks;
+        this.cards = cards;
+        this.events = events;
+    }
+
+    PersistentIntMap<Task> getTasks() {
+        return tasks;
+    }
+
+    PersistentIntMap<Card> getCards() {
+        return cards;
+    }
+
+    PersistentIntMap<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Creates a Snapshot with a frozen copy of the Task as it is now
+     *
+     * @param task Task that was added or changed
+     * @return new Snapshot
+     */
+    Snapshot withTask(Task task) {
+        return new Snapshot(tasks.put(task.getId(), new Task(task)), cards, events);
+    }
+
+    Snapshot withoutTask(int id) {
+        return new Snapshot(tasks.remove(id), cards, events);
+    }
+
+    /**
+     * Creates a Snapshot with a frozen copy of the Card as it is now
+     *
+     * @param card Card that was added or changed
+     * @return new Snapshot
+     */
+    Snapshot withCard(Card card) {
+        return new Snapshot(tasks, cards.put(card.getId(), new Card(card.getId(), card.getName(), card.getColor())), events);
+    }
+
+    Snapshot withoutCard(int id) {
+        return new Snapshot(tasks, cards.remove(id), events);
+    }
+
+    /**
+     * Creates a Snapshot with a frozen copy of the Event as it is now
+     *
+     * @param event Event that was added or changed
+     * @return new Snapshot
+     */
+    Snapshot withEvent(Event event) {
+        return new Snapshot(tasks, cards, events.put(event.getId(), copyEvent(event, event.getCard())));
+    }
+
+    Snapshot withoutEvent(int id) {
+        return new Snapshot(tasks, cards, events.remove(id));
+    }
+
+    /**
+     * Copies an Event along with its TimeStamp and days
+     *
+     * @param event Event being copied
+     * @param card Card for the copy
+     * @return new Event
+     */
+    static Event copyEvent(Event event, Card card) {
+        if (event.isRecurring()) {
+            return new Event(event.getId(), event.getName(), card, event.getTimeStamp(), event.getDays().clone());
+        }
+        return new Event(event.getId(), event.getName(), card, event.getTimeStamp());
+    }
+
+    /**
+     * Stack of Snapshots that shares its tail with every stack it was pushed onto, so it can be handed over in O(1)
+     */
+    static final class History {
+        /** Snapshot on top of the stack */
+        private final Snapshot snapshot;
+        /** Rest of the stack, or null if this is the bottom */
+        private final History rest;
+        /** Number of Snapshots in the stack */
+        private final int size;
+
+        History(Snapshot snapshot, History rest) {
+            this.snapshot = snapshot;
+            this.rest = rest;
+            this.size = rest == null ? 1 : rest.size + 1;
+        }
+
+        Snapshot getSnapshot() {
+            return snapshot;
+        }
+
+        History getRest() {
+            return rest;
+        }
+
+        static int size(History history) {
+            return history == null ? 0 : history.size;
+        }
+    }
+}
@@ -27,6 +27,8 @@ public class Event implements Comparable<Event> {
     private boolean recurring;
     /** Days of the Event */
     private DayOfWeek[] days;
+    /** Days of the Event as a bitmask, where bit i is set when the Event occurs on DayOfWeek.values()[i] */
+    private int dayMask;
 
     // this constructor is for individual events (second one is for recurring)
 
@@ -143,13 +145,10 @@ public class Event implements Comparable<Event> {
     public String get24HourTimeStampString() {
         StringBuilder output = new StringBuilder();
 
-        Calendar start = timeStamp.getStart();
-        Calendar end = timeStamp.getEnd();
-
-        int startHour = start.get(Calendar.HOUR_OF_DAY);
-        int startMinute = start.get(Calendar.MINUTE);
-        int endHour = end.get(Calendar.HOUR_OF_DAY);
-        int endMinute = end.get(Calendar.MINUTE);
+        int startHour = timeStamp.getStartHour();
+        int startMinute = timeStamp.getStartMin();
+        int endHour = timeStamp.getEndHour();
+        int endMinute = timeStamp.getEndMin();
 
         appendTime(output, startHour);
 
@@ -187,10 +186,7 @@ public class Event implements Comparable<Event> {
      * @throws IllegalArgumentException if the timestamp's start and end don't share the same date
      */
     public void setTimeStamp(TimeStamp timeStamp) {
-        Calendar start = timeStamp.getStart();
-        Calendar end = timeStamp.getEnd();
-
-        if (!Time.doDatesMatch(start, end)) {
+        if (timeStamp.getEndMinute() >= Time.MINUTES_PER_DAY) {
             throw new IllegalArgumentException("Start and end times for timestamp don't share same date");
         }
 
@@ -265,11 +261,11 @@ public class Event implements Comparable<Event> {
         if (days == null || days.length == 0 || days.length > 7)
             throw new IllegalArgumentException("Invalid set of days provided to Event");
 
-        boolean[] weekDayExists = new boolean[7];
+        int mask = 0;
 
         // Ensures no week day is repeated
         for (DayOfWeek d : days) {
-            if (!weekDayExists[d.ordinal()]) weekDayExists[d.ordinal()] = true;
+            if ((mask & (1 << d.ordinal())) == 0) mask |= 1 << d.ordinal();
             else throw new IllegalArgumentException("Repeats of days cannot occur");
         }
 
@@ -278,6 +274,17 @@ public class Event implements Comparable<Event> {
         Arrays.sort(days);
 
         this.days = days;
+        this.dayMask = mask;
+    }
+
+    /**
+     * Gets the days of the Event as a bitmask
+     *
+     * @return bitmask where bit i is set when the Event occurs on <code>DayOfWeek.values()[i]</code>, or 0 if the
+     * Event is not recurring
+     */
+    public int getDayMask() {
+        return dayMask;
     }
 
     /**
@@ -288,8 +295,8 @@ public class Event implements Comparable<Event> {
      */
     @Override
     public int compareTo(Event anotherEvent) {
-        return this.timeStamp
-                .getStart()
-                .compareTo(anotherEvent.getTimeStamp().getStart());
+        int dayDiff = Integer.compare(this.timeStamp.getDay(), anotherEvent.getTimeStamp().getDay());
+        if (dayDiff != 0) return dayDiff;
+        return Integer.compare(this.timeStamp.getStartMinute(), anotherEvent.getTimeStamp().getStartMinute());
     }
 }
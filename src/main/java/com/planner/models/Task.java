@@ -14,18 +14,27 @@ import com.planner.util.Time;
  */
 public class Task implements Comparable<Task> {
 
+    /** Lowest priority of a Task, which every Task starts out with */
+    public static final int MIN_PRIORITY = 0;
+    /** Highest priority of a Task */
+    public static final int MAX_PRIORITY = 9;
+
     /** ID of the Task */
     private int id;
     /** Name of the Task */
     private String name;
     /** Due date of the Task */
     private Calendar dueDate;
+    /** Due date of the Task as days since the epoch, used for all scheduling comparisons */
+    private int dueDay;
     /** Total number of hours for the Task */
     private double totalHours;
     /** Number of SubTask hours */
     private double subTotalHours;
     /** Card of the task */
     private Card card;
+    /** Priority of the Task, only followed when priority scheduling is enabled */
+    private int priority;
 
     /**
      * Primary constructor for Task
@@ -57,6 +66,18 @@ public class Task implements Comparable<Task> {
         setDueDate(date);
     }
 
+    /**
+     * Copy constructor for Task. The copy shares the Card but has its own due date and scheduling progress, so it can
+     * be scheduled without affecting the original
+     *
+     * @param task Task being copied
+     */
+    public Task(Task task) {
+        this(task.id, task.name, task.totalHours, (Calendar) task.dueDate.clone(), task.card);
+        this.subTotalHours = task.subTotalHours;
+        this.priority = task.priority;
+    }
+
     /**
      * Gets the ID for a Task
      *
@@ -125,6 +146,16 @@ public class Task implements Comparable<Task> {
         dueDate.set(Calendar.SECOND, 0);
         dueDate.set(Calendar.MILLISECOND, 0);
         this.dueDate = dueDate;
+        this.dueDay = Time.toEpochDay(dueDate);
+    }
+
+    /**
+     * Gets the due date of the Task as days since the epoch
+     *
+     * @return due date of Task as days since 1970-01-01
+     */
+    public int getDueDay() {
+        return dueDay;
     }
 
     /**
@@ -169,6 +200,28 @@ public class Task implements Comparable<Task> {
         this.card = card;
     }
 
+    /**
+     * Gets the priority of the Task
+     *
+     * @return priority of the Task, where a higher priority is scheduled first
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of the Task
+     *
+     * @param priority priority of the Task, where a higher priority is scheduled first
+     * @throws IllegalArgumentException when the priority is outside of <code>MIN_PRIORITY</code> and <code>MAX_PRIORITY</code>
+     */
+    public void setPriority(int priority) {
+        if (priority < MIN_PRIORITY || priority > MAX_PRIORITY) {
+            throw new IllegalArgumentException("Task priority must be between " + MIN_PRIORITY + " and " + MAX_PRIORITY + ".");
+        }
+        this.priority = priority;
+    }
+
     /**
      * Gets the tag of the Task
      *
@@ -198,12 +251,21 @@ public class Task implements Comparable<Task> {
      * @return SubTask
      */
     public SubTask addSubTask(double hours, boolean overflow, Time.TimeStamp timeStamp) {
-        SubTask subtask = null;
-        if(hours > 0 && subTotalHours + hours <= totalHours) {
-            subtask = new SubTask(this, hours, overflow, timeStamp);
-            subTotalHours += hours;
-        }
-        return subtask;
+        return assignHours(hours) ? new SubTask(this, hours, overflow, timeStamp) : null;
+    }
+
+    /**
+     * Assigns hours of the Task to a SubTask without creating one, for a {@link com.planner.schedule.day.Day} that
+     * stores its SubTasks as plain values
+     *
+     * @param hours number of hours being assigned
+     * @return boolean value for whether the hours were assigned, which is false if they are not positive or would go
+     * past the total hours of the Task
+     */
+    public boolean assignHours(double hours) {
+        if (hours <= 0 || subTotalHours + hours > totalHours) return false;
+        subTotalHours += hours;
+        return true;
     }
 
     /**
@@ -213,6 +275,18 @@ public class Task implements Comparable<Task> {
         subTotalHours = 0;
     }
 
+    /**
+     * Resets the Task to a previously recorded scheduling state, used when planning resumes part way through a schedule
+     *
+     * @param subTotalHours number of SubTask hours already assigned to the Task
+     */
+    public void reset(double subTotalHours) {
+        if (subTotalHours < 0 || subTotalHours > totalHours) {
+            throw new IllegalArgumentException("Assigned hours must be between 0 and the total hours of the Task");
+        }
+        this.subTotalHours = subTotalHours;
+    }
+
     /**
      * Gets the number of SubTask hour slots currently unfilled, calculated as the difference
      * between <code>totalHours</code> and <code>subTotalHours</code>
@@ -224,22 +298,23 @@ public class Task implements Comparable<Task> {
     }
 
     /**
-     * Compares two Task objects based on their due date
+     * Compares two Task objects based on their due date. Ties are broken by ID so that the scheduling order is
+     * deterministic regardless of the order in which Tasks were queued
      *
      * @param anotherTask the Task to be compared.
-     * @return <code>0</code> if there is no time difference between the due dates and the subtasks total hours are equal;
+     * @return <code>0</code> if there is no time difference between the due dates, the subtasks total hours are equal and the IDs match;
      * and <code>1</code> if the due date of this Task is after the argument Task or when the argument Task has more remaining subtasks hours;
      * and <code>-1</code> if the due date of this Task is before the argument Task or when the argument Task has less remaining subtasks hours
      */
     @Override
     public int compareTo(Task anotherTask) {
-        long timeDiff = this.dueDate.compareTo(anotherTask.dueDate);
+        int timeDiff = Integer.compare(this.dueDay, anotherTask.dueDay);
         if(timeDiff < 0 || timeDiff == 0 && this.getSubTotalHoursRemaining() > anotherTask.getSubTotalHoursRemaining()) {
             return -1;
         } else if(timeDiff > 0 || this.getSubTotalHoursRemaining() < anotherTask.getSubTotalHoursRemaining()) {
             return 1;
         } else {
-            return 0;
+            return Integer.compare(this.id, anotherTask.id);
         }
     }
 
@@ -319,14 +394,16 @@ public class Task implements Comparable<Task> {
         private final Time.TimeStamp timeStamp;
 
         /**
-         * Primary constructor for SubTask
+         * Primary constructor for SubTask. Hours are only assigned to the parent Task through
+         * {@link Task#addSubTask(double, boolean, Time.TimeStamp)}, so a SubTask built here is a view of hours that
+         * were already assigned, such as one stored by a Day.
          *
          * @param parentTask parent of the SubTask
          * @param hours number of hours for the SubTask
          * @param overflow boolean value for overflow status
          * @param timeStamp time interval of the SubTask
          */
-        private SubTask(Task parentTask, double hours, boolean overflow, Time.TimeStamp timeStamp) {
+        public SubTask(Task parentTask, double hours, boolean overflow, Time.TimeStamp timeStamp) {
             this.parentTask = parentTask;
             this.hours = hours;
             this.overflowStatus = overflow;
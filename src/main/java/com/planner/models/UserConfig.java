@@ -1,5 +1,9 @@
 package com.planner.models;
 
+import com.planner.util.Time;
+
+import java.util.Arrays;
+
 /**
  * Handles the management of all user config settings and data
  *
@@ -30,6 +34,10 @@ public class UserConfig {
     private boolean defaultAtStart;
     /** Whether to format pretty time */
     private boolean formatPrettyTime;
+    /** Dates with custom hours as days since the epoch, in ascending order */
+    private int[] customDays;
+    /** Hours for each date in customDays, taking the place of the hours for its day of the week */
+    private int[] customHours;
 
     /**
      * Primary constructor for UserConfig
@@ -60,6 +68,21 @@ public class UserConfig {
         this.optimizeDay = optimizeDay;
         this.defaultAtStart = defaultAtStart;
         this.formatPrettyTime = formatPrettyTime;
+        this.customDays = new int[0];
+        this.customHours = new int[0];
+    }
+
+    /**
+     * Copy constructor for UserConfig
+     *
+     * @param userConfig UserConfig being copied
+     */
+    public UserConfig(UserConfig userConfig) {
+        this(userConfig.dailyHoursRange.clone(), userConfig.hoursPerDayOfWeek.clone(), userConfig.maxDays,
+                userConfig.archiveDays, userConfig.priority, userConfig.overflow, userConfig.fitDay,
+                userConfig.minHours, userConfig.optimizeDay, userConfig.defaultAtStart, userConfig.formatPrettyTime);
+        this.customDays = userConfig.customDays.clone();
+        this.customHours = userConfig.customHours.clone();
     }
 
     /**
@@ -284,6 +307,95 @@ public class UserConfig {
     }
 
 
+    /**
+     * Gets the number of hours available on a date, which is its custom hours if it has any and otherwise the hours
+     * for its day of the week
+     *
+     * @param epochDay date as days since the epoch
+     * @return number of hours for the date
+     */
+    public int getHoursOnDay(int epochDay) {
+        int idx = Arrays.binarySearch(customDays, epochDay);
+        return idx >= 0 ? customHours[idx] : hoursPerDayOfWeek[Time.getDayOfWeek(epochDay)];
+    }
+
+    /**
+     * Gets the total number of hours available over a range of dates. The weekly hours are summed in O(1) time and
+     * only the custom dates inside the range are visited.
+     *
+     * @param fromDay first date of the range as days since the epoch
+     * @param toDay last date of the range (inclusive) as days since the epoch
+     * @return number of hours over the range, or 0 if the range is empty
+     */
+    public int getHoursBetween(int fromDay, int toDay) {
+        if (toDay < fromDay) return 0;
+        int total = getWeeklyHoursBefore(toDay + 1) - getWeeklyHoursBefore(fromDay);
+        int idx = Arrays.binarySearch(customDays, fromDay);
+        for (idx = idx >= 0 ? idx : -idx - 1; idx < customDays.length && customDays[idx] <= toDay; idx++) {
+            total += customHours[idx] - hoursPerDayOfWeek[Time.getDayOfWeek(customDays[idx])];
+        }
+        return total;
+    }
+
+    private int getWeeklyHoursBefore(int epochDay) {
+        int weekHours = 0;
+        for (int hours : hoursPerDayOfWeek) {
+            weekHours += hours;
+        }
+        // weeks are counted from the epoch, so the days left over start on a Thursday
+        int total = Math.floorDiv(epochDay, 7) * weekHours;
+        for (int i = 0; i < Math.floorMod(epochDay, 7); i++) {
+            total += hoursPerDayOfWeek[Time.getDayOfWeek(i)];
+        }
+        return total;
+    }
+
+    /**
+     * Sets custom hours for a date, such as a holiday, a half day, or a crunch day
+     *
+     * @param epochDay date as days since the epoch
+     * @param hours number of hours for the date, or null to go back to the hours for its day of the week
+     */
+    public void setCustomHours(int epochDay, Integer hours) {
+        int idx = Arrays.binarySearch(customDays, epochDay);
+        if (hours == null) {
+            if (idx < 0) return;
+            int numMoved = customDays.length - idx - 1;
+            int[] days = Arrays.copyOf(customDays, customDays.length - 1);
+            int[] dayHours = Arrays.copyOf(customHours, customHours.length - 1);
+            System.arraycopy(customDays, idx + 1, days, idx, numMoved);
+            System.arraycopy(customHours, idx + 1, dayHours, idx, numMoved);
+            customDays = days;
+            customHours = dayHours;
+            return;
+        }
+        validateRange(hours, 0, 24, "Hours for a date cannot be below 0 or above 24");
+        if (idx >= 0) {
+            customHours[idx] = hours;
+            return;
+        }
+        idx = -idx - 1;
+        int[] days = new int[customDays.length + 1];
+        int[] dayHours = new int[customHours.length + 1];
+        System.arraycopy(customDays, 0, days, 0, idx);
+        System.arraycopy(customHours, 0, dayHours, 0, idx);
+        days[idx] = epochDay;
+        dayHours[idx] = hours;
+        System.arraycopy(customDays, idx, days, idx + 1, customDays.length - idx);
+        System.arraycopy(customHours, idx, dayHours, idx + 1, customHours.length - idx);
+        customDays = days;
+        customHours = dayHours;
+    }
+
+    /**
+     * Gets the dates with custom hours
+     *
+     * @return dates as days since the epoch, in ascending order
+     */
+    public int[] getCustomDays() {
+        return customDays.clone();
+    }
+
     private boolean isRangeValid(int[] range)
     {
         return range == null || range.length != 2
@@ -0,0 +1,185 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+
+import static com.planner.schedule.SchedulerUtil.getDueHours;
+import static com.planner.schedule.SchedulerUtil.getSpareHours;
+import static com.planner.schedule.SchedulerUtil.getStartingHour;
+import static com.planner.schedule.SchedulerUtil.toUnits;
+
+/**
+ * The class {@code BackwardScheduler} implements the interface {@link Scheduler} by planning each Task as late as its
+ * due date allows, which keeps the days closest to today free. The days are walked backward from the latest due date of
+ * any queued Task, and each day is filled up to the hours it can hold, taking the Tasks due the latest first.
+ * <p>
+ * On the first Day of a build, the Tasks are sorted by latest due date, and a single pass walks them and the days
+ * together from the latest due date of any active Task: Tasks due on or after a day join the end of a run of Tasks
+ * that can still be planned, and the day takes hours from the start of that run, so each Task is planned on as few
+ * days as possible. The hours planned on each date are kept, and each Day of the build only reads its own slice, so
+ * a build takes O(n log n + d) time for n Tasks over d days, and the queue is only touched when a Task is finished or
+ * due. Hours that do not fit before the first Day are left for the due date of their Task, where they go past its
+ * capacity just as with {@link CompactScheduler}.
+ *
+ * @author Andrew Roe
+ */
+public class BackwardScheduler implements Scheduler {
+
+    /** Order in which Tasks are walked, latest due date first */
+    private static final Comparator<Task> LATEST_FIRST = Comparator.comparingInt(Task::getDueDay).reversed()
+            .thenComparing(Comparator.naturalOrder());
+    /** Holds relevant data for user settings in scheduling */
+    private final UserConfig userConfig;
+    /** EventLog for logging data on Day actions, or null if actions are not logged */
+    private final EventLog eventLog;
+    /** Latest due date of any active Task, or Integer.MIN_VALUE to take it from the queue */
+    private int lastDueDate = Integer.MIN_VALUE;
+    /** Queue the plan was made for, or null before the first Day */
+    private TaskQueue plannedQueue;
+    /** Date of the Day expected next as days since the epoch */
+    private int nextDay;
+    /** Number of Tasks the planned queue held after the last Day */
+    private int plannedSize;
+    /** Date of the first Day of the plan as days since the epoch */
+    private int firstDay;
+    /** Tasks of the planned queue by latest due date */
+    private Task[] tasks;
+    /** Pieces of the plan for each date from the first Day, which are the entries from dayStarts[k] up to dayEnds[k] */
+    private int[] dayStarts;
+    /** End of the pieces of the plan for each date from the first Day */
+    private int[] dayEnds;
+    /** Index into tasks of the Task of each piece of the plan */
+    private int[] pieceTasks;
+    /** Half hours of each piece of the plan */
+    private int[] pieceUnits;
+
+    /**
+     * Constructs a new {@code BackwardScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     */
+    protected BackwardScheduler(UserConfig userConfig, EventLog eventLog) {
+        this.userConfig = userConfig;
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public void setLastDueDate(int lastDueDate) {
+        this.lastDueDate = lastDueDate;
+    }
+
+    @Override
+    public int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date) {
+        int numErrors = errorCount;
+        if (taskManager.isEmpty()) return numErrors;
+        int today = Time.toEpochDay(date);
+        int currentMinute = Time.toMinuteOfDay(date);
+        int dayOfSchedule = day.getEpochDay();
+        boolean isToday = today == dayOfSchedule;
+        int startingHour = getStartingHour(userConfig, currentMinute, isToday);
+        // the plan only holds for the queue it was made for, with the Days planned one after another
+        if (taskManager != plannedQueue || dayOfSchedule != nextDay || taskManager.size() != plannedSize) {
+            plannedQueue = taskManager;
+            tasks = taskManager.toArray(new Task[0]);
+            Arrays.sort(tasks, LATEST_FIRST);
+            planDays(dayOfSchedule, toUnits(getSpareHours(userConfig, day, startingHour, isToday)));
+        }
+        nextDay = dayOfSchedule + 1;
+
+        // Tasks due on the Day get all of their remaining hours
+        while (taskManager.peekDueDay() <= dayOfSchedule) {
+            Task task = taskManager.pollDueOn(taskManager.peekDueDay());
+            double hours = getDueHours(userConfig, day, task, startingHour);
+            boolean validTaskStatus = day.addPlainSubTask(task, hours, userConfig, currentMinute, isToday);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+            numErrors += validTaskStatus ? 0 : 1;
+            complete.add(task);
+        }
+
+        // the rest of the Day is its slice of the plan, added by earliest due date
+        int k = dayOfSchedule - firstDay;
+        int from = k < dayStarts.length ? dayStarts[k] : 0;
+        int to = k < dayStarts.length ? dayEnds[k] : 0;
+        for (int p = to - 1; p >= from; p--) {
+            Task task = tasks[pieceTasks[p]];
+            if (taskManager.get(task.getId()) != task) continue;
+            boolean validTaskStatus = day.addPlainSubTask(task, pieceUnits[p] / 2.0, userConfig, currentMinute, isToday);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+            numErrors += validTaskStatus ? 0 : 1;
+
+            // a Task left with hours keeps its place, since the plan and not the queue decides the order
+            if (task.getSubTotalHoursRemaining() == 0) {
+                taskManager.remove(task);
+                complete.add(task);
+            }
+        }
+        plannedSize = taskManager.size();
+        return numErrors;
+    }
+
+    /**
+     * Walks the days backward once, from the latest due date down to the first Day, and keeps the half hours planned
+     * on each of them
+     *
+     * @param first date of the first Day planned as days since the epoch
+     * @param firstUnits half hours free on the first Day
+     */
+    void planDays(int first, int firstUnits) {
+        int lastDay = Math.max(lastDueDate == Integer.MIN_VALUE ? tasks[0].getDueDay() : lastDueDate, first);
+        firstDay = first;
+        dayStarts = new int[lastDay - first + 1];
+        dayEnds = new int[lastDay - first + 1];
+        // a day ends at most one piece early, so there are no more pieces than Tasks and days together
+        pieceTasks = new int[tasks.length + dayStarts.length];
+        pieceUnits = new int[tasks.length + dayStarts.length];
+        int numPieces = 0;
+        // Tasks from start up to end can be planned on the current day, and the one at start may be partly planned
+        int start = 0;
+        int end = 0;
+        int startUnits = 0;
+        for (int k = lastDay; k >= first; k--) {
+            while (end < tasks.length && tasks[end].getDueDay() >= k) end++;
+            int unitsLeft = k == first ? firstUnits : toUnits(userConfig.getHoursOnDay(k));
+            dayStarts[k - first] = numPieces;
+            while (unitsLeft > 0 && start < end) {
+                int take = Math.min(toUnits(tasks[start].getSubTotalHoursRemaining()) - startUnits, unitsLeft);
+                if (take > 0) {
+                    pieceTasks[numPieces] = start;
+                    pieceUnits[numPieces++] = take;
+                }
+                startUnits += take;
+                unitsLeft -= take;
+                if (startUnits == toUnits(tasks[start].getSubTotalHoursRemaining())) {
+                    start++;
+                    startUnits = 0;
+                }
+            }
+            dayEnds[k - first] = numPieces;
+        }
+    }
+
+    @Override
+    public int optimizeDay(Day day) {
+        return day.compactSubTasks();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A Task added later with a later due date takes the last days first, pushing every Task due before it earlier,
+     * so it could change any Day of the schedule.
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+}
@@ -4,17 +4,22 @@ import com.planner.schedule.day.Day;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
 import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
 import com.planner.util.Time;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * The class {@code CompactScheduler} implements the interface {@link Scheduler} for compact scheduling actions.
  * This involves the utilization of Longest-Job-First in order to compute the schedule for the week. {@link UserConfig}
  * options allow for another style such as Shortest-Job-First well as other restraints for scheduling.
  * <p>
+ * When the 'priority' config option is set, the spare hours of each Day go to the Tasks with the highest priority
+ * first, no matter when they are due, while Tasks due on the Day are still placed on it first. The Tasks then come in
+ * a {@link TaskQueue#byPriority()} queue.
+ * <p>
  * Day optimizations occur when {@link com.planner.models.Task.SubTask} can be more uniformly fitted around {@link com.planner.models.Event}.
  * However, the user must have 'optimizeDay' config option set to true via the {@link UserConfig}.
  *
@@ -22,85 +27,69 @@ import java.util.PriorityQueue;
  */
 public class CompactScheduler implements Scheduler {
 
-    /** Singleton for CompactScheduler */
-    private static CompactScheduler singleton;
     /** Holds relevant data for user settings in scheduling */
-    private UserConfig userConfig;
-    /** EventLog for logging data on Day actions */
+    private final UserConfig userConfig;
+    /** EventLog for logging data on Day actions, or null if actions are not logged */
     private final EventLog eventLog;
-    /** Boolean value for whether we are scheduling a Day that is in fact today */
-    private boolean isToday;
 
     /**
      * Constructs a new {@code CompactScheduler} with a given {@link UserConfig} and {@link EventLog}
      *
      * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
      */
-    private CompactScheduler(UserConfig userConfig, EventLog eventLog) {
+    protected CompactScheduler(UserConfig userConfig, EventLog eventLog) {
         this.userConfig = userConfig;
         this.eventLog = eventLog;
-
-    }
-
-    /**
-     * Retrieves a singleton of {@code CompactScheduler} for scheduling purposes
-     *
-     * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
-     * @return instance of {@code CompactScheduler}
-     */
-    protected static CompactScheduler getSingleton(UserConfig userConfig, EventLog eventLog) {
-        if(singleton == null) {
-            singleton = new CompactScheduler(userConfig, eventLog);
-        }
-        return singleton;
     }
 
     @Override
-    public int assignDay(Day day, int errorCount, PriorityQueue<Task> complete, PriorityQueue<Task> taskManager, Calendar date) {
-        PriorityQueue<Task> incomplete = new PriorityQueue<>();
+    public int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date) {
+        // only the Tasks taken off the queue are touched, and at most a few of them are left unfinished
+        List<Task> incomplete = new ArrayList<>();
         int numErrors = errorCount;
-        while ((!taskManager.isEmpty() && day.hasSpareHours()) ||
-                (!taskManager.isEmpty() && Time.doDatesMatch(taskManager.peek().getDueDate(), day.getDate()))) {
-            // gets first task from heap and finds max possible hours available
-            Task task = taskManager.remove();
-            double maxHours = getMaxHours(day, task, date);
+        // the current time is only read once per Day, all comparisons below are on plain ints
+        int today = Time.toEpochDay(date);
+        int currentMinute = Time.toMinuteOfDay(date);
+        int dayOfSchedule = day.getEpochDay();
+        boolean isToday = today == dayOfSchedule;
+        // once the Day is full, only the Tasks due on it are taken, straight from the bucket for its date
+        while ((!taskManager.isEmpty() && day.hasSpareHours()) || taskManager.peekDueDay() == dayOfSchedule) {
+            // gets first task from heap, putting the Tasks due on the Day ahead, and finds max possible hours available
+            Task task = taskManager.peekDueDay() == dayOfSchedule ? taskManager.pollDueOn(dayOfSchedule) : taskManager.remove();
+            double maxHours = getMaxHours(day, task, currentMinute, isToday);
             // status of task creation
-            boolean validTaskStatus = day.addPlainSubTask(task, maxHours, userConfig, date, isToday);
+            boolean validTaskStatus = day.addPlainSubTask(task, maxHours, userConfig, currentMinute, isToday);
             // adds task to relevant completion heap
-            if (Time.doDatesMatch(task.getDueDate(), day.getDate()) || task.getSubTotalHoursRemaining() == 0) complete.add(task);
+            if (task.getDueDay() == dayOfSchedule || task.getSubTotalHoursRemaining() == 0) complete.add(task);
             else incomplete.add(task);
             // reports scheduling action
-            eventLog.reportDayAction(day, task, validTaskStatus);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
             // updates number of errors
             numErrors += validTaskStatus ? 0 : 1;
 
-            if (!validTaskStatus && !Time.doDatesMatch(task.getDueDate(), day.getDate())
-                    && Time.differenceOfDays(task.getDueDate(), day.getDate()) > 0) {
+            if (!validTaskStatus && task.getDueDay() > dayOfSchedule) {
                 break;
             }
         }
-        while (!incomplete.isEmpty()) {
-            taskManager.add(incomplete.remove());
-        }
+        taskManager.addAll(incomplete);
         return numErrors;
     }
 
-    private double getMaxHours(Day day, Task task, Calendar date) {
+    private double getMaxHours(Day day, Task task, int currentMinute, boolean isToday) {
         // sets up the starting hour for the day based on the given time from 'date'
-        int startingHour = getStartingHour(day, date);
+        int startingHour = getStartingHour(currentMinute, isToday);
 
         // resets startingHour to beginning of day
         if (userConfig.isDefaultAtStart()) startingHour = userConfig.getDailyHoursRange()[0];
 
         double maxHours = 0.0;
-        if (Time.doDatesMatch(task.getDueDate(), day.getDate())) {
+        if (task.getDueDay() == day.getEpochDay()) {
             if (userConfig.isFitDay()) {
                 double remainingHours = 24.0 - (startingHour + day.getHoursFilled());
                 maxHours = Math.min(remainingHours, task.getSubTotalHoursRemaining());
                 // this chops off 30 minutes at the end of the day when it's past midnight
-                if (remainingHours - maxHours == 0.0 && date.get(Calendar.MINUTE) >= 30) {
+                if (remainingHours - maxHours == 0.0 && currentMinute % 60 >= 30) {
                     maxHours -= 0.5;
                 }
             } else {
@@ -122,31 +111,26 @@ public class CompactScheduler implements Scheduler {
         return maxHours;
     }
 
-    private int getStartingHour(Day day, Calendar date) {
-        int startingHour = date.get(Calendar.HOUR_OF_DAY);
-        isToday = false;
-        if (Time.doDatesMatch(date, day.getDate())) {
-            startingHour = Math.max(userConfig.getDailyHoursRange()[0], startingHour);
-            isToday = true;
-        } else {
-            startingHour = userConfig.getDailyHoursRange()[0];
+    private int getStartingHour(int currentMinute, boolean isToday) {
+        if (isToday) {
+            return Math.max(userConfig.getDailyHoursRange()[0], currentMinute / 60);
         }
-        return startingHour;
+        return userConfig.getDailyHoursRange()[0];
     }
 
     @Override
     public int optimizeDay(Day day) {
-        List<Double> timeBlocks = Time.computeTimeBlocks(day);
-        List<Task.SubTask> subTasks = day.getSubTaskList();
-        // todo need to combine subTasks that were possibly broken up due to events
-        //   also, if there are no events (and subTasks were not broken up), there is no further optimization
-        //   while we could sort the subTasks, there is little need since the most we'll realistically have is 24 (tiny number, so bruteforce is acceptable)
-
-        return 0;
+        return day.compactSubTasks();
     }
 
+    /**
+     * Determines whether a schedule can be resumed part way through. A Day in priority order can take a Task due long
+     * after the Tasks it would otherwise be filled with, so adding any Task could change every Day.
+     *
+     * @return boolean value for whether the Days before the earliest change can be kept
+     */
     @Override
-    public void updateConfig(UserConfig userConfig) {
-        this.userConfig = userConfig;
+    public boolean isIncremental() {
+        return !userConfig.isPriority();
     }
 }
@@ -4,19 +4,31 @@ import com.planner.schedule.day.Day;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
 import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
 
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.List;
-import java.util.PriorityQueue;
+
+import static com.planner.schedule.SchedulerUtil.getDueHours;
+import static com.planner.schedule.SchedulerUtil.getSpareHours;
+import static com.planner.schedule.SchedulerUtil.getStartingHour;
 
 /**
- * The class {@code DynamicScheduler} implements the interface {@link Scheduler} for more complex scheduling actions.
- * This involves the combination of Longest-Remaining-Time-First + Round-Robin in order to compute the schedule for the week.
- * {@link UserConfig} options allow for other varieties such as Shortest-Remaining-Time-First + Round-Robin as well as other
- * restraints for scheduling.
+ * The class {@code DynamicScheduler} implements the interface {@link Scheduler} for distributive scheduling actions.
+ * Rather than front-loading Tasks like {@link CompactScheduler}, each Task's remaining hours are spread over the days
+ * left until its due date in proportion to their capacity, so every Day takes an even share of the work.
+ * <p>
+ * On the first Day of a build, each queued Task gets a rate: its remaining hours over the capacity left until its
+ * due date, found in O(1) time from prefix sums over the week in {@link UserConfig}. A Task is then owed its rate
+ * times the hours of every Day planned, and a Day gives each Task what it is owed, so the rates are never worked out
+ * again and the queue is only touched when a Task is finished or due. When the shares of all Tasks do not fit inside
+ * a Day, every share is lowered by the same factor (water-filling), and whatever is left is still owed on the
+ * following days.
  * <p>
- * Schedule corrections occur when overflows happen and are properly handled in accordance with the algorithm type. In {@code DynamicScheduler},
- * this involves maintaining that distributive mindset when reallocating the tasks across the given week.
+ * Shares are rounded to half hours, and a share below 'minHours' from config is dropped rather than raised, with the
+ * dropped hours going to the most urgent of those Tasks in blocks of 'minHours'. A Task that was skipped is owed
+ * more on the next Day, so Tasks with small rates take turns instead of filling the first Days in blocks.
  *
  * @author Andrew Roe
  * @author Lucia Langaney
@@ -24,105 +36,200 @@ import java.util.PriorityQueue;
  */
 public class DynamicScheduler implements Scheduler {
 
-    /** Singleton for DynamicScheduler */
-    private static DynamicScheduler singleton;
     /** Holds relevant data for user settings in scheduling */
-    private UserConfig userConfig;
-    /** EventLog for logging data on Day actions */
+    private final UserConfig userConfig;
+    /** EventLog for logging data on Day actions, or null if actions are not logged */
     private final EventLog eventLog;
+    /** Queue the rates were worked out for, or null before the first Day */
+    private TaskQueue plannedQueue;
+    /** Date of the Day expected next as days since the epoch */
+    private int nextDay;
+    /** Number of Tasks the planned queue held after the last Day */
+    private int plannedSize;
+    /** Tasks not yet finished or due, in the order of the queue */
+    private Task[] tasks;
+    /** Hours each Task takes of every hour of capacity until its due date */
+    private double[] rates;
+    /** Hours each Task has been owed so far and not yet given, which is negative if it was given more */
+    private double[] owed;
+    /** Number of Tasks held in the arrays */
+    private int numTasks;
 
     /**
      * Constructs a new {@code DynamicScheduler} with a given {@link UserConfig} and {@link EventLog}
      *
      * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
      */
-    private DynamicScheduler(UserConfig userConfig, EventLog eventLog) {
+    protected DynamicScheduler(UserConfig userConfig, EventLog eventLog) {
         this.userConfig = userConfig;
         this.eventLog = eventLog;
     }
 
+    @Override
+    public int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date) {
+        int numErrors = errorCount;
+        int today = Time.toEpochDay(date);
+        int currentMinute = Time.toMinuteOfDay(date);
+        int dayOfSchedule = day.getEpochDay();
+        boolean isToday = today == dayOfSchedule;
+        int startingHour = getStartingHour(userConfig, currentMinute, isToday);
+        double dayHours = getSpareHours(userConfig, day, startingHour, isToday);
+        // the rates only hold for the queue they were worked out for, with the Days planned one after another
+        if (taskManager != plannedQueue || dayOfSchedule != nextDay || taskManager.size() != plannedSize) {
+            planRates(taskManager, dayOfSchedule, dayHours);
+        }
+
+        // Tasks due on the Day get all of their remaining hours
+        while (taskManager.peekDueDay() <= dayOfSchedule) {
+            Task task = taskManager.pollDueOn(taskManager.peekDueDay());
+            double hours = getDueHours(userConfig, day, task, startingHour);
+            boolean validTaskStatus = day.addPlainSubTask(task, hours, userConfig, currentMinute, isToday);
+            complete.add(task);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+            numErrors += validTaskStatus ? 0 : 1;
+        }
+
+        // each Task is owed its rate of the Day, and those no longer queued are dropped from the plan
+        double[] wanted = new double[numTasks];
+        double totalShares = 0;
+        int live = 0;
+        for (int i = 0; i < numTasks; i++) {
+            if (taskManager.get(tasks[i].getId()) != tasks[i]) continue;
+            tasks[live] = tasks[i];
+            rates[live] = rates[i];
+            owed[live] = owed[i] + rates[i] * dayHours;
+            wanted[live] = Math.min(Math.max(owed[live], 0), tasks[live].getSubTotalHoursRemaining());
+            totalShares += wanted[live];
+            live++;
+        }
+        numTasks = live;
+        nextDay = dayOfSchedule + 1;
+
+        double spareHours = getSpareHours(userConfig, day, startingHour, isToday);
+        if (spareHours > 0 && numTasks > 0) {
+            numErrors = shareDay(day, numErrors, complete, taskManager, wanted, totalShares, spareHours, currentMinute, isToday);
+        }
+        plannedSize = taskManager.size();
+        return numErrors;
+    }
+
     /**
-     * Retrieves a singleton of {@code DynamicScheduler} for scheduling purposes
+     * Gives each planned Task its share of the spare hours of a Day
      *
-     * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
-     * @return instance of {@code DynamicScheduler}
+     * @param day Day being planned
+     * @param errorCount number of errors in current schedule
+     * @param complete Tasks that are finished scheduling are added here
+     * @param taskManager queue the Tasks are held in
+     * @param wanted hours owed to each Task, up to its remaining hours
+     * @param totalShares sum of the hours owed
+     * @param spareHours spare hours of the Day
+     * @param currentMinute current minute of the day
+     * @param isToday boolean value for whether the Day is today
+     * @return number of errors in scheduling Day
      */
-    protected static DynamicScheduler getSingleton(UserConfig userConfig, EventLog eventLog) {
-        if(singleton == null) {
-            singleton = new DynamicScheduler(userConfig, eventLog);
+    private int shareDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, double[] wanted,
+                         double totalShares, double spareHours, int currentMinute, boolean isToday) {
+        int numErrors = errorCount;
+        double minHours = userConfig.getMinHours();
+        // lowers every share by the same factor when they do not all fit inside the Day
+        boolean overloaded = totalShares > spareHours;
+        double scale = overloaded ? spareHours / totalShares : 1.0;
+
+        double[] hours = new double[numTasks];
+        double hoursLeft = Math.floor(spareHours * 2) / 2.0;
+        double dropped = 0;
+        for (int i = 0; i < numTasks; i++) {
+            wanted[i] *= scale;
+            double remaining = tasks[i].getSubTotalHoursRemaining();
+            double share = Math.min(Math.min(Math.round(wanted[i] * 2) / 2.0, remaining), hoursLeft);
+            // shares are rounded to half hours, and those below 'minHours' are dropped unless they finish the Task
+            if (share < minHours && share < remaining) {
+                dropped += wanted[i];
+                share = 0;
+            }
+            hours[i] = share;
+            hoursLeft -= share;
+        }
+        // the dropped hours go to the most urgent of the dropped Tasks, in blocks of at least 'minHours'
+        double droppedLeft = Math.min(Math.round(dropped * 2) / 2.0, hoursLeft);
+        for (int i = 0; i < numTasks && droppedLeft > 0; i++) {
+            if (hours[i] > 0 || wanted[i] <= 0) continue;
+            double share = Math.min(Math.max(Math.round(wanted[i] * 2) / 2.0, minHours), tasks[i].getSubTotalHoursRemaining());
+            if (share > droppedLeft) continue;
+            hours[i] = share;
+            droppedLeft -= share;
+            hoursLeft -= share;
         }
-        return singleton;
+        // half hours lost to rounding on a full Day go to the most urgent Tasks
+        for (int i = 0; overloaded && i < numTasks && hoursLeft > 0; i++) {
+            double extra = Math.min(hoursLeft, tasks[i].getSubTotalHoursRemaining() - hours[i]);
+            if (hours[i] == 0 && extra < minHours && extra < tasks[i].getSubTotalHoursRemaining()) continue;
+            hours[i] += extra;
+            hoursLeft -= extra;
+        }
+
+        for (int i = 0; i < numTasks; i++) {
+            if (hours[i] <= 0) continue;
+            Task task = tasks[i];
+            owed[i] -= hours[i];
+            boolean validTaskStatus = day.addPlainSubTask(task, hours[i], userConfig, currentMinute, isToday);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+            numErrors += validTaskStatus ? 0 : 1;
+
+            // Tasks left unfinished keep their place, since the plan and not the queue decides their share
+            if (task.getSubTotalHoursRemaining() == 0) {
+                taskManager.remove(task);
+                complete.add(task);
+            }
+        }
+        return numErrors;
     }
 
-    @Override
-    public int assignDay(Day day, int errorCount, PriorityQueue<Task> complete, PriorityQueue<Task> taskManager, Calendar date) {
-//        PriorityQueue<Task> incomplete = new PriorityQueue<>();
-//        int numErrors = errorCount;
-//        while(day.hasSpareHours() && !taskManager.isEmpty()) {
-//            Task task = taskManager.remove();
-//            boolean validTaskStatus = true;
-//            if(day.getDate().equals(task.getDueDate())) {
-//                validTaskStatus = addTaskSameDay(task, day);
-//            } else {
-//                if(task.getAverageNumHours() == 0) {
-//                    task.setAverageNumHours(day.getDate());
-//                }
-//                int hours = task.getAverageNumHours();
-//                //Handles the case where we actually have fewer hours available due to scheduling
-//                hours = Math.min(hours, task.getSubTotalHoursRemaining());
-//                //Fixes the number of hours according to what the Day has available
-//                hours = hours + day.getSize() > day.getCapacity() ? day.getCapacity() - day.getSize() : hours;
-//                day.addSubTask(task, hours, false);
-//            }
-//            if(task.getSubTotalHoursRemaining() > 0) {
-//                eventLog.reportDayAction(day, task, validTaskStatus);
-//                incomplete.add(task);
-//            } else {
-//                complete.add(task);
-//                eventLog.reportDayAction(day, task, validTaskStatus);
-//                numErrors += validTaskStatus ? 0 : 1;
-//                if(!day.hasSpareHours()) {
-//                    while(!taskManager.isEmpty() && taskManager.peek().getDueDate().equals(day.getDate())) {
-//                        Task dueTask = taskManager.remove();
-//                        complete.add(dueTask);
-//                        validTaskStatus = addTaskSameDay(dueTask, day);
-//                        eventLog.reportDayAction(day, dueTask, validTaskStatus);
-//                        numErrors++;
-//                    }
-//                }
-//            }
-//        }
-//        while(!incomplete.isEmpty()) {
-//            taskManager.add(incomplete.remove());
-//        }
-//        return numErrors;
-        return -1;
+    /**
+     * Works out the rate of each queued Task from the first Day planned
+     *
+     * @param taskManager queue the Tasks are held in
+     * @param firstDay date of the first Day planned as days since the epoch
+     * @param dayHours spare hours of the first Day
+     */
+    private void planRates(TaskQueue taskManager, int firstDay, double dayHours) {
+        plannedQueue = taskManager;
+        tasks = taskManager.toArray(new Task[0]);
+        Arrays.sort(tasks, taskManager.getComparator());
+        rates = new double[tasks.length];
+        owed = new double[tasks.length];
+        numTasks = tasks.length;
+        for (int i = 0; i < numTasks; i++) {
+            // a Task's share is the fraction of the capacity left until its due date that a Day makes up
+            double window = dayHours + getCapacity(firstDay + 1, tasks[i].getDueDay());
+            rates[i] = window > 0 ? tasks[i].getSubTotalHoursRemaining() / window : 0;
+        }
     }
 
-    @Override
-    public int optimizeDay(Day day) {
-        return 0;
+    /**
+     * Gets the total capacity of a range of days from the hours for each date, including custom hours
+     *
+     * @param fromDay first day of the range as days since the epoch
+     * @param toDay last day of the range (inclusive) as days since the epoch
+     * @return number of hours available over the range, or 0 if the range is empty
+     */
+    private double getCapacity(int fromDay, int toDay) {
+        return userConfig.getHoursBetween(fromDay, toDay);
     }
 
     @Override
-    public void updateConfig(UserConfig userConfig) {
-        this.userConfig = userConfig;
+    public int optimizeDay(Day day) {
+        return day.compactSubTasks();
     }
 
     /**
-     * Handles adding a Task when it is due the same day
-     *
-     * @param task Task being added
-     * @param day Day being modified
-     * @return boolean status for whether Task was added without overflow
+     * {@inheritDoc}
+     * <p>
+     * Every queued Task takes a share of each Day, so a Task added later could change any Day of the schedule.
      */
-    private boolean addTaskSameDay(Task task, Day day) {
-//        boolean overflow = task.getSubTotalHoursRemaining() > day.getSpareHours();
-//        int hours = task.getSubTotalHoursRemaining();
-//        day.addSubTask(task, hours, overflow);
-//        return !overflow;
+    @Override
+    public boolean isIncremental() {
         return false;
     }
 }
@@ -0,0 +1,198 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.MinCostFlow;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+
+import static com.planner.schedule.SchedulerUtil.getDueHours;
+import static com.planner.schedule.SchedulerUtil.getSpareHours;
+import static com.planner.schedule.SchedulerUtil.getStartingHour;
+import static com.planner.schedule.SchedulerUtil.toUnits;
+
+/**
+ * The class {@code FlowScheduler} implements the interface {@link Scheduler} by planning every queued Task at once as a
+ * min-cost flow. Half hours of work flow from the Tasks to the days on or before their due dates, limited by the hours
+ * of each day, and whatever cannot fit flows past the schedule at a cost. The flow is the largest possible, so when the
+ * backlog is more than the days can hold, the fewest half hours are left over, and with the 'priority' config option
+ * set they are taken from the Tasks with the lowest priority. Each half hour also costs a little more the later it is
+ * planned, so work is front-loaded just as with {@link CompactScheduler}.
+ * <p>
+ * Tasks due on the same date (with the same priority, if it is followed) cost the same wherever they go, so they share
+ * a node of the network, and the network only has a node for each of those groups and each day.
+ * <p>
+ * Splitting a Task over several Days has no cost in the network, since a charge for each Day a Task is planned on is
+ * not a cost per half hour and would take the model out of min-cost flow. Splits are instead kept down as the flow is
+ * handed out. The flow for a group goes to its shortest Tasks first, so any hours left over fall on as few Tasks as
+ * possible. A Day then takes its share of the flow from the Tasks due the earliest, and since it can only end inside
+ * one group, whose Tasks are interchangeable, it takes the Tasks of that group that fit whole before splitting one.
+ * Each Day therefore splits at most one Task, and {@code SchedulerBenchmark} reports how many Days each Task is
+ * spread over next to {@link CompactScheduler}.
+ *
+ * @author Andrew Roe
+ */
+public class FlowScheduler implements Scheduler {
+
+    /** Order in which Days take their share of the flow with the 'priority' config option set */
+    private static final Comparator<Task> PRIORITY_ORDER = Comparator.comparingInt(Task::getDueDay)
+            .thenComparing(Comparator.comparingInt(Task::getPriority).reversed())
+            .thenComparing(Comparator.naturalOrder());
+    /** Holds relevant data for user settings in scheduling */
+    private final UserConfig userConfig;
+    /** EventLog for logging data on Day actions, or null if actions are not logged */
+    private final EventLog eventLog;
+
+    /**
+     * Constructs a new {@code FlowScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     */
+    protected FlowScheduler(UserConfig userConfig, EventLog eventLog) {
+        this.userConfig = userConfig;
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date) {
+        int numErrors = errorCount;
+        if (taskManager.isEmpty()) return numErrors;
+        int today = Time.toEpochDay(date);
+        int currentMinute = Time.toMinuteOfDay(date);
+        int dayOfSchedule = day.getEpochDay();
+        boolean isToday = today == dayOfSchedule;
+        int startingHour = getStartingHour(userConfig, currentMinute, isToday);
+
+        Task[] tasks = taskManager.toArray(new Task[0]);
+        // earliest due date first, then highest priority if it is followed
+        Arrays.sort(tasks, userConfig.isPriority() ? PRIORITY_ORDER : Comparator.naturalOrder());
+        int[] units = planDay(tasks, dayOfSchedule, toUnits(getSpareHours(userConfig, day, startingHour, isToday)));
+
+        boolean[] overflow = new boolean[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            overflow[i] = tasks[i].getDueDay() <= dayOfSchedule && units[i] < toUnits(tasks[i].getSubTotalHoursRemaining());
+        }
+        // planned hours go in first, and the hours of Tasks due on the Day that did not fit go past its capacity last
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < tasks.length; i++) {
+                Task task = tasks[i];
+                boolean due = task.getDueDay() <= dayOfSchedule;
+                if (overflow[i] != (pass == 1) || units[i] == 0 && !overflow[i]) continue;
+                double hours = overflow[i] ? getDueHours(userConfig, day, task, startingHour) : units[i] / 2.0;
+                boolean validTaskStatus = day.addPlainSubTask(task, hours, userConfig, currentMinute, isToday);
+                if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+                numErrors += validTaskStatus ? 0 : 1;
+
+                if (due || task.getSubTotalHoursRemaining() == 0) {
+                    taskManager.remove(task);
+                    complete.add(task);
+                } else {
+                    // the remaining hours may be part of the ordering, so the Task is moved back into place
+                    taskManager.update(task);
+                }
+            }
+        }
+        return numErrors;
+    }
+
+    /**
+     * Solves the flow for the queued Tasks from the given date onward and gets the half hours planned on that date
+     *
+     * @param tasks queued Tasks by earliest due date, then by highest priority if it is followed
+     * @param firstDay date being planned as days since the epoch
+     * @param firstUnits half hours free on the date being planned
+     * @return half hours planned on the date for each Task
+     */
+    int[] planDay(Task[] tasks, int firstDay, int firstUnits) {
+        int lastDay = firstDay;
+        for (Task task : tasks) lastDay = Math.max(lastDay, task.getDueDay());
+        int numDays = lastDay - firstDay + 1;
+
+        // Tasks sharing a due date and priority are next to each other, and each run of them is a group
+        int[] groupStarts = new int[tasks.length + 1];
+        int numGroups = 0;
+        for (int i = 0; i < tasks.length; i++) {
+            if (i == 0 || tasks[i].getDueDay() != tasks[i - 1].getDueDay()
+                    || userConfig.isPriority() && tasks[i].getPriority() != tasks[i - 1].getPriority()) {
+                groupStarts[numGroups++] = i;
+            }
+        }
+        groupStarts[numGroups] = tasks.length;
+
+        // nodes are the source, the sink, one per day, then one per group
+        int source = 0;
+        int sink = 1;
+        MinCostFlow network = new MinCostFlow(2 + numDays + numGroups);
+        int firstDayEdge = -1;
+        for (int k = 0; k < numDays; k++) {
+            int units = k == 0 ? firstUnits : toUnits(userConfig.getHoursOnDay(firstDay + k));
+            int edge = network.addEdge(2 + k, sink, units, k);
+            if (k == 0) firstDayEdge = edge;
+            // work can always be moved to an earlier day
+            if (k > 0) network.addEdge(2 + k, 2 + k - 1, MinCostFlow.INFINITE, 0);
+        }
+        // leaving a half hour out costs more than planning it on any day
+        long missCost = numDays + 1L;
+        int[] groupEdges = new int[numGroups];
+        for (int g = 0; g < numGroups; g++) {
+            Task first = tasks[groupStarts[g]];
+            long units = 0;
+            for (int i = groupStarts[g]; i < groupStarts[g + 1]; i++) {
+                units += toUnits(tasks[i].getSubTotalHoursRemaining());
+            }
+            int node = 2 + numDays + g;
+            int dueIdx = Math.max(first.getDueDay() - firstDay, 0);
+            network.addEdge(source, node, units, 0);
+            groupEdges[g] = network.addEdge(node, 2 + dueIdx, MinCostFlow.INFINITE, 0);
+            long weight = userConfig.isPriority() ? 1 + first.getPriority() : 1;
+            network.addEdge(node, sink, MinCostFlow.INFINITE, missCost * weight);
+        }
+        network.solve(source, sink);
+
+        // the flow of each group goes to its Tasks in order, then the first day takes its share by earliest due date
+        int[] planned = new int[tasks.length];
+        long firstDayLeft = network.getFlow(firstDayEdge);
+        for (int g = 0; g < numGroups; g++) {
+            long groupLeft = network.getFlow(groupEdges[g]);
+            long[] units = new long[groupStarts[g + 1] - groupStarts[g]];
+            // the shortest Tasks are served first, so the hours left over go to the fewest Tasks
+            for (int i = groupStarts[g + 1] - 1; i >= groupStarts[g]; i--) {
+                units[i - groupStarts[g]] = Math.min(groupLeft, toUnits(tasks[i].getSubTotalHoursRemaining()));
+                groupLeft -= units[i - groupStarts[g]];
+            }
+            // the first day ends at most once inside a group, and since its Tasks cost the same wherever they go, the
+            // day takes those that fit whole before splitting the first one left
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = groupStarts[g]; i < groupStarts[g + 1] && firstDayLeft > 0; i++) {
+                    long taskUnits = units[i - groupStarts[g]];
+                    if (planned[i] > 0 || pass == 0 && taskUnits > firstDayLeft) continue;
+                    planned[i] = (int) Math.min(taskUnits, firstDayLeft);
+                    firstDayLeft -= planned[i];
+                }
+            }
+        }
+        return planned;
+    }
+
+    @Override
+    public int optimizeDay(Day day) {
+        return day.compactSubTasks();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The flow is solved over every queued Task, so a Task added later could change any Day of the schedule.
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+}
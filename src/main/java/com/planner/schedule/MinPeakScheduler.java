@@ -0,0 +1,175 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+import static com.planner.schedule.SchedulerUtil.getDueHours;
+import static com.planner.schedule.SchedulerUtil.getSpareHours;
+import static com.planner.schedule.SchedulerUtil.getStartingHour;
+import static com.planner.schedule.SchedulerUtil.toUnits;
+
+/**
+ * The class {@code MinPeakScheduler} implements the interface {@link Scheduler} by keeping the busiest day as light as
+ * possible. Rather than front-loading Tasks like {@link CompactScheduler}, it binary searches the smallest number of
+ * hours per day, in half hours, such that every queued Task can still be done by its due date if no day goes past it,
+ * nor past its own hours in {@link UserConfig}. Each Day is then filled up to that cap by earliest due date.
+ * <p>
+ * Filling days by earliest due date meets every due date whenever any plan does, so a cap only has to be checked by
+ * comparing the work due by each date against the hours up to it, in a single pass over the days. The Tasks are
+ * sorted and the cap is found once, on the first Day of a build, in O(n log n + d log h) time for n Tasks over d days
+ * with at most h half hours a day. The following Days are then filled from where the last one stopped, so a build
+ * only visits each Task once more. When the Tasks cannot all be done even without a cap, each Day is filled to its
+ * own hours, just as with {@link CompactScheduler}.
+ *
+ * @author Andrew Roe
+ */
+public class MinPeakScheduler implements Scheduler {
+
+    /** Holds relevant data for user settings in scheduling */
+    private final UserConfig userConfig;
+    /** EventLog for logging data on Day actions, or null if actions are not logged */
+    private final EventLog eventLog;
+    /** Queue the cap was found for, or null before the first Day */
+    private TaskQueue plannedQueue;
+    /** Date of the Day expected next as days since the epoch */
+    private int nextDay;
+    /** Number of Tasks the planned queue held after the last Day */
+    private int plannedSize;
+    /** Tasks of the planned queue by earliest due date */
+    private Task[] tasks;
+    /** Index of the first of the Tasks that may still be queued */
+    private int next;
+    /** Most half hours any Day is filled to */
+    private int peakCap;
+
+    /**
+     * Constructs a new {@code MinPeakScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     */
+    protected MinPeakScheduler(UserConfig userConfig, EventLog eventLog) {
+        this.userConfig = userConfig;
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date) {
+        int numErrors = errorCount;
+        if (taskManager.isEmpty()) return numErrors;
+        int today = Time.toEpochDay(date);
+        int currentMinute = Time.toMinuteOfDay(date);
+        int dayOfSchedule = day.getEpochDay();
+        boolean isToday = today == dayOfSchedule;
+        int startingHour = getStartingHour(userConfig, currentMinute, isToday);
+        int spareUnits = toUnits(getSpareHours(userConfig, day, startingHour, isToday));
+        // the cap only holds for the queue it was found for, with the Days planned one after another
+        if (taskManager != plannedQueue || dayOfSchedule != nextDay || taskManager.size() != plannedSize) {
+            plannedQueue = taskManager;
+            // natural ordering is by earliest due date
+            tasks = taskManager.toArray(new Task[0]);
+            Arrays.sort(tasks);
+            next = 0;
+            peakCap = getPeakCap(tasks, dayOfSchedule, spareUnits);
+        }
+        nextDay = dayOfSchedule + 1;
+        // Tasks before the first one still queued are finished, and only one Task is left part way by a Day
+        while (next < tasks.length && taskManager.get(tasks[next].getId()) != tasks[next]) next++;
+        int unitsLeft = Math.min(peakCap, spareUnits);
+
+        for (int i = next; i < tasks.length; i++) {
+            Task task = tasks[i];
+            boolean due = task.getDueDay() <= dayOfSchedule;
+            if (!due && unitsLeft == 0) break;
+            double hours;
+            if (due) {
+                // Tasks due on the Day get all of their remaining hours
+                hours = getDueHours(userConfig, day, task, startingHour);
+                unitsLeft = Math.max(unitsLeft - toUnits(hours), 0);
+            } else {
+                hours = Math.min(unitsLeft / 2.0, task.getSubTotalHoursRemaining());
+                unitsLeft -= toUnits(hours);
+            }
+            boolean validTaskStatus = day.addPlainSubTask(task, hours, userConfig, currentMinute, isToday);
+            if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+            numErrors += validTaskStatus ? 0 : 1;
+
+            // a Task left part way keeps its place, since the plan and not the queue decides the order
+            if (due || task.getSubTotalHoursRemaining() == 0) {
+                taskManager.remove(task);
+                complete.add(task);
+            }
+        }
+        plannedSize = taskManager.size();
+        return numErrors;
+    }
+
+    /**
+     * Finds the smallest number of half hours per day for which every Task can be done by its due date
+     *
+     * @param tasks queued Tasks by earliest due date
+     * @param firstDay date being planned as days since the epoch
+     * @param firstUnits half hours free on the date being planned
+     * @return smallest cap in half hours, or the most half hours of any day if no cap works
+     */
+    int getPeakCap(Task[] tasks, int firstDay, int firstUnits) {
+        int numDays = Math.max(tasks[tasks.length - 1].getDueDay() - firstDay + 1, 1);
+        // half hours due by the end of each day, and half hours each day can hold
+        long[] due = new long[numDays];
+        int[] dayUnits = new int[numDays];
+        for (Task task : tasks) {
+            due[Math.max(task.getDueDay() - firstDay, 0)] += toUnits(task.getSubTotalHoursRemaining());
+        }
+        int maxUnits = 0;
+        for (int k = 0; k < numDays; k++) {
+            dayUnits[k] = k == 0 ? firstUnits : toUnits(userConfig.getHoursOnDay(firstDay + k));
+            maxUnits = Math.max(maxUnits, dayUnits[k]);
+        }
+
+        int lo = 0;
+        int hi = maxUnits;
+        if (!fits(hi, due, dayUnits)) return hi;
+        while (lo < hi) {
+            int cap = (lo + hi) >>> 1;
+            if (fits(cap, due, dayUnits)) hi = cap;
+            else lo = cap + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Determines whether every Task can be done by its due date without any day going past the cap
+     */
+    private static boolean fits(int cap, long[] due, int[] dayUnits) {
+        long supply = 0;
+        long demand = 0;
+        for (int k = 0; k < due.length; k++) {
+            supply += Math.min(cap, dayUnits[k]);
+            demand += due[k];
+            if (demand > supply) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int optimizeDay(Day day) {
+        return day.compactSubTasks();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cap depends on every queued Task, so a Task added later could change any Day of the schedule.
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+}
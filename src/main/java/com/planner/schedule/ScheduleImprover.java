@@ -0,0 +1,487 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.IntMap;
+import com.planner.util.Time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Improves a schedule that has already been built by local search. The hours of each Task are cut into half hours, and
+ * workers move them between days, or swap them with the hours of another Task, as long as no Task goes past its due
+ * date and no piece is cut below the 'minHours' config option. A plan costs more for every half hour past what a day
+ * can hold once its events are taken out, for every day a Task is split across, and for days busier than the rest, so
+ * the search cuts overflow first, then fragmentation and the spread of the load.
+ * <p>
+ * Each worker runs on its own thread from the best plan found so far, only keeping moves that do not make its plan
+ * worse. Workers that stop finding better plans start again from the best plan with a few random moves. The best plan
+ * is shared through a single atomic reference, which is only ever replaced by a cheaper plan, so no locks are taken.
+ * The search stops at a deadline and the best plan found by then is kept, so the time it takes is bounded however large
+ * the schedule is.
+ * <p>
+ * Tasks with hours that are not a whole number of half hours on some day, or with hours past their due date, are left
+ * where they are.
+ *
+ * @author Andrew Roe
+ */
+public class ScheduleImprover {
+
+    /** Cost of each half hour past what a day can hold */
+    static final long OVERFLOW_WEIGHT = 1000;
+    /** Cost of each day a Task is split across */
+    static final long FRAGMENT_WEIGHT = 16;
+    /** Number of moves a worker tries between looks at the clock and the best plan */
+    private static final int BATCH_SIZE = 512;
+    /** Number of batches without a better plan before a worker starts again from the best plan */
+    private static final int STALE_BATCHES = 8;
+    /** Number of random moves made when a worker starts again */
+    private static final int KICK_SIZE = 4;
+    /** Order in which a rebuilt Day is given its SubTasks */
+    private static final Comparator<Task> DUE_ORDER = Comparator.comparingInt(Task::getDueDay).thenComparingInt(Task::getId);
+    /** Holds relevant data for user settings in scheduling */
+    private final UserConfig userConfig;
+    /** Days of the schedule in order */
+    private final List<Day> days;
+    /** Tasks whose hours can be moved */
+    private final Task[] tasks;
+    /** Index of each Task whose hours can be moved, by Task ID */
+    private final IntMap<Integer> taskIndices;
+    /** Index of the last day each Task can be planned on */
+    private final int[] lastDays;
+    /** Half hours each day can hold */
+    private final int[] capacities;
+    /** Half hours taken on each day by hours that are not moved */
+    private final int[] fixedLoads;
+    /** Tasks with hours that are not moved */
+    private final List<Task> fixedTasks;
+    /** Hours on each day of the Tasks with hours that are not moved, by Task ID */
+    private final IntMap<double[]> fixedHours;
+    /** Fewest half hours a piece of a Task can be cut to */
+    private final int minUnits;
+    /** Plan the Days currently follow */
+    private Plan current;
+    /** Cheapest plan found so far, shared by every worker */
+    private final AtomicReference<Plan> best;
+
+    /**
+     * Constructs a new {@code ScheduleImprover} for a built schedule
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param days Days of the schedule in order
+     * @param capacities hours each Day can hold once its events are taken out
+     * @throws IllegalArgumentException if there is not a capacity for each Day
+     */
+    public ScheduleImprover(UserConfig userConfig, List<Day> days, double[] capacities) {
+        if (capacities.length != days.size()) throw new IllegalArgumentException("Each Day needs a capacity");
+        this.userConfig = userConfig;
+        this.days = days;
+        int numDays = days.size();
+        this.capacities = new int[numDays];
+        for (int d = 0; d < numDays; d++) {
+            this.capacities[d] = (int) Math.floor(capacities[d] * 2 + 1e-9);
+        }
+        minUnits = Math.max((int) Math.ceil(userConfig.getMinHours() * 2 - 1e-9), 1);
+
+        // hours of each Task on each Day, by Task ID
+        List<Task> allTasks = new ArrayList<>();
+        IntMap<double[]> hours = new IntMap<>();
+        for (int d = 0; d < numDays; d++) {
+            Day day = days.get(d);
+            for (int i = 0; i < day.getNumSubTasks(); i++) {
+                Task task = day.getSubTaskParent(i);
+                double[] taskHours = hours.get(task.getId());
+                if (taskHours == null) {
+                    hours.put(task.getId(), taskHours = new double[numDays]);
+                    allTasks.add(task);
+                }
+                taskHours[d] += day.getSubTaskHours(i);
+            }
+        }
+
+        List<Task> movable = new ArrayList<>();
+        List<Integer> movableLastDays = new ArrayList<>();
+        fixedTasks = new ArrayList<>();
+        fixedHours = new IntMap<>();
+        fixedLoads = new int[numDays];
+        for (Task task : allTasks) {
+            double[] taskHours = hours.get(task.getId());
+            int lastDay = getLastDay(task.getDueDay());
+            boolean fixed = false;
+            for (int d = 0; d < numDays && !fixed; d++) {
+                double units = taskHours[d] * 2;
+                fixed = Math.abs(units - Math.rint(units)) > 1e-9 || units > 0 && d > lastDay;
+            }
+            if (fixed) {
+                fixedTasks.add(task);
+                fixedHours.put(task.getId(), taskHours);
+                for (int d = 0; d < numDays; d++) {
+                    fixedLoads[d] += (int) Math.ceil(taskHours[d] * 2 - 1e-9);
+                }
+            } else {
+                movable.add(task);
+                movableLastDays.add(lastDay);
+            }
+        }
+        tasks = movable.toArray(new Task[0]);
+        taskIndices = new IntMap<>();
+        lastDays = new int[tasks.length];
+        int[][] units = new int[tasks.length][numDays];
+        for (int t = 0; t < tasks.length; t++) {
+            taskIndices.put(tasks[t].getId(), t);
+            lastDays[t] = movableLastDays.get(t);
+            double[] taskHours = hours.get(tasks[t].getId());
+            for (int d = 0; d < numDays; d++) {
+                units[t][d] = (int) Math.rint(taskHours[d] * 2);
+            }
+        }
+        current = new Plan(units, new State(units).cost);
+        best = new AtomicReference<>(current);
+    }
+
+    /**
+     * Gets the index of the last Day a Task due on the given date can be planned on
+     */
+    private int getLastDay(int dueDay) {
+        int lastDay = -1;
+        while (lastDay + 1 < days.size() && days.get(lastDay + 1).getEpochDay() <= dueDay) {
+            lastDay++;
+        }
+        return lastDay;
+    }
+
+    /**
+     * Searches for a cheaper plan until the time budget runs out
+     *
+     * @param numThreads number of workers, each on its own thread
+     * @param budgetMillis time the search can take in milliseconds
+     * @return boolean value for whether a cheaper plan than the one the Days follow was found
+     * @throws IllegalArgumentException if there are no workers or the time budget is negative
+     */
+    public boolean improve(int numThreads, long budgetMillis) {
+        if (numThreads < 1) throw new IllegalArgumentException("Number of threads must be positive");
+        if (budgetMillis < 0) throw new IllegalArgumentException("Time budget cannot be negative");
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        if (tasks.length > 0) {
+            // the calling thread is one of the workers
+            Thread[] workers = new Thread[numThreads - 1];
+            for (int i = 0; i < workers.length; i++) {
+                long seed = i + 1;
+                workers[i] = new Thread(() -> search(deadline, seed), "schedule-improver-" + seed);
+                workers[i].setDaemon(true);
+                workers[i].start();
+            }
+            search(deadline, 0);
+            try {
+                // workers stop at the deadline on their own, so this only waits out their last batch
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return best.get().cost < current.cost;
+    }
+
+    /**
+     * Runs a single worker until the deadline
+     *
+     * @param deadline time to stop at as given by {@link System#nanoTime()}
+     * @param seed seed for the moves of the worker
+     */
+    private void search(long deadline, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        State state = new State(best.get().units);
+        int staleBatches = 0;
+        while (System.nanoTime() < deadline) {
+            long batchCost = state.cost;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                state.tryMove(random, false);
+            }
+            Plan shared = best.get();
+            if (state.cost < shared.cost) publish(new Plan(state.copyUnits(), state.cost));
+            staleBatches = state.cost < batchCost ? 0 : staleBatches + 1;
+            if (staleBatches >= STALE_BATCHES) {
+                state = new State(best.get().units);
+                for (int i = 0; i < KICK_SIZE; i++) {
+                    state.tryMove(random, true);
+                }
+                staleBatches = 0;
+            }
+        }
+    }
+
+    /**
+     * Shares a plan with every worker if it is cheaper than the best plan found so far
+     *
+     * @param plan plan found by a worker
+     */
+    private void publish(Plan plan) {
+        Plan shared = best.get();
+        while (plan.cost < shared.cost && !best.compareAndSet(shared, plan)) {
+            shared = best.get();
+        }
+    }
+
+    /**
+     * Gets the cost of the plan the Days currently follow
+     *
+     * @return cost of current plan
+     */
+    public long getCurrentCost() {
+        return current.cost;
+    }
+
+    /**
+     * Gets the cost of the cheapest plan found so far
+     *
+     * @return cost of best plan
+     */
+    public long getBestCost() {
+        return best.get().cost;
+    }
+
+    /**
+     * Rebuilds each Day whose hours differ in the cheapest plan found. A rebuilt Day is given its SubTasks by earliest
+     * due date, and the hours of each Task are handed back to it before they are added again.
+     *
+     * @param time time at which the schedule was built
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     * @return number of errors on each rebuilt Day, or -1 for Days that were left as they were
+     */
+    public int[] apply(Calendar time, EventLog eventLog) {
+        Plan plan = best.get();
+        int numDays = days.size();
+        int[] errors = new int[numDays];
+        Arrays.fill(errors, -1);
+        boolean[] changed = new boolean[numDays];
+        for (int t = 0; t < tasks.length; t++) {
+            for (int d = 0; d < numDays; d++) {
+                changed[d] |= plan.units[t][d] != current.units[t][d];
+            }
+        }
+
+        // hours on the Days being rebuilt are handed back to their Tasks
+        for (int t = 0; t < tasks.length; t++) {
+            int units = 0;
+            for (int d = 0; d < numDays; d++) {
+                if (changed[d]) units += current.units[t][d];
+            }
+            handBack(tasks[t], units / 2.0);
+        }
+        for (Task task : fixedTasks) {
+            double[] taskHours = fixedHours.get(task.getId());
+            double hours = 0;
+            for (int d = 0; d < numDays; d++) {
+                if (changed[d]) hours += taskHours[d];
+            }
+            handBack(task, hours);
+        }
+
+        int today = Time.toEpochDay(time);
+        int currentMinute = Time.toMinuteOfDay(time);
+        for (int d = 0; d < numDays; d++) {
+            if (!changed[d]) continue;
+            Day day = days.get(d);
+            day.clearSubTasks();
+            List<Task> dayTasks = new ArrayList<>();
+            for (int t = 0; t < tasks.length; t++) {
+                if (plan.units[t][d] > 0) dayTasks.add(tasks[t]);
+            }
+            for (Task task : fixedTasks) {
+                if (fixedHours.get(task.getId())[d] > 0) dayTasks.add(task);
+            }
+            dayTasks.sort(DUE_ORDER);
+
+            errors[d] = 0;
+            for (Task task : dayTasks) {
+                double[] taskHours = fixedHours.get(task.getId());
+                double hours = taskHours != null ? taskHours[d] : plan.units[taskIndices.get(task.getId())][d] / 2.0;
+                boolean validTaskStatus = day.addPlainSubTask(task, hours, userConfig, currentMinute, today == day.getEpochDay());
+                if (eventLog != null) eventLog.reportDayAction(day, task, validTaskStatus);
+                errors[d] += validTaskStatus ? 0 : 1;
+            }
+        }
+        current = plan;
+        return errors;
+    }
+
+    private static void handBack(Task task, double hours) {
+        task.reset(task.getTotalHours() - task.getSubTotalHoursRemaining() - hours);
+    }
+
+    /**
+     * Gets the cost of a day holding the given half hours
+     */
+    private static long getLoadCost(int load, int capacity) {
+        return OVERFLOW_WEIGHT * Math.max(load - capacity, 0) + (long) load * load;
+    }
+
+    /**
+     * Half hours of each Task on each day, along with their cost. Plans are never changed once made.
+     */
+    private static class Plan {
+        /** Half hours of each Task on each day */
+        private final int[][] units;
+        /** Cost of the plan */
+        private final long cost;
+
+        private Plan(int[][] units, long cost) {
+            this.units = units;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Plan being changed by a single worker, along with the load of each day and the Tasks on it
+     */
+    private class State {
+        /** Half hours of each Task on each day */
+        private final int[][] units;
+        /** Half hours on each day */
+        private final int[] loads;
+        /** Tasks with hours on each day, in no particular order */
+        private final int[][] dayTasks;
+        /** Number of Tasks with hours on each day */
+        private final int[] numDayTasks;
+        /** Position of each Task in the list for each day, or -1 if it has no hours on the day */
+        private final int[][] positions;
+        /** Cost of the plan */
+        private long cost;
+
+        private State(int[][] units) {
+            int numDays = days.size();
+            this.units = new int[units.length][];
+            loads = fixedLoads.clone();
+            dayTasks = new int[numDays][tasks.length];
+            numDayTasks = new int[numDays];
+            positions = new int[tasks.length][numDays];
+            for (int t = 0; t < units.length; t++) {
+                this.units[t] = units[t].clone();
+                Arrays.fill(positions[t], -1);
+                for (int d = 0; d < numDays; d++) {
+                    if (units[t][d] == 0) continue;
+                    loads[d] += units[t][d];
+                    positions[t][d] = numDayTasks[d];
+                    dayTasks[d][numDayTasks[d]++] = t;
+                    cost += FRAGMENT_WEIGHT;
+                }
+            }
+            for (int d = 0; d < numDays; d++) {
+                cost += getLoadCost(loads[d], capacities[d]);
+            }
+        }
+
+        private int[][] copyUnits() {
+            int[][] copy = new int[units.length][];
+            for (int t = 0; t < units.length; t++) {
+                copy[t] = units[t].clone();
+            }
+            return copy;
+        }
+
+        /**
+         * Tries to move hours of a random Task to another day, swapping them for hours of a Task on that day half the
+         * time. A move is kept if it does not make the plan cost more, or when kicking, if it does not go past what
+         * the day can hold.
+         *
+         * @param random source of the moves
+         * @param kick whether the move is kept even if it makes the plan cost more
+         */
+        private void tryMove(SplittableRandom random, boolean kick) {
+            int t = random.nextInt(tasks.length);
+            int from = pickDay(units[t], random);
+            int to = random.nextInt(lastDays[t] + 1);
+            if (to == from) return;
+            int amount = pickAmount(units[t][from], random);
+            if (amount == 0) return;
+
+            int other = -1;
+            int otherAmount = 0;
+            if (!kick && numDayTasks[to] > 0 && random.nextBoolean()) {
+                other = dayTasks[to][random.nextInt(numDayTasks[to])];
+                if (other == t || lastDays[other] < from) return;
+                otherAmount = pickAmount(units[other][to], random);
+                if (otherAmount == 0) return;
+            }
+
+            int fromLoad = loads[from] - amount + otherAmount;
+            int toLoad = loads[to] + amount - otherAmount;
+            if (kick) {
+                if (toLoad > capacities[to]) return;
+            } else {
+                long delta = getLoadCost(fromLoad, capacities[from]) - getLoadCost(loads[from], capacities[from])
+                        + getLoadCost(toLoad, capacities[to]) - getLoadCost(loads[to], capacities[to])
+                        + FRAGMENT_WEIGHT * getPieceChange(t, from, to, amount);
+                if (other != -1) delta += FRAGMENT_WEIGHT * getPieceChange(other, to, from, otherAmount);
+                if (delta > 0) return;
+            }
+            move(t, from, to, amount);
+            if (other != -1) move(other, to, from, otherAmount);
+        }
+
+        /**
+         * Gets the change in the number of days a Task is split across if hours are moved
+         */
+        private int getPieceChange(int t, int from, int to, int amount) {
+            return (units[t][from] == amount ? -1 : 0) + (units[t][to] == 0 ? 1 : 0);
+        }
+
+        /**
+         * Picks a random day a Task has hours on
+         */
+        private int pickDay(int[] taskUnits, SplittableRandom random) {
+            int numDays = taskUnits.length;
+            int start = random.nextInt(numDays);
+            for (int i = 0; i < numDays; i++) {
+                int d = (start + i) % numDays;
+                if (taskUnits[d] > 0) return d;
+            }
+            throw new IllegalStateException("Task has no hours in the plan");
+        }
+
+        /**
+         * Picks how many half hours to move out of a piece, either all of them or few enough that neither part is cut
+         * below the fewest half hours allowed
+         *
+         * @return half hours to move, or 0 if the piece cannot be cut
+         */
+        private int pickAmount(int pieceUnits, SplittableRandom random) {
+            if (random.nextBoolean()) return pieceUnits;
+            int spare = pieceUnits - 2 * minUnits;
+            return spare < 0 ? 0 : minUnits + random.nextInt(spare + 1);
+        }
+
+        private void move(int t, int from, int to, int amount) {
+            long before = getLoadCost(loads[from], capacities[from]) + getLoadCost(loads[to], capacities[to]);
+            if (units[t][to] == 0) {
+                positions[t][to] = numDayTasks[to];
+                dayTasks[to][numDayTasks[to]++] = t;
+                cost += FRAGMENT_WEIGHT;
+            }
+            units[t][from] -= amount;
+            units[t][to] += amount;
+            loads[from] -= amount;
+            loads[to] += amount;
+            if (units[t][from] == 0) {
+                // the last Task on the day takes the place of the one leaving
+                int pos = positions[t][from];
+                int last = dayTasks[from][--numDayTasks[from]];
+                dayTasks[from][pos] = last;
+                positions[last][from] = pos;
+                positions[t][from] = -1;
+                cost -= FRAGMENT_WEIGHT;
+            }
+            cost += getLoadCost(loads[from], capacities[from]) + getLoadCost(loads[to], capacities[to]) - before;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Combination of a {@link Scheduler}, a {@link Task} ordering and overrides to {@link UserConfig} options that a schedule can be built with.
+ * Strategies are compared against each other by the best-of build in {@link com.planner.manager.ScheduleManager}.
+ *
+ * @author Andrew Roe
+ */
+public class ScheduleStrategy {
+
+    /** Strategy that follows the natural ordering of Tasks and the user's settings as they are */
+    public static final ScheduleStrategy DEFAULT = new ScheduleStrategy("default", null, null, null);
+
+    /** Name of the strategy */
+    private final String name;
+    /** Type of scheduler, as passed to {@link Scheduler#getInstance(UserConfig, EventLog, int)} */
+    private final int schedulerIdx;
+    /** Ordering of the Tasks, or null for their natural ordering */
+    private final Comparator<Task> order;
+    /** Minimum number of hours for a SubTask, or null to keep the user's setting */
+    private final Double minHours;
+    /** Whether to fit Tasks due on a Day inside it, or null to keep the user's setting */
+    private final Boolean fitDay;
+
+    /**
+     * Constructs a new {@code ScheduleStrategy}
+     *
+     * @param name name of the strategy
+     * @param order ordering of the Tasks, or null for their natural ordering
+     * @param minHours minimum number of hours for a SubTask, or null to keep the user's setting
+     * @param fitDay whether to fit Tasks due on a Day inside it, or null to keep the user's setting
+     */
+    public ScheduleStrategy(String name, Comparator<Task> order, Double minHours, Boolean fitDay) {
+        this(name, 1, order, minHours, fitDay);
+    }
+
+    /**
+     * Constructs a new {@code ScheduleStrategy} for the given type of scheduler
+     *
+     * @param name name of the strategy
+     * @param schedulerIdx type of scheduler (0=Dynamic, 2=Flow, 3=MinPeak, 4=Backward, otherwise Compact)
+     * @param order ordering of the Tasks, or null for their natural ordering
+     * @param minHours minimum number of hours for a SubTask, or null to keep the user's setting
+     * @param fitDay whether to fit Tasks due on a Day inside it, or null to keep the user's setting
+     */
+    public ScheduleStrategy(String name, int schedulerIdx, Comparator<Task> order, Double minHours, Boolean fitDay) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Name for ScheduleStrategy cannot be empty or null");
+        this.name = name;
+        this.schedulerIdx = schedulerIdx;
+        this.order = order;
+        this.minHours = minHours;
+        this.fitDay = fitDay;
+    }
+
+    /**
+     * Gets the strategies tried by a best-of build, starting with {@link #DEFAULT}
+     *
+     * @return List of candidate strategies
+     */
+    public static List<ScheduleStrategy> getCandidates() {
+        return List.of(
+                DEFAULT,
+                new ScheduleStrategy("longest-first", new LongOrderComparator(), null, null),
+                new ScheduleStrategy("shortest-first", new ShortOrderComparator(), null, null),
+                new ScheduleStrategy("no-min-hours", null, 0.0, null),
+                new ScheduleStrategy("fit-day", null, null, true),
+                new ScheduleStrategy("no-fit-day", null, null, false),
+                new ScheduleStrategy("dynamic", 0, null, null, null),
+                new ScheduleStrategy("min-cost-flow", 2, null, null, null),
+                new ScheduleStrategy("min-peak", 3, null, null, null),
+                new ScheduleStrategy("as-late-as-possible", 4, null, null, null)
+        );
+    }
+
+    /**
+     * Gets the name of the strategy
+     *
+     * @return name of strategy
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates the {@link Scheduler} for this strategy with its overrides applied to the user's settings
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     * @return new Scheduler
+     */
+    public Scheduler createScheduler(UserConfig userConfig, EventLog eventLog) {
+        return Scheduler.getInstance(configure(userConfig), eventLog, schedulerIdx);
+    }
+
+    /**
+     * Creates an empty {@link TaskQueue} that orders Tasks for this strategy. When priority scheduling is enabled, the
+     * compact scheduler follows the priority order in place of the ordering of the strategy.
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @return new TaskQueue
+     */
+    public TaskQueue createQueue(UserConfig userConfig) {
+        if (isCompact() && userConfig.isPriority()) return TaskQueue.byPriority();
+        return new TaskQueue(order);
+    }
+
+    /**
+     * Determines whether this strategy builds with the compact scheduler, the only one that follows the priority order
+     * of the queue
+     *
+     * @return boolean value for whether the scheduler is compact
+     */
+    private boolean isCompact() {
+        return schedulerIdx < 0 || schedulerIdx == 1 || schedulerIdx > 4;
+    }
+
+    /**
+     * Applies the overrides of this strategy to the user's settings
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @return the given UserConfig if there are no overrides, otherwise a copy with the overrides applied
+     */
+    public UserConfig configure(UserConfig userConfig) {
+        if (minHours == null && fitDay == null) return userConfig;
+        UserConfig config = new UserConfig(userConfig);
+        if (minHours != null) config.setMinHours(minHours);
+        if (fitDay != null) config.setFitDay(fitDay);
+        return config;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -5,21 +5,35 @@ import com.planner.schedule.day.Day;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
 import com.planner.util.EventLog;
+import com.planner.util.TaskQueue;
 
 import java.util.Calendar;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * The interface {@code Scheduler} is for all scheduling implementations to sort out tasks via the {@link ScheduleManager}
+ * <p>
+ * A scheduler may keep a plan from one Day of a build to the next, so each build creates its own instance. The plan is
+ * worked out again whenever a Day is not the one after the last, or the queue is not the one left by the last Day.
  *
  * @author Andrew Roe
  */
 public interface Scheduler {
 
+    /**
+     * Creates a new {@code Scheduler} bound to the given settings
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null if actions are not logged
+     * @param idx type of scheduler (0=Dynamic, 2=Flow, 3=MinPeak, 4=Backward, otherwise Compact)
+     * @return new instance of {@code Scheduler}
+     */
     static Scheduler getInstance(UserConfig userConfig, EventLog eventLog, int idx) {
-        if (idx == 0) return DynamicScheduler.getSingleton(userConfig, eventLog);
-        return CompactScheduler.getSingleton(userConfig, eventLog);
+        if (idx == 0) return new DynamicScheduler(userConfig, eventLog);
+        if (idx == 2) return new FlowScheduler(userConfig, eventLog);
+        if (idx == 3) return new MinPeakScheduler(userConfig, eventLog);
+        if (idx == 4) return new BackwardScheduler(userConfig, eventLog);
+        return new CompactScheduler(userConfig, eventLog);
     }
 
     /**
@@ -28,10 +42,19 @@ public interface Scheduler {
      * @param day Day being processed
      * @param errorCount number of errors in current schedule
      * @param complete Tasks that are "finished scheduling" are added here
-     * @param taskManager PriorityQueue of all Tasks in sorted order
+     * @param taskManager TaskQueue of all Tasks in sorted order
      * @return number of errors in scheduling Day
      */
-    int assignDay(Day day, int errorCount, PriorityQueue<Task> complete, PriorityQueue<Task> taskManager, Calendar date);
+    int assignDay(Day day, int errorCount, TaskQueue complete, TaskQueue taskManager, Calendar date);
+
+    /**
+     * Gives the scheduler the latest due date of any active Task before the first Day of a build, for schedulers that
+     * plan from the end of the schedule backward
+     *
+     * @param lastDueDate latest due date as days since the epoch, or Integer.MIN_VALUE if there are no active Tasks
+     */
+    default void setLastDueDate(int lastDueDate) {
+    }
 
     /**
      * Optimizes a {@link Day}'s set of {@link com.planner.models.Task.SubTask} around {@link com.planner.models.Event}
@@ -45,5 +68,14 @@ public interface Scheduler {
      */
     int optimizeDay(Day day);
 
-    void updateConfig(UserConfig userConfig);
+    /**
+     * Determines whether a schedule built by this scheduler can be resumed part way through. This requires that a Day
+     * filled entirely by Tasks due by some date would not change if a Task due after that date were added, and that a
+     * Task is only finished scheduling on its due date or once it has no hours left.
+     *
+     * @return boolean value for whether the Days before the earliest change can be kept
+     */
+    default boolean isIncremental() {
+        return true;
+    }
 }
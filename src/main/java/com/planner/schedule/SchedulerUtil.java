@@ -0,0 +1,73 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+
+/**
+ * Helpers shared by the schedulers that plan a Day in half hours from every queued Task, namely
+ * {@link DynamicScheduler}, {@link FlowScheduler}, {@link MinPeakScheduler} and {@link BackwardScheduler}.
+ *
+ * @author Andrew Roe
+ */
+final class SchedulerUtil {
+
+    private SchedulerUtil() {
+    }
+
+    /**
+     * Gets the number of whole half hours in a number of hours
+     *
+     * @param hours number of hours
+     * @return number of half hours, or 0 if the hours are negative
+     */
+    static int toUnits(double hours) {
+        return (int) Math.max(Math.floor(hours * 2 + 1e-9), 0);
+    }
+
+    /**
+     * Gets the hour at which work on a Day can start, which is the current hour for today unless 'defaultAtStart'
+     * is set in {@link UserConfig}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param currentMinute current minute of the day
+     * @param isToday boolean value for whether the Day is today
+     * @return first hour of the Day that can be worked
+     */
+    static int getStartingHour(UserConfig userConfig, int currentMinute, boolean isToday) {
+        if (isToday && !userConfig.isDefaultAtStart()) {
+            return Math.max(userConfig.getDailyHoursRange()[0], currentMinute / 60);
+        }
+        return userConfig.getDailyHoursRange()[0];
+    }
+
+    /**
+     * Gets the spare hours of a Day, which for today are also limited by the hours left before the end of the range
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param day Day being planned
+     * @param startingHour first hour of the Day that can be worked
+     * @param isToday boolean value for whether the Day is today
+     * @return number of hours that can still be planned on the Day
+     */
+    static double getSpareHours(UserConfig userConfig, Day day, int startingHour, boolean isToday) {
+        if (!isToday) return day.getSpareHours();
+        return Math.min(day.getSpareHours(), userConfig.getDailyHoursRange()[1] - (startingHour + day.getHoursFilled()));
+    }
+
+    /**
+     * Gets the hours placed on a Day for a Task due on it, which are all of its remaining hours, cut off at the end
+     * of the day if 'fitDay' is set in {@link UserConfig}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param day Day being planned
+     * @param task Task due on the Day
+     * @param startingHour first hour of the Day that can be worked
+     * @return number of hours placed on the Day
+     */
+    static double getDueHours(UserConfig userConfig, Day day, Task task, int startingHour) {
+        double hours = task.getSubTotalHoursRemaining();
+        if (userConfig.isFitDay()) hours = Math.min(hours, 24.0 - (startingHour + day.getHoursFilled()));
+        return hours;
+    }
+}
@@ -0,0 +1,81 @@
+package com.planner.schedule;
+
+/**
+ * Outcome of building a schedule with a particular {@link ScheduleStrategy}
+ *
+ * @author Andrew Roe
+ */
+public class StrategyResult {
+
+    /** Strategy the schedule was built with */
+    private final ScheduleStrategy strategy;
+    /** Number of errors in the schedule */
+    private final int errorCount;
+    /** Hours scheduled past the capacity of their Day, plus hours that did not fit in the schedule at all */
+    private final double overflowHours;
+    /** Time taken to build the schedule in nanoseconds */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new {@code StrategyResult}
+     *
+     * @param strategy strategy the schedule was built with
+     * @param errorCount number of errors in the schedule
+     * @param overflowHours hours over capacity or left unscheduled
+     * @param elapsedNanos time taken to build the schedule in nanoseconds
+     */
+    public StrategyResult(ScheduleStrategy strategy, int errorCount, double overflowHours, long elapsedNanos) {
+        this.strategy = strategy;
+        this.errorCount = errorCount;
+        this.overflowHours = overflowHours;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the strategy the schedule was built with
+     *
+     * @return strategy of result
+     */
+    public ScheduleStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the number of errors in the schedule
+     *
+     * @return number of errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Gets the hours scheduled past the capacity of their Day, plus hours that did not fit in the schedule at all
+     *
+     * @return number of overflow hours
+     */
+    public double getOverflowHours() {
+        return overflowHours;
+    }
+
+    /**
+     * Gets the time taken to build the schedule
+     *
+     * @return elapsed time in milliseconds
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Determines whether this result is strictly better than another, having fewer errors or, with the same number of
+     * errors, fewer overflow hours
+     *
+     * @param other result being compared against
+     * @return boolean value for whether this result is better
+     */
+    public boolean isBetterThan(StrategyResult other) {
+        if (errorCount != other.errorCount) return errorCount < other.errorCount;
+        return overflowHours < other.overflowHours;
+    }
+}
@@ -7,11 +7,17 @@ import com.planner.models.Event;
 import com.planner.models.Task;
 import com.planner.models.Task.SubTask;
 import com.planner.models.UserConfig;
+import com.planner.util.IntMap;
 import com.planner.util.Time;
 import com.planner.util.Time.TimeStamp;
 
 /**
  * Represents a single Day in the year
+ * <p>
+ * SubTasks are held as parallel arrays of their parent Task, start and end minutes, hours, and flags rather than as
+ * {@link SubTask} and {@link TimeStamp} objects, since a schedule holds many Days that are mostly read by scheduling
+ * code needing only a few of those values. {@link #getSubTask(int)}, {@link #getSubTaskList()} and
+ * {@link #getTaskTimeStamps()} build the objects when they are asked for.
  *
  * @author Andrew Roe
  * @author Abah Olotuche Gabriel
@@ -20,18 +26,36 @@ public class Day {
 
     /** Holds the date and time of the particular Day */
     private Calendar date;
+    /** Date of the Day as days since the epoch, used for all scheduling comparisons */
+    private int epochDay;
     /** Number of hours possible for a given Day */
     private double capacity;
     /** Number of hours filled for a given Day */
     private double size;
-    /** TreeSet of all SubTasks */
-    private final List<SubTask> subTaskList;
-    /** List of time stamps for all subtasks */
-    private final List<TimeStamp> taskTimeStamps;
-    /** Map by starting hour and the associated event */
+    /** Flag for a SubTask that went past the capacity of the Day */
+    private static final byte OVERFLOW = 1;
+    /** Flag for a SubTask that has a time stamp */
+    private static final byte TIMED = 2;
+    /** Number of SubTasks in the Day */
+    private int numSubTasks;
+    /** Number of SubTasks in the Day that have a time stamp */
+    private int numTimed;
+    /** Parent Task of each SubTask */
+    private Task[] subTaskParents;
+    /** Minute each SubTask starts at, counted from the start of the Day */
+    private int[] subTaskStarts;
+    /** Minute each SubTask ends at, counted from the start of the Day */
+    private int[] subTaskEnds;
+    /** Number of hours of each SubTask */
+    private double[] subTaskHours;
+    /** Flags of each SubTask */
+    private byte[] subTaskFlags;
+    /** Events of the Day sorted by start time */
     private final List<Event> eventList;
-
-    private final List<TimeStamp> eventTimeStamps;
+    /** Minutes of the Day taken up by events */
+    private final Occupancy eventMinutes;
+    /** Recurring events the Day started out with that have yet to be copied into eventList, or null if there are none */
+    private DaySkeleton skeleton;
     /** ID for the specific Day */
     private int id;
 
@@ -46,10 +70,9 @@ public class Day {
         setId(id);
         setCapacity(capacity);
         setDate(incrementation);
-        subTaskList = new ArrayList<>();
-        taskTimeStamps = new ArrayList<>();
+        initSubTasks();
         eventList = new ArrayList<>();
-        eventTimeStamps = new ArrayList<>();
+        eventMinutes = new Occupancy();
     }
 
     /**
@@ -60,13 +83,35 @@ public class Day {
      * @param date date on which this Day occurs
      */
     public Day(int id, double capacity, Calendar date) {
+        this(id, capacity, date, DaySkeleton.EMPTY);
+    }
+
+    /**
+     * Constructor for Day that starts out with the recurring events of its day of the week. Only the minutes taken up
+     * by the events are copied, and the Day's own copies of the events are created the first time they are needed.
+     *
+     * @param id ID specifier for Day
+     * @param capacity total capacity for Day
+     * @param date date on which this Day occurs
+     * @param skeleton layout of the recurring events for the day of the week of the date
+     */
+    public Day(int id, double capacity, Calendar date, DaySkeleton skeleton) {
         setId(id);
         setCapacity(capacity);
         this.date = date;
-        subTaskList = new ArrayList<>();
-        taskTimeStamps = new ArrayList<>();
+        this.epochDay = Time.toEpochDay(date);
+        initSubTasks();
         eventList = new ArrayList<>();
-        eventTimeStamps = new ArrayList<>();
+        eventMinutes = skeleton.copyOccupancy();
+        this.skeleton = skeleton.getNumEvents() > 0 ? skeleton : null;
+    }
+
+    private void initSubTasks() {
+        subTaskParents = new Task[0];
+        subTaskStarts = new int[0];
+        subTaskEnds = new int[0];
+        subTaskHours = new double[0];
+        subTaskFlags = new byte[0];
     }
 
     private void setId(int id) {
@@ -105,6 +150,7 @@ public class Day {
      */
     private void setDate(int incrementation) {
         this.date = Time.getFormattedCalendarInstance(incrementation);
+        this.epochDay = Time.toEpochDay(this.date);
     }
 
     /**
@@ -116,6 +162,15 @@ public class Day {
         return date;
     }
 
+    /**
+     * Gets the date of the Day as days since the epoch
+     *
+     * @return date of Day as days since 1970-01-01
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
     /**
      * Number of hours filled for a given Day
      *
@@ -133,8 +188,7 @@ public class Day {
      * @param overflow boolean status for success of adding SubTask
      */
     public void addFormattedSubTask(Task task, double hours, boolean overflow) {
-        Task.SubTask subtask = task.addSubTask(hours, overflow, null);
-        subTaskList.add(subtask);
+        storeSubTask(task, hours, overflow, false, 0, 0);
         this.size += hours;
     }
 
@@ -143,9 +197,12 @@ public class Day {
      *
      * @param task  Task to be added
      * @param hours number of hours for the SubTask
+     * @param userConfig user settings for scheduling purposes
+     * @param currentMinute current minute of the day, only used when the Day is today
+     * @param isToday whether the Day is today
      * @return boolean status for success of adding SubTask manually
      */
-    public boolean addPlainSubTask(Task task, double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    public boolean addPlainSubTask(Task task, double hours, UserConfig userConfig, int currentMinute, boolean isToday) {
         if (hours <= 0) return false;
         boolean overflow = this.size + hours > this.capacity;
 //        SubTask subtask = task.addSubTask(hours, overflow); // todo need to rearrange this here
@@ -154,18 +211,13 @@ public class Day {
 //        this.size += hours;
 
         // nothing changes here (thank God)
-        if (eventList.isEmpty()) {
-            createNonEventTimeStamps(hours, userConfig, time, isToday);
-            SubTask subTask = task.addSubTask(hours, overflow, taskTimeStamps.get(taskTimeStamps.size() - 1));
-            subTaskList.add(subTask);
+        if (!hasEvents()) {
+            createNonEventTimeStamps(task, hours, overflow, userConfig, currentMinute, isToday);
             this.size += hours;
         } else {
             while (hours > 0) {
                 double prevHours = hours;
-                hours -= createEventTimeStamps(hours, userConfig, time, isToday);
-                // add subtask to subtaskManager
-                SubTask subTask = task.addSubTask(prevHours - hours, overflow, taskTimeStamps.get(taskTimeStamps.size() - 1));
-                subTaskList.add(subTask);
+                hours -= createEventTimeStamps(task, hours, overflow, userConfig, currentMinute, isToday);
                 this.size += (prevHours - hours);
             }
         }
@@ -173,28 +225,16 @@ public class Day {
         return this.size <= this.capacity;
     }
 
-    private void createNonEventTimeStamps(double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    private void createNonEventTimeStamps(Task task, double hours, boolean overflow, UserConfig userConfig,
+                                          int currentMinute, boolean isToday) {
         // handles the creation of timestamps for subtasks created
-        int taskHours = (int) hours;
-        int taskMin = hours % 1 == 0.5 ? 30 : 0;
-        Calendar temp;
-        if (isToday) {
-            temp = time;
-        } else {
-            temp = this.date;
-        }
-
-        Calendar startTime = Time.getFirstAvailableTimeInDay(taskTimeStamps, eventTimeStamps, userConfig, temp, isToday);
-
-        Calendar endTime = (Calendar) startTime.clone();
-        endTime.add(Calendar.HOUR_OF_DAY, taskHours);
-        endTime.add(Calendar.MINUTE, taskMin);
-
-        taskTimeStamps.add(new TimeStamp(startTime, endTime));
+        int startMinute = getFirstAvailableMinute(userConfig, currentMinute, isToday);
+        storeSubTask(task, hours, overflow, true, startMinute, startMinute + Time.toMinutes(hours));
     }
 
     // [COMPLETE]
-    private double createEventTimeStamps(double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    private double createEventTimeStamps(Task task, double hours, boolean overflow, UserConfig userConfig,
+                                         int currentMinute, boolean isToday) {
         // todo we'll handle event edge case here (simply check whether it's within the bounds for the day)
         //  avoid 'clever' solutions
         /*
@@ -207,47 +247,248 @@ public class Day {
             d. Repeat until task is completed (remember, Day needs a method that tells the scheduler how many hours are AVAILABLE, so we can assume we have enough)
         3. Done
          */
-        Calendar temp;
-        if (isToday) {
-            temp = time;
-        } else {
-            temp = this.date;
-        }
-        Calendar startTime = Time.getFirstAvailableTimeInDay(taskTimeStamps, eventTimeStamps, userConfig, temp, isToday);
+        int startMinute = getFirstAvailableMinute(userConfig, currentMinute, isToday);
         // todo check whether startTime is within valid bounds (if it is, cap it at: Min(hours_remaining, hours_till_end_of_day) )
         //  once this is done (as well as handling 'eventTimeStamp'), return '0' (note: make sure to check whether 'fit_day' is true )
 
-        TimeStamp eventTimeStamp = null;
-        for (TimeStamp eTS : eventTimeStamps) { // this list needs to be sorted (given assumption below)
-            if (Time.isBefore(startTime, eTS.getStart())) {
-                eventTimeStamp = eTS;
-                break;
+        int nextEventMinute = eventMinutes.nextOccupied(startMinute);
+        if (nextEventMinute != -1) {
+            hours = Math.min(hours, Time.getTimeInterval(startMinute, nextEventMinute));
+        }
+
+        storeSubTask(task, hours, overflow, true, startMinute, startMinute + Time.toMinutes(hours));
+        return hours;
+    }
+
+    /**
+     * Assigns hours of a Task to the Day and stores the SubTask at the end of the arrays, growing them if needed. No
+     * SubTask is stored if the Task has fewer hours left than are being assigned.
+     *
+     * @param task parent Task of the SubTask
+     * @param hours number of hours for the SubTask
+     * @param overflow boolean value for whether the SubTask went past the capacity of the Day
+     * @param timed boolean value for whether the SubTask has a time stamp
+     * @param startMinute minute the SubTask starts at, only used if it has a time stamp
+     * @param endMinute minute the SubTask ends at, only used if it has a time stamp
+     */
+    private void storeSubTask(Task task, double hours, boolean overflow, boolean timed, int startMinute, int endMinute) {
+        if (!task.assignHours(hours)) return;
+        if (numSubTasks == subTaskParents.length) {
+            int length = Math.max(4, numSubTasks + (numSubTasks >> 1));
+            subTaskParents = Arrays.copyOf(subTaskParents, length);
+            subTaskStarts = Arrays.copyOf(subTaskStarts, length);
+            subTaskEnds = Arrays.copyOf(subTaskEnds, length);
+            subTaskHours = Arrays.copyOf(subTaskHours, length);
+            subTaskFlags = Arrays.copyOf(subTaskFlags, length);
+        }
+        subTaskParents[numSubTasks] = task;
+        subTaskStarts[numSubTasks] = startMinute;
+        subTaskEnds[numSubTasks] = endMinute;
+        subTaskHours[numSubTasks] = hours;
+        subTaskFlags[numSubTasks] = (byte) ((overflow ? OVERFLOW : 0) | (timed ? TIMED : 0));
+        numSubTasks++;
+        if (timed) numTimed++;
+    }
+
+    private int getFirstAvailableMinute(UserConfig userConfig, int currentMinute, boolean isToday) {
+        int startMinute;
+        if (isToday && currentMinute / 60 >= userConfig.getDailyHoursRange()[0] && numTimed == 0 && !userConfig.isDefaultAtStart()) {
+            startMinute = Time.roundUpToQuarterOfHour(currentMinute);
+        } else if (numTimed == 0) {
+            startMinute = userConfig.getDailyHoursRange()[0] * 60;
+        } else {
+            startMinute = subTaskEnds[getTimedIndex(numTimed - 1)];
+        }
+        // jumps over events until the gap before the next one is usable (>= 30 min)
+        while (true) {
+            startMinute = eventMinutes.nextFree(startMinute);
+            int nextEventMinute = eventMinutes.nextOccupied(startMinute);
+            if (nextEventMinute == -1 || nextEventMinute - startMinute >= 30) return startMinute;
+            startMinute = nextEventMinute;
+        }
+    }
+
+    /**
+     * Rearranges the SubTasks of the Day so that fewer of them are broken up by events. The pieces of each Task are
+     * merged back into one block, and blocks are then placed in order into the smallest free gap between events that
+     * holds them whole (best-fit). A block that fits no gap is spread over the earliest gaps with room left. Gaps are
+     * bucketed by the half hours they have left, so the best fit for a block is the first gap of the first bucket
+     * with enough room, found without scanning every gap.
+     * <p>
+     * Blocks only use the time the SubTasks already took up, from the start of the first one to the end of the last,
+     * so the Day never ends later than before. The Day is left as it was if nothing would be gained.
+     *
+     * @return number of Tasks that still had to be split across gaps
+     */
+    public int compactSubTasks() {
+        if (!hasEvents() || numSubTasks < 2 || numTimed != numSubTasks) return 0;
+
+        // merges the pieces of each Task, keeping the order in which Tasks were first assigned
+        List<Task> tasks = new ArrayList<>();
+        List<Double> blockHours = new ArrayList<>();
+        List<Boolean> blockOverflow = new ArrayList<>();
+        IntMap<Integer> blockIdx = new IntMap<>();
+        int lastEndMinute = 0;
+        for (int i = 0; i < numSubTasks; i++) {
+            Task parent = subTaskParents[i];
+            boolean overflow = (subTaskFlags[i] & OVERFLOW) != 0;
+            Integer idx = blockIdx.get(parent.getId());
+            if (idx == null) {
+                blockIdx.put(parent.getId(), tasks.size());
+                tasks.add(parent);
+                blockHours.add(subTaskHours[i]);
+                blockOverflow.add(overflow);
+            } else {
+                blockHours.set(idx, blockHours.get(idx) + subTaskHours[i]);
+                blockOverflow.set(idx, blockOverflow.get(idx) || overflow);
             }
+            lastEndMinute = Math.max(lastEndMinute, subTaskEnds[i]);
+        }
+        if (tasks.size() == numSubTasks) return 0;
+
+        // free gaps between events in half hour units, the same granularity SubTasks are cut at
+        List<Integer> gapStarts = new ArrayList<>();
+        List<Integer> gapUnits = new ArrayList<>();
+        int minute = subTaskStarts[0];
+        while (minute < lastEndMinute) {
+            minute = eventMinutes.nextFree(minute);
+            if (minute >= lastEndMinute) break;
+            int nextEventMinute = eventMinutes.nextOccupied(minute);
+            int gapEnd = nextEventMinute == -1 ? lastEndMinute : Math.min(nextEventMinute, lastEndMinute);
+            if (gapEnd - minute >= 30) {
+                gapStarts.add(minute);
+                gapUnits.add((gapEnd - minute) / 30);
+            }
+            minute = gapEnd;
         }
 
-        if (eventTimeStamp != null) {
-            hours = Math.min(hours, Time.getTimeInterval(startTime, eventTimeStamp.getStart()));
+        int numGaps = gapStarts.size();
+        int[] cursors = new int[numGaps];
+        int[] unitsLeft = new int[numGaps];
+        // gaps are bucketed by the units they have left, so the tightest gap that fits is found without a scan
+        int maxUnits = 0;
+        for (int units : gapUnits) maxUnits = Math.max(maxUnits, units);
+        BitSet[] gapsByUnits = new BitSet[maxUnits + 1];
+        BitSet usedBuckets = new BitSet(maxUnits + 1);
+        // pieces placed in each gap as {block index, number of units}
+        List<List<int[]>> placed = new ArrayList<>(numGaps);
+        for (int g = 0; g < numGaps; g++) {
+            cursors[g] = gapStarts.get(g);
+            unitsLeft[g] = gapUnits.get(g);
+            moveGap(gapsByUnits, usedBuckets, g, -1, unitsLeft[g]);
+            placed.add(new ArrayList<>());
         }
+        int numSplit = 0;
+        int numPieces = 0;
+        for (int b = 0; b < tasks.size(); b++) {
+            int units = (int) (blockHours.get(b) * 2);
+            int bucket = usedBuckets.nextSetBit(units);
+            if (bucket != -1) {
+                // ties go to the earliest gap
+                int best = gapsByUnits[bucket].nextSetBit(0);
+                placed.get(best).add(new int[]{b, units});
+                unitsLeft[best] -= units;
+                moveGap(gapsByUnits, usedBuckets, best, bucket, unitsLeft[best]);
+                numPieces++;
+                continue;
+            }
+            numSplit++;
+            for (int g = 0; g < numGaps && units > 0; g++) {
+                int take = Math.min(units, unitsLeft[g]);
+                if (take == 0) continue;
+                placed.get(g).add(new int[]{b, take});
+                moveGap(gapsByUnits, usedBuckets, g, unitsLeft[g], unitsLeft[g] - take);
+                unitsLeft[g] -= take;
+                units -= take;
+                numPieces++;
+            }
+            // the original layout fit inside the gaps, so this only happens if the SubTasks were laid out elsewhere
+            if (units > 0) return 0;
+        }
+        if (numPieces >= numSubTasks) return numSplit;
 
-        int taskHours = (int) hours;
-        int taskMin = hours % 1 == 0.5 ? 30 : 0;
+        // hands the hours back to each Task so the pieces can be added again at their new times
+        for (int b = 0; b < tasks.size(); b++) {
+            Task task = tasks.get(b);
+            task.reset(task.getTotalHours() - task.getSubTotalHoursRemaining() - blockHours.get(b));
+        }
+        Arrays.fill(subTaskParents, 0, numSubTasks, null);
+        numSubTasks = 0;
+        numTimed = 0;
+        for (int g = 0; g < numGaps; g++) {
+            for (int[] piece : placed.get(g)) {
+                int b = piece[0];
+                int units = piece[1];
+                storeSubTask(tasks.get(b), units / 2.0, blockOverflow.get(b), true, cursors[g], cursors[g] + units * 30);
+                cursors[g] += units * 30;
+            }
+        }
+        return numSplit;
+    }
 
-        Calendar endTime = (Calendar) startTime.clone();
-        endTime.add(Calendar.HOUR_OF_DAY, taskHours);
-        endTime.add(Calendar.MINUTE, taskMin);
+    /**
+     * Moves a gap from the bucket for the units it had left to the bucket for the units it has now
+     *
+     * @param gapsByUnits gaps indexed by the units they have left
+     * @param usedBuckets numbers of units that some gap has left
+     * @param gap index of the gap
+     * @param from units the gap had left, or -1 if it is new
+     * @param to units the gap has left now
+     */
+    private static void moveGap(BitSet[] gapsByUnits, BitSet usedBuckets, int gap, int from, int to) {
+        if (from != -1) {
+            gapsByUnits[from].clear(gap);
+            if (gapsByUnits[from].isEmpty()) usedBuckets.clear(from);
+        }
+        if (gapsByUnits[to] == null) gapsByUnits[to] = new BitSet();
+        gapsByUnits[to].set(gap);
+        usedBuckets.set(to);
+    }
 
-        taskTimeStamps.add(new TimeStamp(startTime, endTime));
-        return hours;
+    /**
+     * Removes every SubTask from the Day, leaving its events in place. The hours of the SubTasks are not handed back
+     * to their Tasks.
+     */
+    public void clearSubTasks() {
+        Arrays.fill(subTaskParents, 0, numSubTasks, null);
+        numSubTasks = 0;
+        numTimed = 0;
+        this.size = 0;
     }
 
     /**
-     * Gets a particular SubTask from the Day's list
+     * Gets a particular SubTask from the Day's list. The SubTask is built from the stored values each time, so it is
+     * equal in its values but not the same object as one returned before.
      *
      * @param subtaskIndex index for SubTask
      * @return specified SubTask
      */
     public SubTask getSubTask(int subtaskIndex) {
-        return subTaskList.get(subtaskIndex);
+        Objects.checkIndex(subtaskIndex, numSubTasks);
+        boolean overflow = (subTaskFlags[subtaskIndex] & OVERFLOW) != 0;
+        return new SubTask(subTaskParents[subtaskIndex], subTaskHours[subtaskIndex], overflow, getTimeStamp(subtaskIndex));
+    }
+
+    /**
+     * Gets the parent Task of a particular SubTask without building the SubTask
+     *
+     * @param subtaskIndex index for SubTask
+     * @return parent Task of the SubTask
+     */
+    public Task getSubTaskParent(int subtaskIndex) {
+        Objects.checkIndex(subtaskIndex, numSubTasks);
+        return subTaskParents[subtaskIndex];
+    }
+
+    /**
+     * Gets the number of hours of a particular SubTask without building the SubTask
+     *
+     * @param subtaskIndex index for SubTask
+     * @return number of hours for the SubTask
+     */
+    public double getSubTaskHours(int subtaskIndex) {
+        Objects.checkIndex(subtaskIndex, numSubTasks);
+        return subTaskHours[subtaskIndex];
     }
 
     /**
@@ -256,7 +497,33 @@ public class Day {
      * @return number of SubTasks possessed by the Day
      */
     public int getNumSubTasks() {
-        return subTaskList.size();
+        return numSubTasks;
+    }
+
+    /**
+     * Builds the time stamp of a SubTask
+     *
+     * @param subtaskIndex index for SubTask
+     * @return time stamp of the SubTask, or null if it has none
+     */
+    private TimeStamp getTimeStamp(int subtaskIndex) {
+        if ((subTaskFlags[subtaskIndex] & TIMED) == 0) return null;
+        return new TimeStamp(epochDay, subTaskStarts[subtaskIndex], subTaskEnds[subtaskIndex]);
+    }
+
+    /**
+     * Finds the index of the SubTask holding the time stamp at the given index out of those of the Day
+     *
+     * @param timedIndex index of the time stamp
+     * @return index for the SubTask
+     */
+    private int getTimedIndex(int timedIndex) {
+        // every SubTask has a time stamp unless some were added pre-formatted
+        if (numTimed == numSubTasks) return timedIndex;
+        for (int i = 0; i < numSubTasks; i++) {
+            if ((subTaskFlags[i] & TIMED) != 0 && timedIndex-- == 0) return i;
+        }
+        throw new IndexOutOfBoundsException("Index " + timedIndex + " out of bounds for time stamps");
     }
 
     /**
@@ -266,45 +533,54 @@ public class Day {
      * @return boolean status for success of adding Event
      */
     public boolean addEvent(Event event) {
-        if (event.isRecurring()) { // this fixes issue for recurring events since they can happen on any day
-            Calendar start = (Calendar) date.clone();
-            start.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getStartHour());
-            start.set(Calendar.MINUTE, event.getTimeStamp().getStartMin());
-
-            Calendar end = (Calendar) start.clone();
-            end.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getEndHour());
-            end.set(Calendar.MINUTE, event.getTimeStamp().getEndMin());
-
-            event = new Event(event.getId(), event.getName(), event.getCard(), new TimeStamp(start, end), event.getDays());
-        }
-        int idx = 0;
-        boolean idxFound = false;
-        for (Event e1 : eventList) {
-            if (Time.isConflictingEvent(event, e1))
-                return false;
-            else {
-                if (Time.isBefore(event.getTimeStamp().getStart(), e1.getTimeStamp().getStart())) {
-                    idxFound = true;
-                    break; // this prevents the search from incrementing idx past its correct spot
-                } else {
-                    idx++;
-                }
-            }
-        }
-
-        if (idxFound) {
-            eventList.add(idx, event);
-            eventTimeStamps.add(idx, event.getTimeStamp());
-        } else {
-            eventList.add(event);
-            eventTimeStamps.add(event.getTimeStamp());
+        fillEvents();
+        if (event.isRecurring()) event = getDatedCopy(event);
+        TimeStamp timeStamp = event.getTimeStamp();
+        if (!eventMinutes.isFree(timeStamp.getStartMinute(), timeStamp.getEndMinute())) return false;
+        // binary search for the first event starting after this one keeps the lists sorted
+        int lo = 0;
+        int hi = eventList.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (eventList.get(mid).getTimeStamp().getStartMinute() <= timeStamp.getStartMinute()) lo = mid + 1;
+            else hi = mid;
         }
+        eventList.add(lo, event);
+        eventMinutes.occupy(timeStamp.getStartMinute(), timeStamp.getEndMinute());
 
         // todo will need to add config option here that tallies event hours just the same as tasks (used with counting hours left in day)
 
         return true;
     }
 
+    /**
+     * Creates a copy of a recurring event dated to this Day, since recurring events can happen on any day
+     *
+     * @param event recurring event being copied
+     * @return copy of the event whose TimeStamp falls on this Day
+     */
+    private Event getDatedCopy(Event event) {
+        TimeStamp timeStamp = event.getTimeStamp();
+        timeStamp = new TimeStamp(epochDay, timeStamp.getStartMinute(), timeStamp.getEndMinute());
+        return new Event(event.getId(), event.getName(), event.getCard(), timeStamp, event.getDays().clone());
+    }
+
+    /**
+     * Copies the recurring events from the skeleton the Day started out with into its own event lists
+     */
+    private void fillEvents() {
+        if (skeleton == null) return;
+        // the skeleton is already sorted and its minutes are already taken, and no other events were added before it
+        for (int i = 0; i < skeleton.getNumEvents(); i++) {
+            eventList.add(getDatedCopy(skeleton.getEvent(i)));
+        }
+        skeleton = null;
+    }
+
+    private boolean hasEvents() {
+        return skeleton != null || !eventList.isEmpty();
+    }
+
     /**
      * Gets a particular Event from the Day's list
      *
@@ -312,6 +588,7 @@ public class Day {
      * @return specified Event
      */
     public Event getEvent(int eventIdx) {
+        fillEvents();
         return eventList.get(eventIdx);
     }
 
@@ -321,7 +598,7 @@ public class Day {
      * @return number of Events
      */
     public int getNumEvents() {
-        return eventList.size();
+        return eventList.size() + (skeleton != null ? skeleton.getNumEvents() : 0);
     }
 
     /**
@@ -352,12 +629,12 @@ public class Day {
     }
 
     /**
-     * Gets the SubTask list from Day
+     * Gets the SubTask list from Day as a read-only view, which builds each SubTask as it is read
      *
      * @return SubTask list
      */
     public List<SubTask> getSubTaskList() { // todo need to delete for refactoring purposes
-        return subTaskList;
+        return new SubTaskView();
     }
 
     /**
@@ -366,25 +643,27 @@ public class Day {
      * @return Event list
      */
     public List<Event> getEventList() {
+        fillEvents();
         return eventList;
     }
 
     /**
-     * Gets the SubTask timestamps
+     * Gets the SubTask timestamps as a read-only view, which builds each timestamp as it is read
      *
      * @return SubTask timestamps
      */
     public List<TimeStamp> getTaskTimeStamps() {
-        return taskTimeStamps;
+        return new TimeStampView();
     }
 
     /**
-     * Gets the Event timestamps
+     * Gets the Event timestamps as a read-only view of the timestamps of the Events
      *
      * @return Event timestamps
      */
     public List<TimeStamp> getEventTimeStamps() {
-        return eventTimeStamps;
+        fillEvents();
+        return new EventTimeStampView();
     }
 
     @Override
@@ -392,4 +671,50 @@ public class Day {
         SimpleDateFormat sdf = new SimpleDateFormat("MM-dd-yyyy");
         return "Day [" + sdf.format(this.date.getTime()) + "]";
     }
+
+    /**
+     * Read-only view of the SubTasks of the Day
+     */
+    private class SubTaskView extends AbstractList<SubTask> implements RandomAccess {
+        @Override
+        public SubTask get(int index) {
+            return getSubTask(index);
+        }
+
+        @Override
+        public int size() {
+            return numSubTasks;
+        }
+    }
+
+    /**
+     * Read-only view of the time stamps of the SubTasks of the Day that have one
+     */
+    private class TimeStampView extends AbstractList<TimeStamp> implements RandomAccess {
+        @Override
+        public TimeStamp get(int index) {
+            Objects.checkIndex(index, numTimed);
+            return getTimeStamp(getTimedIndex(index));
+        }
+
+        @Override
+        public int size() {
+            return numTimed;
+        }
+    }
+
+    /**
+     * Read-only view of the time stamps of the Events of the Day
+     */
+    private class EventTimeStampView extends AbstractList<TimeStamp> implements RandomAccess {
+        @Override
+        public TimeStamp get(int index) {
+            return eventList.get(index).getTimeStamp();
+        }
+
+        @Override
+        public int size() {
+            return eventList.size();
+        }
+    }
 }
\ No newline at end of file
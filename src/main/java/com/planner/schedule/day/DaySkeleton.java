@@ -0,0 +1,87 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+import com.planner.util.Time;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of the recurring {@link Event} for one day of the week, worked out once and shared by every {@link Day}
+ * falling on that day of the week. A Day starts out from a copy of the occupied minutes of its skeleton, and its own
+ * copies of the events are only created if they are asked for.
+ * <p>
+ * Skeletons are immutable, so they can be shared between builds and threads. They need to be created again whenever
+ * the recurring events for their day of the week change.
+ *
+ * @author Andrew Roe
+ */
+public class DaySkeleton {
+
+    /** Skeleton for a day of the week without any recurring events */
+    public static final DaySkeleton EMPTY = new DaySkeleton(List.of());
+    /** Recurring events that fit the day, sorted by start time */
+    private final Event[] events;
+    /** Minutes taken up by the events */
+    private final Occupancy occupancy;
+
+    /**
+     * Constructs a new {@code DaySkeleton}. Events are taken in the given order, and one that conflicts with an event
+     * already taken is left out, just as {@link Day#addEvent(Event)} does.
+     *
+     * @param recurringEvents recurring events that occur on the day of the week
+     */
+    public DaySkeleton(List<Event> recurringEvents) {
+        occupancy = new Occupancy();
+        List<Event> fitted = new ArrayList<>(recurringEvents.size());
+        for (Event event : recurringEvents) {
+            Time.TimeStamp timeStamp = event.getTimeStamp();
+            if (!occupancy.isFree(timeStamp.getStartMinute(), timeStamp.getEndMinute())) continue;
+            // insertion keeps the events sorted by start time, with later events after earlier ones at the same start
+            int idx = fitted.size();
+            while (idx > 0 && fitted.get(idx - 1).getTimeStamp().getStartMinute() > timeStamp.getStartMinute()) idx--;
+            fitted.add(idx, event);
+            occupancy.occupy(timeStamp.getStartMinute(), timeStamp.getEndMinute());
+        }
+        events = fitted.toArray(new Event[0]);
+    }
+
+    /**
+     * Gets the number of recurring events that fit the day
+     *
+     * @return number of events
+     */
+    public int getNumEvents() {
+        return events.length;
+    }
+
+    /**
+     * Gets a recurring event of the day
+     *
+     * @param idx index of the event in order of start time
+     * @return recurring event as it was added, not dated to any Day
+     */
+    public Event getEvent(int idx) {
+        return events[idx];
+    }
+
+    /**
+     * Creates a copy of the minutes taken up by the events, for a Day to add its own events to
+     *
+     * @return new Occupancy
+     */
+    public Occupancy copyOccupancy() {
+        return new Occupancy(occupancy);
+    }
+
+    /**
+     * Counts the minutes in [startMinute, endMinute) that are not taken up by the events
+     *
+     * @param startMinute first minute counted
+     * @param endMinute minute after the last one counted
+     * @return number of free minutes in the range
+     */
+    public int countFree(int startMinute, int endMinute) {
+        return Math.max(endMinute - startMinute, 0) - occupancy.countOccupied(startMinute, endMinute);
+    }
+}
@@ -0,0 +1,122 @@
+package com.planner.schedule.day;
+
+import com.planner.util.Time;
+
+/**
+ * Bitmap of the minutes of a {@link Day} that are taken up by {@link com.planner.models.Event}. Each minute of the
+ * day is a single bit, so conflict checks and searches for the next free or occupied minute only scan a
+ * handful of words no matter how many events the Day holds.
+ *
+ * @author Andrew Roe
+ */
+public class Occupancy {
+
+    /** Number of words needed to hold one bit per minute of the day */
+    private static final int WORDS = (Time.MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    /** Bits for every minute of the day, set when the minute is occupied */
+    private final long[] minutes;
+
+    /**
+     * Constructs an empty {@code Occupancy} where every minute is free
+     */
+    public Occupancy() {
+        minutes = new long[WORDS];
+    }
+
+    /**
+     * Constructs a copy of an {@code Occupancy}
+     *
+     * @param other Occupancy being copied
+     */
+    public Occupancy(Occupancy other) {
+        minutes = other.minutes.clone();
+    }
+
+    /**
+     * Marks the minutes in [startMinute, endMinute) as occupied. Minutes outside the day are ignored
+     *
+     * @param startMinute first minute occupied
+     * @param endMinute minute after the last one occupied
+     */
+    public void occupy(int startMinute, int endMinute) {
+        int lo = Math.max(startMinute, 0);
+        int hi = Math.min(endMinute, Time.MINUTES_PER_DAY);
+        while (lo < hi) {
+            int word = lo >>> 6;
+            int wordEnd = Math.min(hi, (word + 1) << 6);
+            int numBits = wordEnd - (word << 6);
+            minutes[word] |= (-1L << lo) & (-1L >>> (Long.SIZE - numBits));
+            lo = wordEnd;
+        }
+    }
+
+    /**
+     * Determines whether every minute in [startMinute, endMinute) is free
+     *
+     * @param startMinute first minute checked
+     * @param endMinute minute after the last one checked
+     * @return boolean status for whether the range is free
+     */
+    public boolean isFree(int startMinute, int endMinute) {
+        if (startMinute >= endMinute) return true;
+        int next = nextOccupied(startMinute);
+        return next == -1 || next >= endMinute;
+    }
+
+    /**
+     * Counts the occupied minutes in [startMinute, endMinute). Minutes outside the day are never occupied
+     *
+     * @param startMinute first minute counted
+     * @param endMinute minute after the last one counted
+     * @return number of occupied minutes in the range
+     */
+    public int countOccupied(int startMinute, int endMinute) {
+        int lo = Math.max(startMinute, 0);
+        int hi = Math.min(endMinute, Time.MINUTES_PER_DAY);
+        int count = 0;
+        while (lo < hi) {
+            int word = lo >>> 6;
+            int wordEnd = Math.min(hi, (word + 1) << 6);
+            int numBits = wordEnd - (word << 6);
+            count += Long.bitCount(minutes[word] & (-1L << lo) & (-1L >>> (Long.SIZE - numBits)));
+            lo = wordEnd;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first occupied minute at or after the given minute
+     *
+     * @param fromMinute minute to start searching from
+     * @return first occupied minute, or -1 if the rest of the day is free
+     */
+    public int nextOccupied(int fromMinute) {
+        int from = Math.max(fromMinute, 0);
+        if (from >= Time.MINUTES_PER_DAY) return -1;
+        int word = from >>> 6;
+        long bits = minutes[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == WORDS) return -1;
+            bits = minutes[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Finds the first free minute at or after the given minute. Minutes past the end of the day are always free
+     *
+     * @param fromMinute minute to start searching from
+     * @return first free minute
+     */
+    public int nextFree(int fromMinute) {
+        int from = Math.max(fromMinute, 0);
+        if (from >= Time.MINUTES_PER_DAY) return from;
+        int word = from >>> 6;
+        long bits = ~minutes[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == WORDS) return Time.MINUTES_PER_DAY;
+            bits = ~minutes[word];
+        }
+        return Math.min((word << 6) + Long.numberOfTrailingZeros(bits), Time.MINUTES_PER_DAY);
+    }
+}
@@ -3,18 +3,26 @@ package com.planner.ui;
 import com.planner.manager.ScheduleManager;
 import com.planner.models.Card;
 import com.planner.models.Event;
+import com.planner.models.Task;
+import com.planner.schedule.StrategyResult;
+import com.planner.schedule.day.Day;
+import com.planner.ui.tables.TableFormatter;
 import com.planner.util.Parser;
 import com.planner.util.Time;
 
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 public class CLI {
     // this will hold the ScheduleManager instance
     private ScheduleManager sm;
+    // manager put aside by 'fork' while changes are tried out on its copy
+    private ScheduleManager original;
 
     public CLI() {
         sm = new ScheduleManager();
@@ -77,7 +85,7 @@ public class CLI {
             case "task":
                 if (tokens.length > 1) {
                     Parser.TaskInfo ti = Parser.parseTask(tokens);
-                    sm.addTask(ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId());
+                    sm.addTask(ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId(), ti.getPriority());
                 } else {
                     System.out.println(sm.buildTaskStr());
                 }
@@ -141,7 +149,7 @@ public class CLI {
                         break;
                     case "task":
                         Parser.TaskInfo ti = Parser.parseModTask(tokens);
-                        sm.modTask(ti.getTaskId(), ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId());
+                        sm.modTask(ti.getTaskId(), ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId(), ti.getPriority());
                         break;
                     case "event":
                         Parser.EventInfo eventInfo = Parser.parseModEvent(tokens);
@@ -151,8 +159,7 @@ public class CLI {
                         List<Calendar> dates = eventInfo.getDates();
 
                         if (eventInfo.getTimestamp() != null) {
-                            timeStamp = new Time.TimeStamp(eventInfo.getTimestamp()[0], eventInfo.getTimestamp()[1]);
-
+                            // dates are applied before the TimeStamp is created since it reads the Calendars once
                             if (dates != null && dates.size() == 1) {
                                 Calendar start = eventInfo.getTimestamp()[0];
                                 Calendar end = eventInfo.getTimestamp()[1];
@@ -166,6 +173,7 @@ public class CLI {
                                 end.set(Calendar.YEAR, dates.get(0).get(Calendar.YEAR));
                             }
 
+                            timeStamp = new Time.TimeStamp(eventInfo.getTimestamp()[0], eventInfo.getTimestamp()[1]);
                         }
 
                         sm.modEvent(eventInfo.getId(), eventInfo.getName(), eventInfo.getCardId(), timeStamp, eventInfo.getDates());
@@ -267,24 +275,141 @@ public class CLI {
                 if (tokens.length == 1) {
                     // check the number of active tasks
                     if (sm.getNumActiveTasks() > 0) {
+                        printInfeasibleTasks(sm.getInfeasibleTasks());
                         sm.buildSchedule();
                         System.out.println("Schedule built...");
                     } else {
                         System.out.println("No active Tasks to schedule");
                     }
+                } else if (tokens.length == 2 && "check".equalsIgnoreCase(tokens[1])) {
+                    List<Task> infeasible = sm.getInfeasibleTasks();
+                    if (infeasible.isEmpty()) {
+                        System.out.println("All Tasks fit by their due dates...");
+                    } else {
+                        printInfeasibleTasks(infeasible);
+                    }
+                } else if (tokens.length == 2 && "best".equalsIgnoreCase(tokens[1])) {
+                    if (sm.getNumActiveTasks() > 0) {
+                        List<StrategyResult> results = sm.buildBestSchedule();
+                        System.out.println(TableFormatter.formatStrategyTable(results, sm.getStrategy()));
+                        System.out.println("Schedule built with '" + sm.getStrategy().getName() + "' strategy...");
+                    } else {
+                        System.out.println("No active Tasks to schedule");
+                    }
+                } else if (tokens.length <= 4 && "improve".equalsIgnoreCase(tokens[1])) {
+                    long budgetMillis = tokens.length > 2 ? parseImproveArg(tokens[2], "Time budget") : 200;
+                    int numThreads = tokens.length > 3 ? (int) parseImproveArg(tokens[3], "Number of threads")
+                            : Runtime.getRuntime().availableProcessors();
+                    if (numThreads < 1) throw new IllegalArgumentException("Number of threads must be positive");
+                    if (sm.getNumActiveTasks() > 0) {
+                        printInfeasibleTasks(sm.getInfeasibleTasks());
+                        sm.buildSchedule();
+                        if (sm.improveSchedule(numThreads, budgetMillis)) {
+                            System.out.println("Schedule built and improved...");
+                        } else {
+                            System.out.println("Schedule built, no better schedule found in " + budgetMillis + " ms...");
+                        }
+                    } else {
+                        System.out.println("No active Tasks to schedule");
+                    }
+                } else if (tokens.length == 3 && "rolling".equalsIgnoreCase(tokens[1])) {
+                    if ("on".equalsIgnoreCase(tokens[2])) {
+                        sm.setRolling(true);
+                        System.out.println("Schedule will roll forward each day...");
+                    } else if ("off".equalsIgnoreCase(tokens[2])) {
+                        sm.setRolling(false);
+                        System.out.println("Schedule will be built over each day...");
+                    } else {
+                        throw new IllegalArgumentException("'build rolling' only accepts 'on' or 'off' as an arg.");
+                    }
                 } else {
-                    throw new IllegalArgumentException("'build' has no args.");
+                    throw new IllegalArgumentException("'build' only accepts 'best', 'check', 'improve' or 'rolling' as an arg.");
                 }
                 break;
             case "sched":
-                if (tokens.length != 1) {
-                    throw new IllegalArgumentException("'sched' has no args.");
+                if (tokens.length > 3) {
+                    throw new IllegalArgumentException("'sched' can have only 2 or fewer args.");
+                } else if (tokens.length > 1 && !tokens[1].matches("-?\\d+")) {
+                    // Days are looked up by date, so only the ones in the range are formatted
+                    Calendar[] range = Parser.parseRange(tokens, 1);
+                    List<Day> days = sm.getDays(range[0], range[1]);
+                    if (days.isEmpty()) {
+                        System.out.println("No scheduled days in range...");
+                    } else {
+                        System.out.println(TableFormatter.formatScheduleTable(days, true));
+                    }
+                } else if (tokens.length == 3) {
+                    throw new IllegalArgumentException("'sched' only takes a number of days after a date.");
+                } else if (tokens.length == 2) {
+                    int numDays;
+                    try {
+                        numDays = Integer.parseInt(tokens[1]);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Number of days must be a number");
+                    }
+                    if (numDays <= 0) throw new IllegalArgumentException("Number of days must be positive");
+                    // each Day is printed as soon as it is planned, and the rest of the horizon is left for later
+                    System.out.print(TableFormatter.formatScheduleHeader());
+                    try (Stream<Day> days = sm.streamSchedule()) {
+                        days.limit(numDays).forEach(day -> System.out.println(TableFormatter.formatScheduleDay(day, true)));
+                    }
                 } else if (sm.scheduleIsEmpty()) {
                     System.out.println("Schedule is empty...");
                 } else {
                     System.out.println(sm.buildScheduleStr());
                 }
                 break;
+            case "hours":
+                Parser.HoursInfo hi = Parser.parseHours(tokens);
+                if (hi.getHours() != null || hi.isReset()) {
+                    sm.setCustomHours(hi.getDate(), hi.getHours());
+                    // a fork has its own settings, which are only saved once it is kept
+                    if (original == null) sm.saveUserConfigFile();
+                }
+                System.out.println("Hours for " + new SimpleDateFormat("dd-MM-yyyy").format(hi.getDate().getTime()) + ": "
+                        + sm.getUserConfig().getHoursOnDay(Time.toEpochDay(hi.getDate())));
+                break;
+            case "earliest":
+                if (tokens.length != 2) throw new IllegalArgumentException("'earliest' takes the number of hours as its only arg.");
+                double hours;
+                try {
+                    hours = Double.parseDouble(tokens[1]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Number of hours must be a number");
+                }
+                Calendar earliest = sm.getEarliestDueDate(hours);
+                if (earliest == null) {
+                    System.out.println("No date in the next " + sm.getUserConfig().getMaxDays() + " days fits a " + hours + " hour Task without overflow");
+                } else {
+                    System.out.println("A " + hours + " hour Task can be due as early as "
+                            + new SimpleDateFormat("dd-MM-yyyy").format(earliest.getTime()) + " without overflow");
+                }
+                break;
+            case "undo":
+            case "redo":
+                int numEdits = parseNumEdits(tokens);
+                boolean undo = "undo".equalsIgnoreCase(tokens[0]);
+                int done = 0;
+                while (done < numEdits && (undo ? sm.undo() : sm.redo())) done++;
+                System.out.println((undo ? "Undid " : "Redid ") + done + " edit(s). "
+                        + sm.getNumUndos() + " undo(s) and " + sm.getNumRedos() + " redo(s) left.");
+                break;
+            case "fork":
+                if (tokens.length == 1) {
+                    if (original != null) throw new IllegalArgumentException("Already working on a fork, use 'fork keep' or 'fork drop' first");
+                    original = sm;
+                    sm = sm.fork();
+                    System.out.println("Working on a fork. Use 'fork keep' to keep the changes or 'fork drop' to go back.");
+                } else if (tokens.length == 2 && ("keep".equalsIgnoreCase(tokens[1]) || "drop".equalsIgnoreCase(tokens[1]))) {
+                    if (original == null) throw new IllegalArgumentException("Not working on a fork");
+                    if ("drop".equalsIgnoreCase(tokens[1])) sm = original;
+                    else sm.saveUserConfigFile();
+                    original = null;
+                    System.out.println("keep".equalsIgnoreCase(tokens[1]) ? "Kept the fork." : "Dropped the fork.");
+                } else {
+                    throw new IllegalArgumentException("'fork' can have only 'keep', 'drop' or no args.");
+                }
+                break;
             case "report":
                 if (tokens.length == 1) {
                     System.out.println(sm.buildReportStr());
@@ -308,18 +433,23 @@ public class CLI {
                             "config\n" +
                             "delete\n" +
                             "doc\n" +
+                            "earliest\n" +
                             "excel\n" +
+                            "fork\n" +
                             "google\n" +
+                            "hours\n" +
                             "log\n" +
                             "ls\n" +
                             "mod\n" +
                             "quit\n" +
                             "read\n" +
+                            "redo\n" +
                             "report\n" +
                             "save\n" +
                             "sched\n" +
                             "subtask\n" +
                             "task\n" +
+                            "undo\n" +
                             "event");
                 }
                 break;
@@ -348,6 +478,19 @@ public class CLI {
                         case "sched":
                             System.out.println("\n" + Doc.getSchedDoc() + "\n");
                             break;
+                        case "hours":
+                            System.out.println("\n" + Doc.getHoursDoc() + "\n");
+                            break;
+                        case "earliest":
+                            System.out.println("\n" + Doc.getEarliestDoc() + "\n");
+                            break;
+                        case "undo":
+                        case "redo":
+                            System.out.println("\n" + Doc.getUndoDoc() + "\n");
+                            break;
+                        case "fork":
+                            System.out.println("\n" + Doc.getForkDoc() + "\n");
+                            break;
                         case "config":
                             System.out.println("\n" + Doc.getConfigDoc() + "\n");
                             break;
@@ -404,4 +547,38 @@ public class CLI {
                 throw new IllegalArgumentException("Unknown command entered.");
         }
     }
+
+    private static int parseNumEdits(String[] tokens) {
+        if (tokens.length > 2) throw new IllegalArgumentException("'" + tokens[0] + "' can have only 1 or no args.");
+        if (tokens.length == 1) return 1;
+        int numEdits;
+        try {
+            numEdits = Integer.parseInt(tokens[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Number of edits must be a number");
+        }
+        if (numEdits <= 0) throw new IllegalArgumentException("Number of edits must be positive");
+        return numEdits;
+    }
+
+    private static long parseImproveArg(String token, String name) {
+        long value;
+        try {
+            value = Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        if (value <= 0 || value > Integer.MAX_VALUE) throw new IllegalArgumentException(name + " must be positive");
+        return value;
+    }
+
+    private static void printInfeasibleTasks(List<Task> infeasible) {
+        if (infeasible.isEmpty()) return;
+        StringBuilder sb = new StringBuilder("Warning: these Tasks cannot be finished by their due dates:");
+        for (Task task : infeasible) {
+            sb.append("\n  ").append(task.getId()).append(" ").append(task.getName()).append(" (due ")
+                    .append(task.getDateStamp()).append(")");
+        }
+        System.out.println(sb);
+    }
 }
@@ -10,10 +10,15 @@ public class Doc {
                 "  - card      Create a new Card or display all Card data\n" +
                 "  - event     Create a new Event or display all Event data\n" +
                 "  - mod       Modify a scheduling item\n" +
-                "  - delete    Delete a scheduling item\n\n" +
+                "  - delete    Delete a scheduling item\n" +
+                "  - undo      Undo the latest edits\n" +
+                "  - redo      Redo the latest undone edits\n" +
+                "  - fork      Try out changes on a copy of the planner\n\n" +
                 "Scheduling Operations:\n" +
                 "  - build     Builds a fresh schedule\n" +
                 "  - sched     Display user schedule\n" +
+                "  - hours     View or change the hours for a date\n" +
+                "  - earliest  Find the earliest due date that fits a new Task\n" +
                 "  - subtask   Displays all scheduled SubTasks\n" +
                 "  - report    Produce a report of all schedule data\n\n" +
                 "File Management:\n" +
@@ -38,7 +43,7 @@ public class Doc {
         return "Creates a new Task to be stored by the system or displays all previously created Task data if no arguments are provided. Tasks are assignments that can be broken up over a series of days until their deadline.\n\n" +
                 "Usage:\n" +
                 "  task\n" +
-                "  task <name> <hours> [cardId] @ <date>\n\n" +
+                "  task <name> <hours> [cardId] [!priority] @ <date>\n\n" +
                 "Notes:\n" +
                 "  - Use '@' to signal the start of a time expression. It must be on its own, followed by the date.\n\n" +
                 "Required:\n" +
@@ -46,10 +51,12 @@ public class Doc {
                 "  - hours   Number of hours for a given Task (decimal is allowed, but only 0.5).\n" +
                 "  - date    Due date so the scheduling platform can assign it appropriate days.\n\n" +
                 "Optional:\n" +
-                "  - cardId  Id referencing a Card for its tag and color. Must prefix with '+C'.\n\n" +
+                "  - cardId  Id referencing a Card for its tag and color. Must prefix with '+C'.\n" +
+                "  - priority  Priority from 0 (default) to 9, followed when priority scheduling is enabled. Must prefix with '!'.\n\n" +
                 "Examples:\n" +
                 "  task\n" +
                 "  task \"finish hw3\" 3.5 @ eow\n" +
+                "  task \"tax return\" 4 !9 @ 15-04-2025\n" +
                 "  task +C2 @ 01-11-2024 6.0 \"prep for exam\"";
     }
 
@@ -98,19 +105,97 @@ public class Doc {
     }
 
     public static String getBuildDoc() {
-        return "Builds a fresh schedule that is ready to be displayed, exported, or saved via serialization.\n\n" +
+        return "Builds a fresh schedule that is ready to be displayed, exported, or saved via serialization. With 'best', several scheduling strategies are tried at once and the one with the fewest errors and overflow is kept. " +
+                "Tasks that cannot be finished by their due dates are listed before building, and 'check' lists them without building. " +
+                "With 'improve', the schedule is then improved by moving hours between days to cut overflow, split Tasks, and busy days, for as long as the time budget allows. " +
+                "With 'rolling on', the first build of a new day drops the days that have passed, counting their hours as worked, and keeps the plan for the rest.\n\n" +
                 "Usage:\n" +
-                "  build\n\n" +
+                "  build\n" +
+                "  build best\n" +
+                "  build check\n" +
+                "  build improve [millis] [threads]\n" +
+                "  build rolling <on|off>\n\n" +
+                "Optional:\n" +
+                "  - millis      Time budget for improving in milliseconds (200 by default)\n" +
+                "  - threads     Number of threads searching at once (one per processor by default)\n\n" +
                 "Examples:\n" +
-                "  build";
+                "  build\n" +
+                "  build best\n" +
+                "  build check\n" +
+                "  build improve\n" +
+                "  build improve 500 4\n" +
+                "  build rolling on";
     }
 
     public static String getSchedDoc() {
-        return "Displays a schedule chart of all scheduled SubTasks and Events throughout the upcoming weeks.\n\n" +
+        return "Displays a schedule chart of all scheduled SubTasks and Events throughout the upcoming weeks.\n" +
+                "Given a number of days, plans and displays only that many days, printing each one as soon as it is ready. " +
+                "Given a date, displays only the built schedule for that date, or for the number of days starting from it.\n\n" +
+                "Usage:\n" +
+                "  sched [days]\n" +
+                "  sched <date> [days]\n\n" +
+                "Examples:\n" +
+                "  sched\n" +
+                "  sched 7\n" +
+                "  sched tmrw\n" +
+                "  sched mon 7";
+    }
+
+    public static String getHoursDoc() {
+        return "Displays or changes the number of hours available on a single date, such as a holiday, a half day, or a crunch day. " +
+                "Custom hours take the place of the hours for that day of the week and are kept in the user settings.\n\n" +
+                "Usage:\n" +
+                "  hours <date>\n" +
+                "  hours <date> <hours>\n" +
+                "  hours <date> reset\n\n" +
+                "Required:\n" +
+                "  - date    Date being viewed or changed\n\n" +
+                "Optional:\n" +
+                "  - hours   Number of hours for the date (0-24), or 'reset' to go back to the hours for its day of the week\n\n" +
+                "Examples:\n" +
+                "  hours fri\n" +
+                "  hours 25-12-2024 0\n" +
+                "  hours tmrw reset";
+    }
+
+    public static String getEarliestDoc() {
+        return "Finds the earliest date a new Task of the given length could be due without any Task overflowing that does not already. " +
+                "The Tasks and Events are checked against the hours of each day in the horizon, without building the schedule or adding the Task.\n\n" +
                 "Usage:\n" +
-                "  sched\n\n" +
+                "  earliest <hours>\n\n" +
+                "Required:\n" +
+                "  - hours   Number of hours for the new Task\n\n" +
+                "Examples:\n" +
+                "  earliest 12\n" +
+                "  earliest 2.5";
+    }
+
+    public static String getUndoDoc() {
+        return "Undoes or redoes edits to Tasks, Cards and Events made with 'task', 'card', 'event', 'mod' and 'delete'. " +
+                "A new edit clears the edits that can be redone. The schedule is planned again on the next 'build'.\n\n" +
+                "Usage:\n" +
+                "  undo [edits]\n" +
+                "  redo [edits]\n\n" +
+                "Optional:\n" +
+                "  - edits   Number of edits to undo or redo (default is 1)\n\n" +
+                "Examples:\n" +
+                "  undo\n" +
+                "  redo 3";
+    }
+
+    public static String getForkDoc() {
+        return "Sets the planner aside and works on a copy of it, so changes such as a new Task can be tried out and built " +
+                "without affecting the original. The copy keeps the undo and redo history of the original.\n\n" +
+                "Usage:\n" +
+                "  fork\n" +
+                "  fork keep\n" +
+                "  fork drop\n\n" +
+                "Optional:\n" +
+                "  - keep    Keep the copy along with its changes\n" +
+                "  - drop    Throw away the copy and go back to the original\n\n" +
                 "Examples:\n" +
-                "  sched";
+                "  fork\n" +
+                "  fork drop";
     }
 
     public static String getConfigDoc() {
@@ -262,6 +347,7 @@ public class Doc {
                 "  - For 'event', the user cannot modify whether it is recurring (no 'true' or 'false' allowed).\n\n" +
                 "Examples:\n" +
                 "  mod task 1 \"new name\" 5.0 @ 05-09-2024\n" +
+                "  mod task 1 !5\n" +
                 "  mod card 2 \"Business\" BLUE\n" +
                 "  mod event 3 @ 9-11 \"Meeting\"";
     }
@@ -4,7 +4,10 @@ import com.planner.models.Card;
 import com.planner.models.Event;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
+import com.planner.schedule.ScheduleStrategy;
+import com.planner.schedule.StrategyResult;
 import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
 import com.planner.util.Time;
 
 import java.io.File;
@@ -90,99 +93,118 @@ public class TableFormatter {
     /**
      * Creates a schedule table consisting of {@link Day}, providing options for both dotted and pretty formats
      *
-     * @param schedule list of scheduled days
+     * @param schedule scheduled days in order, which may be planned lazily as they are read
      * @return dotted schedule table
      */
-    public static String formatScheduleTable(List<Day> schedule, boolean useColor) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("SCHEDULE:\n");
-        sb.append("ID     |NAME                |TAG            |HOURS     |TIME                |DUE         |\n");
-        sb.append("------------------------------------------------------------------------------------------\n");
-
-        SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy");
+    public static String formatScheduleTable(Iterable<Day> schedule, boolean useColor) {
+        StringBuilder sb = new StringBuilder(formatScheduleHeader());
         boolean flag = false;
         for (Day day : schedule) {
             if (flag) {
                 sb.append("\n");
             } else flag = true;
+            sb.append(formatScheduleDay(day, useColor));
+        }
 
-            String date = sdf.format(day.getDate().getTime());
-            // print out day here
-            sb.append(date).append("\n");
+        sb.append("\n");
 
-            int taskIdx = 0;
-            int eventIdx = 0;
-            while (taskIdx < day.getNumSubTasks() || eventIdx < day.getNumEvents()) {
-                Card.Color color = null;
-                int id = 0;
-                String name = "";
-                String tag = "       -       ";
-                double hours = 0;
-                String timeStamp = "";
-                String due = "     -    ";
-                if (taskIdx >= day.getNumSubTasks() || eventIdx < day.getNumEvents() &&
-                        Time.isAfter(day.getSubTaskList().get(taskIdx).getTimeStamp().getStart(),
-                                day.getEventList().get(eventIdx).getTimeStamp().getStart())) {
-                    Event event = day.getEvent(eventIdx);
-
-                    color = event.getCard() != null ? event.getCard().getColor() : null;
-                    id = event.getId();
-                    name = event.getName();
-                    hours = Time.getTimeInterval(event.getTimeStamp().getStart(), event.getTimeStamp().getEnd());
-                    timeStamp = event.getTimeStamp().toString();
-                    eventIdx++;
-                } else {
-                    // handle Task data
-                    Task.SubTask subTask = day.getSubTask(taskIdx);
-                    Task task = subTask.getParentTask();
-
-                    color = task.getColor();
-                    id = task.getId();
-                    name = task.getName();
-                    tag = task.getTag() != null ? task.getTag() : tag;
-                    hours = subTask.getSubTaskHours();
-                    timeStamp = subTask.getTimeStamp().toString();
-                    due = task.getDateStamp();
-                    taskIdx++;
-                }
-
-                if (useColor && color != null) {
-                    sb.append(getColorANSICode(color));
-                }
-
-                sb.append(id)
-                        .append(" ".repeat(7 - String.valueOf(id).length()))
-                        .append("|");
+        return sb.toString();
+    }
 
-                if (name.length() > 20) {
-                    sb.append(name, 0, 20).append("|");
-                } else {
-                    sb.append(name)
-                            .append(" ".repeat(20 - name.length()))
-                            .append("|");
-                }
-                sb.append(tag)
-                        .append(" ".repeat(15 - tag.length()))
-                        .append("|");
-                sb.append(hours)
-                        .append(" ".repeat(10 - String.valueOf(hours).length()))
-                        .append("|");
-                sb.append(timeStamp)
-                        .append("     |");
-                sb.append(due)
-                        .append("  |\n");
-                if (useColor) {
-                    sb.append("\u001B[0m");
-                }
+    /**
+     * Creates the heading of a schedule table, so that Days can be written below it as they are planned
+     *
+     * @return heading of the dotted schedule table
+     */
+    public static String formatScheduleHeader() {
+        return "SCHEDULE:\n" +
+                "ID     |NAME                |TAG            |HOURS     |TIME                |DUE         |\n" +
+                "------------------------------------------------------------------------------------------\n";
+    }
+
+    /**
+     * Creates the rows of a schedule table for a single {@link Day}
+     *
+     * @param day Day being formatted
+     * @param useColor whether to color rows by their Card
+     * @return date of the Day followed by a row for each SubTask and Event in time order
+     */
+    public static String formatScheduleDay(Day day, boolean useColor) {
+        StringBuilder sb = new StringBuilder();
+        SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy");
+        String date = sdf.format(day.getDate().getTime());
+        // print out day here
+        sb.append(date).append("\n");
+
+        int taskIdx = 0;
+        int eventIdx = 0;
+        while (taskIdx < day.getNumSubTasks() || eventIdx < day.getNumEvents()) {
+            Card.Color color = null;
+            int id = 0;
+            String name = "";
+            String tag = "       -       ";
+            double hours = 0;
+            String timeStamp = "";
+            String due = "     -    ";
+            if (taskIdx >= day.getNumSubTasks() || eventIdx < day.getNumEvents() &&
+                    Time.isAfter(day.getSubTaskList().get(taskIdx).getTimeStamp().getStart(),
+                            day.getEventList().get(eventIdx).getTimeStamp().getStart())) {
+                Event event = day.getEvent(eventIdx);
+
+                color = event.getCard() != null ? event.getCard().getColor() : null;
+                id = event.getId();
+                name = event.getName();
+                hours = Time.getTimeInterval(event.getTimeStamp().getStart(), event.getTimeStamp().getEnd());
+                timeStamp = event.getTimeStamp().toString();
+                eventIdx++;
+            } else {
+                // handle Task data
+                Task.SubTask subTask = day.getSubTask(taskIdx);
+                Task task = subTask.getParentTask();
+
+                color = task.getColor();
+                id = task.getId();
+                name = task.getName();
+                tag = task.getTag() != null ? task.getTag() : tag;
+                hours = subTask.getSubTaskHours();
+                timeStamp = subTask.getTimeStamp().toString();
+                due = task.getDateStamp();
+                taskIdx++;
             }
-        }
 
-        sb.append("\n");
+            if (useColor && color != null) {
+                sb.append(getColorANSICode(color));
+            }
 
+            sb.append(id)
+                    .append(" ".repeat(7 - String.valueOf(id).length()))
+                    .append("|");
+
+            if (name.length() > 20) {
+                sb.append(name, 0, 20).append("|");
+            } else {
+                sb.append(name)
+                        .append(" ".repeat(20 - name.length()))
+                        .append("|");
+            }
+            sb.append(tag)
+                    .append(" ".repeat(15 - tag.length()))
+                    .append("|");
+            sb.append(hours)
+                    .append(" ".repeat(10 - String.valueOf(hours).length()))
+                    .append("|");
+            sb.append(timeStamp)
+                    .append("     |");
+            sb.append(due)
+                    .append("  |\n");
+            if (useColor) {
+                sb.append("\u001B[0m");
+            }
+        }
         return sb.toString();
     }
 
-    public static String formatTaskTable(PriorityQueue<Task> currTasks, PriorityQueue<Task> archiveTasks, boolean useColor) {
+    public static String formatTaskTable(TaskQueue currTasks, TaskQueue archiveTasks, boolean useColor) {
         StringBuilder sb = new StringBuilder();
         sb.append("TASKS:\n");
         sb.append("ID     |NAME                |TAG            |HOURS     |DUE         |ARCHIVED |\n");
@@ -242,6 +264,42 @@ public class TableFormatter {
         return sb.toString();
     }
 
+    public static String formatStrategyTable(List<StrategyResult> results, ScheduleStrategy chosen) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("STRATEGIES:\n");
+        sb.append("NAME                |ERRORS |OVERFLOW  |TIME (ms) |CHOSEN |\n");
+        sb.append("-----------------------------------------------------------\n");
+
+        for (StrategyResult result : results) {
+            String name = result.getStrategy().getName();
+            String errors = String.valueOf(result.getErrorCount());
+            String overflow = String.valueOf(result.getOverflowHours());
+            String time = String.format("%.3f", result.getElapsedMillis());
+
+            if (name.length() > 20) {
+                sb.append(name, 0, 20).append("|");
+            } else {
+                sb.append(name)
+                        .append(" ".repeat(20 - name.length()))
+                        .append("|");
+            }
+            sb.append(errors)
+                    .append(" ".repeat(Math.max(7 - errors.length(), 0)))
+                    .append("|");
+            sb.append(overflow)
+                    .append(" ".repeat(Math.max(10 - overflow.length(), 0)))
+                    .append("|");
+            sb.append(time)
+                    .append(" ".repeat(Math.max(10 - time.length(), 0)))
+                    .append("|");
+            sb.append(result.getStrategy() == chosen ? "TRUE   |\n" : "FALSE  |\n");
+        }
+
+        sb.append("\n");
+
+        return sb.toString();
+    }
+
     public static String formatCardTable(List<Card> cards, boolean useColor) {
         StringBuilder sb = new StringBuilder();
         sb.append("CARDS:\n");
@@ -0,0 +1,184 @@
+package com.planner.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map from primitive {@code int} keys to non-null values. Entries are kept in flat arrays using open addressing
+ * with linear probing, so lookups never box the key or follow a chain of nodes.
+ *
+ * @param <V> type of the values held
+ * @author Andrew Roe
+ */
+public class IntMap<V> implements Iterable<V> {
+
+    /** Smallest number of slots a map starts out with */
+    private static final int MIN_CAPACITY = 8;
+    /** Keys for each slot */
+    private int[] keys;
+    /** Values for each slot, null when the slot is empty */
+    private Object[] values;
+    /** Number of entries in the map */
+    private int size;
+
+    /**
+     * Constructs an empty {@code IntMap}
+     */
+    public IntMap() {
+        keys = new int[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+    }
+
+    /**
+     * Gets the value for a key
+     *
+     * @param key key being looked up
+     * @return value for the key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return (V) values[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Determines whether the map holds a value for a key
+     *
+     * @param key key being looked up
+     * @return boolean value for whether the key is present
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value
+     *
+     * @param key key for the value
+     * @param value value being stored
+     * @return previous value for the key, or null if there was none
+     * @throws IllegalArgumentException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) throw new IllegalArgumentException("IntMap cannot hold null values");
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V prev = (V) values[slot];
+                values[slot] = value;
+                return prev;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // keeps the table at most half full so probe sequences stay short
+        if (++size * 2 > keys.length) resize(keys.length * 2);
+        return null;
+    }
+
+    /**
+     * Removes the value for a key
+     *
+     * @param key key being removed
+     * @return value that was removed, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) return null;
+        V prev = (V) values[slot];
+        // shifts later entries of the probe sequence back so no tombstones are needed
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return prev;
+    }
+
+    /**
+     * Gets the number of entries in the map
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether the map is empty
+     *
+     * @return boolean value for whether the map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Iterates over the values of the map in no particular order. The map must not be modified during iteration
+     *
+     * @return Iterator over the values
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+            private int slot = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                V value = (V) values[slot];
+                slot = advance(slot + 1);
+                return value;
+            }
+        };
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(int key) {
+        // ids are sequential, so the bits are spread out before masking
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
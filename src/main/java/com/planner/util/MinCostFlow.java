@@ -0,0 +1,233 @@
+package com.planner.util;
+
+import java.util.Arrays;
+
+/**
+ * Flow network that finds a maximum flow of minimum cost between two nodes. Edges are given a capacity and a cost per
+ * unit of flow, and the network is solved with successive shortest paths: each round finds the cost of the cheapest
+ * path left from the source to the sink, then sends as much flow as possible down every path of that cost. Costs are
+ * found with Dijkstra's algorithm over costs reduced by node potentials, which keeps every residual edge non-negative,
+ * so a round takes O(E log V) time plus the search for paths, and there is one round per distinct path cost rather
+ * than one per path.
+ * <p>
+ * Costs given to edges must not be negative. Nodes are numbered from 0.
+ *
+ * @author Andrew Roe
+ */
+public class MinCostFlow {
+
+    /** Capacity for edges that are not limited */
+    public static final long INFINITE = Long.MAX_VALUE / 4;
+    /** Number of nodes in the network */
+    private final int numNodes;
+    /** First edge leaving each node, or -1 if there is none */
+    private final int[] head;
+    /** Node each edge points to */
+    private int[] to;
+    /** Next edge leaving the same node, or -1 if there is none */
+    private int[] next;
+    /** Capacity left on each edge */
+    private long[] capacity;
+    /** Cost per unit of flow on each edge */
+    private long[] cost;
+    /** Number of edges, counting the reverse edge added for each one */
+    private int numEdges;
+
+    /**
+     * Constructs a new {@code MinCostFlow} without any edges
+     *
+     * @param numNodes number of nodes in the network
+     */
+    public MinCostFlow(int numNodes) {
+        if (numNodes < 2) throw new IllegalArgumentException("MinCostFlow needs at least 2 nodes");
+        this.numNodes = numNodes;
+        head = new int[numNodes];
+        Arrays.fill(head, -1);
+        to = new int[16];
+        next = new int[16];
+        capacity = new long[16];
+        cost = new long[16];
+    }
+
+    /**
+     * Adds an edge to the network
+     *
+     * @param from node the edge leaves
+     * @param to node the edge points to
+     * @param capacity most units of flow the edge can carry
+     * @param cost cost per unit of flow
+     * @return ID of the edge, used to get the flow through it once solved
+     * @throws IllegalArgumentException if a node is out of range, or the capacity or cost is negative
+     */
+    public int addEdge(int from, int to, long capacity, long cost) {
+        if (from < 0 || from >= numNodes || to < 0 || to >= numNodes) {
+            throw new IllegalArgumentException("Edge must be between nodes 0 and " + (numNodes - 1));
+        }
+        if (capacity < 0 || cost < 0) throw new IllegalArgumentException("Edge capacity and cost cannot be negative");
+        if (numEdges + 2 > this.to.length) {
+            int length = this.to.length * 2;
+            this.to = Arrays.copyOf(this.to, length);
+            next = Arrays.copyOf(next, length);
+            this.capacity = Arrays.copyOf(this.capacity, length);
+            this.cost = Arrays.copyOf(this.cost, length);
+        }
+        int edge = numEdges;
+        link(edge, from, to, capacity, cost);
+        // the reverse edge has no capacity until flow is sent, and sending flow back refunds the cost
+        link(edge + 1, to, from, 0, -cost);
+        numEdges += 2;
+        return edge;
+    }
+
+    private void link(int edge, int from, int to, long capacity, long cost) {
+        this.to[edge] = to;
+        this.capacity[edge] = capacity;
+        this.cost[edge] = cost;
+        next[edge] = head[from];
+        head[from] = edge;
+    }
+
+    /**
+     * Gets the flow sent through an edge by {@link #solve(int, int)}
+     *
+     * @param edge ID of the edge
+     * @return units of flow through the edge
+     */
+    public long getFlow(int edge) {
+        // the reverse edge gains capacity for each unit sent
+        return capacity[edge ^ 1];
+    }
+
+    /**
+     * Sends as much flow as possible from the source to the sink at the lowest total cost
+     *
+     * @param source node the flow starts from
+     * @param sink node the flow ends at
+     * @return two values, the units of flow sent and their total cost
+     */
+    public long[] solve(int source, int sink) {
+        long[] potential = new long[numNodes];
+        long[] dist = new long[numNodes];
+        long totalFlow = 0;
+        long totalCost = 0;
+        Heap heap = new Heap(numNodes);
+        int[] currentEdge = new int[numNodes];
+        boolean[] onPath = new boolean[numNodes];
+        while (true) {
+            Arrays.fill(dist, Long.MAX_VALUE);
+            dist[source] = 0;
+            heap.push(0, source);
+            while (heap.size > 0) {
+                long d = heap.topDist();
+                int node = heap.pop();
+                if (d > dist[node]) continue;
+                for (int edge = head[node]; edge != -1; edge = next[edge]) {
+                    if (capacity[edge] == 0) continue;
+                    int target = to[edge];
+                    long reduced = d + cost[edge] + potential[node] - potential[target];
+                    if (reduced < dist[target]) {
+                        dist[target] = reduced;
+                        heap.push(reduced, target);
+                    }
+                }
+            }
+            if (dist[sink] == Long.MAX_VALUE) break;
+            for (int node = 0; node < numNodes; node++) {
+                // nodes out of reach are pushed past the sink so that no path of the current cost goes through them
+                potential[node] += Math.min(dist[node], dist[sink]);
+            }
+
+            // every path of the current cost only uses edges with a reduced cost of 0
+            System.arraycopy(head, 0, currentEdge, 0, numNodes);
+            long flow;
+            while ((flow = augment(source, sink, INFINITE, potential, currentEdge, onPath)) > 0) {
+                totalFlow += flow;
+                totalCost += flow * (potential[sink] - potential[source]);
+            }
+        }
+        return new long[]{totalFlow, totalCost};
+    }
+
+    /**
+     * Sends flow down a path of edges with a reduced cost of 0 by depth-first search. Edges that lead nowhere are
+     * skipped for the rest of the round.
+     *
+     * @return units of flow sent, or 0 if there is no path left
+     */
+    private long augment(int node, int sink, long limit, long[] potential, int[] currentEdge, boolean[] onPath) {
+        if (node == sink) return limit;
+        onPath[node] = true;
+        for (; currentEdge[node] != -1; currentEdge[node] = next[currentEdge[node]]) {
+            int edge = currentEdge[node];
+            int target = to[edge];
+            if (capacity[edge] == 0 || onPath[target] || cost[edge] + potential[node] - potential[target] != 0) continue;
+            long flow = augment(target, sink, Math.min(limit, capacity[edge]), potential, currentEdge, onPath);
+            if (flow > 0) {
+                capacity[edge] -= flow;
+                capacity[edge ^ 1] += flow;
+                onPath[node] = false;
+                return flow;
+            }
+        }
+        onPath[node] = false;
+        return 0;
+    }
+
+    /**
+     * Binary min-heap of nodes by distance. A node can be pushed more than once, and stale entries are skipped by
+     * whoever pops them.
+     */
+    private static class Heap {
+        /** Distance of each entry */
+        private long[] dists;
+        /** Node of each entry */
+        private int[] nodes;
+        /** Number of entries */
+        private int size;
+
+        private Heap(int capacity) {
+            dists = new long[Math.max(capacity, 16)];
+            nodes = new int[dists.length];
+        }
+
+        private void push(long dist, int node) {
+            if (size == dists.length) {
+                dists = Arrays.copyOf(dists, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int idx = size++;
+            while (idx > 0) {
+                int parent = (idx - 1) >>> 1;
+                if (dists[parent] <= dist) break;
+                dists[idx] = dists[parent];
+                nodes[idx] = nodes[parent];
+                idx = parent;
+            }
+            dists[idx] = dist;
+            nodes[idx] = node;
+        }
+
+        private long topDist() {
+            return dists[0];
+        }
+
+        private int pop() {
+            int top = nodes[0];
+            long dist = dists[--size];
+            int node = nodes[size];
+            int idx = 0;
+            while (true) {
+                int child = idx * 2 + 1;
+                if (child >= size) break;
+                if (child + 1 < size && dists[child + 1] < dists[child]) child++;
+                if (dists[child] >= dist) break;
+                dists[idx] = dists[child];
+                nodes[idx] = nodes[child];
+                idx = child;
+            }
+            dists[idx] = dist;
+            nodes[idx] = node;
+            return top;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.planner.util;
 
 import com.planner.models.Card;
+import com.planner.models.Task;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -57,6 +58,7 @@ public class Parser {
         Calendar due = null;
         Double hours = null;
         Integer cardId = null;
+        Integer priority = null;
 
         for (int i = 1; i < args.length; i++) {
             if (args[i].charAt(0) == '"' && name == null) {
@@ -68,6 +70,8 @@ public class Parser {
                 } catch (NumberFormatException e) {
                     throwAddTaskParsingError();
                 }
+            } else if (args[i].charAt(0) == '!' && priority == null) {
+                priority = parsePriority(args[i]);
             } else if ("@".equals(args[i]) && due == null && i + 1 < args.length) {
                 i++;
                 due = parseDate(args[i]);
@@ -86,7 +90,7 @@ public class Parser {
             throwAddTaskParsingError();
         }
 
-        return new TaskInfo(-1, name, due, hours, cardId);
+        return new TaskInfo(-1, name, due, hours, cardId, priority);
     }
 
     // [DONE]
@@ -249,6 +253,53 @@ public class Parser {
         return new DayInfo(date, taskTimeStampMap, eventIds);
     }
 
+    public static HoursInfo parseHours(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            throwHoursParsingError();
+        }
+        Calendar date = parseDate(args[1]);
+        if (args.length == 2) {
+            return new HoursInfo(date, null, false);
+        }
+        if ("reset".equalsIgnoreCase(args[2])) {
+            return new HoursInfo(date, null, true);
+        }
+        int hours;
+        try {
+            hours = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Hours for a date must be a whole number");
+        }
+        if (hours < 0 || hours > 24) {
+            throw new IllegalArgumentException("Hours for a date cannot be below 0 or above 24");
+        }
+        return new HoursInfo(date, hours, false);
+    }
+
+    /**
+     * Parses a range of dates given as a first date followed by an optional number of days, which is 1 by default
+     *
+     * @param args tokens of the command
+     * @param start index of the token holding the first date
+     * @return first and last dates of the range
+     */
+    public static Calendar[] parseRange(String[] args, int start) {
+        if (args.length <= start || args.length > start + 2) {
+            throw new IllegalArgumentException("A range takes a date and an optional number of days");
+        }
+        Calendar from = parseDate(args[start]);
+        int numDays = 1;
+        if (args.length == start + 2) {
+            try {
+                numDays = Integer.parseInt(args[start + 1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Number of days must be a number");
+            }
+            if (numDays <= 0) throw new IllegalArgumentException("Number of days must be positive");
+        }
+        return new Calendar[]{from, Time.getFormattedCalendarInstance(from, numDays - 1)};
+    }
+
     public static TaskInfo parseModTask(String[] args) {
         if (args.length < 4) {
             throwModTaskParsingError();
@@ -258,6 +309,7 @@ public class Parser {
         Calendar due = null;
         Double hours = null;
         Integer cardId = null;
+        Integer priority = null;
 
         try {
             id = Integer.parseInt(args[2]);
@@ -275,6 +327,8 @@ public class Parser {
                 } catch (NumberFormatException e) {
                     throwModTaskParsingError();
                 }
+            } else if (args[i].charAt(0) == '!' && priority == null) {
+                priority = parsePriority(args[i]);
             } else if ("@".equals(args[i]) && due == null && i + 1 < args.length) {
                 i++;
                 due = parseDate(args[i]);
@@ -289,7 +343,7 @@ public class Parser {
             }
         }
 
-        return new TaskInfo(id, name, due, hours, cardId);
+        return new TaskInfo(id, name, due, hours, cardId, priority);
     }
 
     public static EventInfo parseModEvent(String[] args) {
@@ -684,13 +738,19 @@ public class Parser {
         private final Calendar due;
         private final Double hours;
         private final Integer cardId;
+        private final Integer priority;
 
         public TaskInfo(Integer taskId, String desc, Calendar due, Double hours, Integer cardId) {
+            this(taskId, desc, due, hours, cardId, null);
+        }
+
+        public TaskInfo(Integer taskId, String desc, Calendar due, Double hours, Integer cardId, Integer priority) {
             this.taskId = taskId;
             this.desc = desc;
             this.due = due;
             this.hours = hours;
             this.cardId = cardId;
+            this.priority = priority;
         }
 
         public Integer getTaskId() { return taskId; }
@@ -706,6 +766,10 @@ public class Parser {
         public Integer getCardId() {
             return cardId;
         }
+
+        public Integer getPriority() {
+            return priority;
+        }
     }
 
     public static class EventInfo {
@@ -766,9 +830,44 @@ public class Parser {
         public List<Integer> getEventIds() { return eventIds; }
     }
 
+    public static class HoursInfo {
+        private final Calendar date;
+        private final Integer hours;
+        private final boolean reset;
+
+        public HoursInfo(Calendar date, Integer hours, boolean reset) {
+            this.date = date;
+            this.hours = hours;
+            this.reset = reset;
+        }
+
+        public Calendar getDate() { return date; }
+        public Integer getHours() { return hours; }
+        public boolean isReset() { return reset; }
+    }
+
+    /**
+     * Parses the priority of a Task given as '!' followed by the priority
+     *
+     * @param token token holding the priority
+     * @return priority of the Task
+     */
+    private static int parsePriority(String token) {
+        int priority;
+        try {
+            priority = Integer.parseInt(token.substring(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Priority must be a number following '!'");
+        }
+        if (priority < Task.MIN_PRIORITY || priority > Task.MAX_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be between " + Task.MIN_PRIORITY + " and " + Task.MAX_PRIORITY);
+        }
+        return priority;
+    }
+
     private static void throwAddTaskParsingError() {
         throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
-                "       task <name> <hours> [cardId] @ <date>");
+                "       task <name> <hours> [cardId] [!priority] @ <date>");
     }
 
     private static void throwAddCardParsingError() {
@@ -786,6 +885,11 @@ public class Parser {
         }
     }
 
+    private static void throwHoursParsingError() {
+        throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
+                "       hours <date> [hours|reset]");
+    }
+
     private static void throwModCardParsingError() {
         throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
                 "       mod card <id> [name] [color]");
@@ -793,7 +897,7 @@ public class Parser {
 
     private static void throwModTaskParsingError() {
         throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
-                "       mod task <id> [name] [hours] [cardId] @ [date]");
+                "       mod task <id> [name] [hours] [cardId] [!priority] @ [date]");
     }
 
     private static void throwModEventParsingError() {
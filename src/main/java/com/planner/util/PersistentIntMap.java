@@ -0,0 +1,260 @@
+package com.planner.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Immutable map from non-negative {@code int} keys to non-null values. Every update returns a new map that shares all
+ * of its untouched nodes with the old one, so keeping many versions of a map only costs memory for the entries that
+ * changed between them.
+ * <p>
+ * Entries are kept in a radix trie over the bits of the key, five bits per level, where each node only holds the
+ * children that are present. Keys such as IDs that are handed out in order keep the trie shallow, and lookups and
+ * updates take O(log32 n) time.
+ *
+ * @param <V> type of the values held
+ * @author Andrew Roe
+ */
+public final class PersistentIntMap<V> implements Iterable<V> {
+
+    /** Number of key bits used by each level of the trie */
+    private static final int BITS = 5;
+    /** Mask for the key bits of a single level */
+    private static final int MASK = (1 << BITS) - 1;
+    /** Map without any entries, shared by every type of value */
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0, 0);
+    /** Top node of the trie, or null if the map is empty */
+    private final Node root;
+    /** Number of key bits below the root, a multiple of BITS */
+    private final int shift;
+    /** Number of entries in the map */
+    private final int size;
+
+    private PersistentIntMap(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map
+     *
+     * @param <V> type of the values held
+     * @return map without any entries
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /**
+     * Gets the value for a key
+     *
+     * @param key key being looked up
+     * @return value for the key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key < 0 || root == null || key >>> shift > MASK) return null;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.get((key >>> level) & MASK);
+            if (node == null) return null;
+        }
+        return (V) node.get(key & MASK);
+    }
+
+    /**
+     * Creates a map with the given value for a key, replacing any previous value
+     *
+     * @param key key for the value
+     * @param value value being stored
+     * @return new map with the entry, or this map if it already holds the same value for the key
+     * @throws IllegalArgumentException if the key is negative or the value is null
+     */
+    public PersistentIntMap<V> put(int key, V value) {
+        if (key < 0) throw new IllegalArgumentException("PersistentIntMap cannot hold negative keys");
+        if (value == null) throw new IllegalArgumentException("PersistentIntMap cannot hold null values");
+        Node top = root == null ? Node.EMPTY : root;
+        int topShift = shift;
+        // the trie grows upward until the key fits below the root
+        while (key >>> topShift > MASK) {
+            top = top.size() == 0 ? top : Node.EMPTY.with(0, top);
+            topShift += BITS;
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = put(top, topShift, key, value, added);
+        if (newRoot == top && topShift == shift) return this;
+        return new PersistentIntMap<>(newRoot, topShift, added[0] ? size + 1 : size);
+    }
+
+    private static Node put(Node node, int level, int key, Object value, boolean[] added) {
+        int idx = (key >>> level) & MASK;
+        Object child = node.get(idx);
+        if (level == 0) {
+            if (child == value) return node;
+            added[0] = child == null;
+            return node.with(idx, value);
+        }
+        Node newChild = put(child == null ? Node.EMPTY : (Node) child, level - BITS, key, value, added);
+        return newChild == child ? node : node.with(idx, newChild);
+    }
+
+    /**
+     * Creates a map without the entry for a key
+     *
+     * @param key key being removed
+     * @return new map without the entry, or this map if the key is not present
+     */
+    public PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) return this;
+        Node newRoot = remove(root, shift, key);
+        return newRoot == null ? empty() : new PersistentIntMap<>(newRoot, shift, size - 1);
+    }
+
+    private static Node remove(Node node, int level, int key) {
+        int idx = (key >>> level) & MASK;
+        Object child = level == 0 ? null : remove((Node) node.get(idx), level - BITS, key);
+        // nodes left without any children are dropped along the way
+        return child == null ? node.without(idx) : node.with(idx, child);
+    }
+
+    /**
+     * Gets the number of entries in the map
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether the map is empty
+     *
+     * @return boolean value for whether the map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reports every key whose value differs between this map and another one. Values are compared by identity, and
+     * parts of the two tries that are shared are skipped, so comparing two versions of a map only takes time for
+     * the entries that changed between them.
+     *
+     * @param other map being compared against
+     * @param visitor receives each key that differs along with its value in each map
+     */
+    public void diff(PersistentIntMap<V> other, DiffVisitor<V> visitor) {
+        int topShift = Math.max(shift, other.shift);
+        diff(lift(root, shift, topShift), lift(other.root, other.shift, topShift), topShift, 0, visitor);
+    }
+
+    private static Node lift(Node node, int shift, int topShift) {
+        // an entry with a small key sits under the first child at every level above the root of a smaller trie
+        for (int level = shift; node != null && level < topShift; level += BITS) {
+            node = Node.EMPTY.with(0, node);
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void diff(Node node, Node other, int level, int prefix, DiffVisitor<V> visitor) {
+        if (node == other) return;
+        int bitmap = (node == null ? 0 : node.bitmap) | (other == null ? 0 : other.bitmap);
+        for (int bits = bitmap; bits != 0; bits &= bits - 1) {
+            int idx = Integer.numberOfTrailingZeros(bits);
+            int key = prefix | (idx << level);
+            Object child = node == null ? null : node.get(idx);
+            Object otherChild = other == null ? null : other.get(idx);
+            if (level == 0) {
+                if (child != otherChild) visitor.visit(key, (V) child, (V) otherChild);
+            } else {
+                diff((Node) child, (Node) otherChild, level - BITS, key, visitor);
+            }
+        }
+    }
+
+    /**
+     * Iterates over the values of the map in order of their keys
+     *
+     * @return Iterator over the values
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<V> iterator() {
+        List<V> values = new ArrayList<>(size);
+        diff(PersistentIntMap.<V>empty(), (key, value, none) -> values.add(value));
+        return values.iterator();
+    }
+
+    /**
+     * Receives the entries that differ between two maps
+     *
+     * @param <V> type of the values held
+     */
+    @FunctionalInterface
+    public interface DiffVisitor<V> {
+        /**
+         * Visits a key whose value differs between two maps
+         *
+         * @param key key that differs
+         * @param value value in the map being compared, or null if the key is not present
+         * @param otherValue value in the other map, or null if the key is not present
+         */
+        void visit(int key, V value, V otherValue);
+    }
+
+    /**
+     * Node of the trie holding only the children that are present, found through a bitmap
+     */
+    private static final class Node {
+        /** Node without any children */
+        private static final Node EMPTY = new Node(0, new Object[0]);
+        /** Bit i is set when child i is present */
+        private final int bitmap;
+        /** Children that are present in order of their index, either Nodes or values on the last level */
+        private final Object[] children;
+
+        private Node(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private int size() {
+            return children.length;
+        }
+
+        private Object get(int idx) {
+            int bit = 1 << idx;
+            return (bitmap & bit) == 0 ? null : children[Integer.bitCount(bitmap & (bit - 1))];
+        }
+
+        private Node with(int idx, Object child) {
+            int bit = 1 << idx;
+            int pos = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                Object[] copy = children.clone();
+                copy[pos] = child;
+                return new Node(bitmap, copy);
+            }
+            Object[] copy = new Object[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, pos);
+            copy[pos] = child;
+            System.arraycopy(children, pos, copy, pos + 1, children.length - pos);
+            return new Node(bitmap | bit, copy);
+        }
+
+        private Node without(int idx) {
+            int bit = 1 << idx;
+            if ((bitmap & bit) == 0) return this;
+            if (children.length == 1) return null;
+            int pos = Integer.bitCount(bitmap & (bit - 1));
+            Object[] copy = new Object[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, pos);
+            System.arraycopy(children, pos + 1, copy, pos, children.length - pos - 1);
+            return new Node(bitmap & ~bit, copy);
+        }
+    }
+}
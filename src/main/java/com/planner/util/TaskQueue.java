@@ -0,0 +1,494 @@
+package com.planner.util;
+
+import com.planner.models.Task;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Priority queue of {@link Task} keyed by due date. Tasks are kept in one bucket per due date, and the due dates of
+ * the buckets are kept in a small heap of their own, so a Task only competes with Tasks due on the same date. Each
+ * bucket is a 4-ary heap that tracks the position of every Task by its ID. Besides the usual queue operations, a Task
+ * can be found by ID in O(1) time, and removed or moved back into place after its due date or hours change in
+ * O(log b + log d) time for a bucket of b Tasks out of d due dates.
+ * <p>
+ * Tasks are ordered by their natural ordering unless a {@link Comparator} is given. Since buckets are always taken in
+ * order of due date, a given ordering only breaks ties between Tasks due on the same date and must compare due dates
+ * first, as every ordering in {@link com.planner.schedule} does. Only one Task per ID can be held.
+ * <p>
+ * A queue created by {@link #byPriority()} orders Tasks by priority first, then by due date, then by the most hours
+ * remaining. The three are packed into a single {@code long} key per Task, worked out when the Task is queued or
+ * updated and kept alongside it, so sifting compares plain numbers. Each bucket then holds the Tasks of one priority
+ * due on one date, and the earliest due date is tracked separately so Tasks due on a given date can still be found.
+ *
+ * @author Andrew Roe
+ */
+public class TaskQueue extends AbstractQueue<Task> {
+
+    /** Number of children for each node of a bucket */
+    private static final int ARITY = 4;
+    /** Added to due dates so that they fit in the low bits of a bucket key in priority order */
+    private static final int DAY_BIAS = 1 << 26;
+    /** Number of bits for the due date in a bucket key in priority order */
+    private static final int DAY_BITS = 27;
+    /** Ordering for the Tasks, or null for their natural ordering or priority order */
+    private final Comparator<? super Task> comparator;
+    /** Whether Tasks are ordered by their packed priority keys */
+    private final boolean byPriority;
+    /** Bucket for each bucket key. A bucket that runs empty is dropped once its key reaches the top of bucketKeys */
+    private IntMap<Bucket> buckets;
+    /** Keys of the buckets, one entry per bucket. The keys are the due dates unless Tasks are in priority order */
+    private final IntHeap bucketKeys;
+    /** Number of Tasks held for each due date in priority order, including dates that ran out and are yet to be dropped */
+    private IntMap<int[]> dueCounts;
+    /** Due dates in dueCounts in priority order, one entry per date */
+    private final IntHeap dueDays;
+    /** Position in its bucket for each Task ID, or -1 if the Task is not held */
+    private int[] positions;
+    /** Key of the bucket holding each Task ID, which can differ from the key of a Task being updated */
+    private int[] bucketOf;
+    /** Number of Tasks held */
+    private int size;
+
+    /**
+     * Constructs an empty {@code TaskQueue} using the natural ordering of Tasks
+     */
+    public TaskQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty {@code TaskQueue} with the given ordering
+     *
+     * @param comparator ordering for the Tasks that compares due dates first, or null for their natural ordering
+     */
+    public TaskQueue(Comparator<? super Task> comparator) {
+        this(comparator, false);
+    }
+
+    private TaskQueue(Comparator<? super Task> comparator, boolean byPriority) {
+        this.comparator = comparator;
+        this.byPriority = byPriority;
+        buckets = new IntMap<>();
+        bucketKeys = new IntHeap();
+        dueCounts = byPriority ? new IntMap<>() : null;
+        dueDays = byPriority ? new IntHeap() : null;
+        positions = new int[16];
+        bucketOf = new int[16];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Creates an empty {@code TaskQueue} that orders Tasks by priority first, then by due date, then by the most hours
+     * remaining, with ties broken by ID
+     *
+     * @return new TaskQueue in priority order
+     */
+    public static TaskQueue byPriority() {
+        return new TaskQueue(null, true);
+    }
+
+    /**
+     * Packs the priority, due date, and remaining half hours of a Task into a single key, where a smaller key comes
+     * first. The upper half holds the key of the bucket for the Task.
+     *
+     * @param task Task being measured
+     * @return priority key of the Task
+     */
+    static long priorityKey(Task task) {
+        long bucketKey = (long) (Task.MAX_PRIORITY - task.getPriority()) << DAY_BITS | (task.getDueDay() + DAY_BIAS);
+        // remaining hours go negative once a Task's hours are lowered below those already assigned, and must not spill
+        long halfHours = Math.max(Math.min(Math.round(task.getSubTotalHoursRemaining() * 2), 0xFFFFFFFFL), 0);
+        return bucketKey << 32 | (0xFFFFFFFFL - halfHours);
+    }
+
+    /**
+     * Determines whether Tasks are ordered by priority
+     *
+     * @return boolean value for whether the queue was created by {@link #byPriority()}
+     */
+    public boolean isByPriority() {
+        return byPriority;
+    }
+
+    /**
+     * Gets the ordering of the Tasks
+     *
+     * @return ordering for the Tasks, or null for their natural ordering
+     */
+    public Comparator<? super Task> getComparator() {
+        return byPriority ? Comparator.comparingLong(TaskQueue::priorityKey).thenComparingInt(Task::getId) : comparator;
+    }
+
+    @Override
+    public boolean offer(Task task) {
+        if (task == null) throw new IllegalArgumentException("TaskQueue cannot hold null Tasks");
+        if (get(task.getId()) != null) throw new IllegalArgumentException("Task " + task.getId() + " is already queued");
+        if (task.getId() >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(task.getId() + 1, oldLength * 2);
+            positions = Arrays.copyOf(positions, newLength);
+            bucketOf = Arrays.copyOf(bucketOf, newLength);
+            Arrays.fill(positions, oldLength, newLength, -1);
+        }
+        insert(task);
+        return true;
+    }
+
+    @Override
+    public Task poll() {
+        Bucket bucket = firstBucket();
+        if (bucket == null) return null;
+        Task head = bucket.heap[0];
+        removeAt(bucket, 0);
+        return head;
+    }
+
+    @Override
+    public Task peek() {
+        Bucket bucket = firstBucket();
+        return bucket == null ? null : bucket.heap[0];
+    }
+
+    /**
+     * Gets the earliest due date out of the held Tasks
+     *
+     * @return due date of the head of the queue as days since the epoch, or Integer.MAX_VALUE if the queue is empty
+     */
+    public int peekDueDay() {
+        if (!byPriority) return firstBucket() == null ? Integer.MAX_VALUE : bucketKeys.peek();
+        while (dueDays.size() > 0) {
+            int dueDay = dueDays.peek();
+            if (dueCounts.get(dueDay)[0] > 0) return dueDay;
+            dueCounts.remove(dueDay);
+            dueDays.poll();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Removes the first Task due on the given date. Unless Tasks are in priority order, this is the head of the
+     * queue whenever the date is the earliest due date.
+     *
+     * @param dueDay due date as days since the epoch
+     * @return first Task due on the date, or null if there is none
+     */
+    public Task pollDueOn(int dueDay) {
+        if (!byPriority) {
+            Bucket bucket = buckets.get(dueDay);
+            if (bucket == null || bucket.size == 0) return null;
+            Task head = bucket.heap[0];
+            removeAt(bucket, 0);
+            return head;
+        }
+        // there are only a few priorities, so each one gets its own bucket for the date
+        for (int priority = Task.MAX_PRIORITY; priority >= Task.MIN_PRIORITY; priority--) {
+            Bucket bucket = buckets.get((Task.MAX_PRIORITY - priority) << DAY_BITS | (dueDay + DAY_BIAS));
+            if (bucket != null && bucket.size > 0) {
+                Task head = bucket.heap[0];
+                removeAt(bucket, 0);
+                return head;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether this exact Task is held
+     *
+     * @param o object being checked
+     * @return boolean value for whether the Task is in the queue
+     */
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Task && indexOf((Task) o) != -1;
+    }
+
+    /**
+     * Gets a held Task by its ID
+     *
+     * @param id ID of the Task
+     * @return Task with the ID, or null if it is not held
+     */
+    public Task get(int id) {
+        int idx = id >= 0 && id < positions.length ? positions[id] : -1;
+        return idx == -1 ? null : buckets.get(bucketOf[id]).heap[idx];
+    }
+
+    /**
+     * Removes this exact Task from the queue
+     *
+     * @param o object being removed
+     * @return boolean value for whether the Task was held
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Task)) return false;
+        int idx = indexOf((Task) o);
+        if (idx == -1) return false;
+        removeAt(buckets.get(bucketOf[((Task) o).getId()]), idx);
+        return true;
+    }
+
+    /**
+     * Removes a Task by its ID
+     *
+     * @param id ID of the Task
+     * @return Task that was removed, or null if it was not held
+     */
+    public Task removeById(int id) {
+        Task task = get(id);
+        if (task != null) removeAt(buckets.get(bucketOf[id]), positions[id]);
+        return task;
+    }
+
+    /**
+     * Moves a held Task back into place after a change to the fields it is ordered by
+     *
+     * @param task Task that changed
+     * @return boolean value for whether the Task was held
+     */
+    public boolean update(Task task) {
+        int idx = indexOf(task);
+        if (idx == -1) return false;
+        Bucket bucket = buckets.get(bucketOf[task.getId()]);
+        long key = byPriority ? priorityKey(task) : 0;
+        if (bucketOf[task.getId()] != bucketKey(task, key)) {
+            // the Task moved to another date or priority, so it changes buckets
+            removeAt(bucket, idx);
+            insert(task);
+            return true;
+        }
+        siftUp(bucket, idx, task, key);
+        if (bucket.heap[idx] == task) siftDown(bucket, idx, task, key);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Bucket bucket : buckets) {
+            for (int i = 0; i < bucket.size; i++) {
+                positions[bucket.heap[i].getId()] = -1;
+            }
+        }
+        buckets = new IntMap<>();
+        bucketKeys.clear();
+        if (byPriority) {
+            dueCounts = new IntMap<>();
+            dueDays.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * Iterates over the Tasks in no particular order. The queue must not be modified during iteration
+     *
+     * @return Iterator over the Tasks
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final Iterator<Bucket> bucketIterator = buckets.iterator();
+            private Bucket bucket;
+            private int idx;
+
+            @Override
+            public boolean hasNext() {
+                while (bucket == null || idx == bucket.size) {
+                    if (!bucketIterator.hasNext()) return false;
+                    bucket = bucketIterator.next();
+                    idx = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return bucket.heap[idx++];
+            }
+        };
+    }
+
+    private int indexOf(Task task) {
+        int id = task.getId();
+        if (id < 0 || id >= positions.length) return -1;
+        int idx = positions[id];
+        // another Task could share the ID, so the match has to be the same instance
+        return idx != -1 && buckets.get(bucketOf[id]).heap[idx] == task ? idx : -1;
+    }
+
+    private int bucketKey(Task task, long key) {
+        return byPriority ? (int) (key >>> 32) : task.getDueDay();
+    }
+
+    private Bucket firstBucket() {
+        while (bucketKeys.size() > 0) {
+            Bucket bucket = buckets.get(bucketKeys.peek());
+            if (bucket.size > 0) return bucket;
+            // empty buckets are only dropped here, so every bucket in the map keeps exactly one entry in bucketKeys
+            buckets.remove(bucketKeys.poll());
+        }
+        return null;
+    }
+
+    private void insert(Task task) {
+        long key = byPriority ? priorityKey(task) : 0;
+        int bucketKey = bucketKey(task, key);
+        Bucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            bucket = new Bucket(byPriority);
+            buckets.put(bucketKey, bucket);
+            bucketKeys.add(bucketKey);
+        }
+        if (bucket.size == bucket.heap.length) bucket.grow();
+        bucketOf[task.getId()] = bucketKey;
+        if (byPriority) {
+            int[] count = dueCounts.get(task.getDueDay());
+            if (count == null) {
+                dueCounts.put(task.getDueDay(), count = new int[1]);
+                dueDays.add(task.getDueDay());
+            }
+            count[0]++;
+        }
+        siftUp(bucket, bucket.size++, task, key);
+        size++;
+    }
+
+    private void removeAt(Bucket bucket, int idx) {
+        int id = bucket.heap[idx].getId();
+        positions[id] = -1;
+        // the due date the Task was queued under is kept in its bucket key, since the Task itself may have changed
+        if (byPriority) dueCounts.get((bucketOf[id] & ((1 << DAY_BITS) - 1)) - DAY_BIAS)[0]--;
+        size--;
+        Task last = bucket.heap[--bucket.size];
+        long lastKey = byPriority ? bucket.keys[bucket.size] : 0;
+        bucket.heap[bucket.size] = null;
+        if (idx == bucket.size) return;
+        siftDown(bucket, idx, last, lastKey);
+        if (bucket.heap[idx] == last) siftUp(bucket, idx, last, lastKey);
+    }
+
+    private void siftUp(Bucket bucket, int idx, Task task, long key) {
+        while (idx > 0) {
+            int parent = (idx - 1) / ARITY;
+            if (compare(bucket, task, key, parent) >= 0) break;
+            place(bucket, idx, bucket.heap[parent], byPriority ? bucket.keys[parent] : 0);
+            idx = parent;
+        }
+        place(bucket, idx, task, key);
+    }
+
+    private void siftDown(Bucket bucket, int idx, Task task, long key) {
+        while (true) {
+            int first = idx * ARITY + 1;
+            if (first >= bucket.size) break;
+            int best = first;
+            int end = Math.min(first + ARITY, bucket.size);
+            for (int child = first + 1; child < end; child++) {
+                if (compare(bucket, bucket.heap[child], byPriority ? bucket.keys[child] : 0, best) < 0) best = child;
+            }
+            if (compare(bucket, task, key, best) <= 0) break;
+            place(bucket, idx, bucket.heap[best], byPriority ? bucket.keys[best] : 0);
+            idx = best;
+        }
+        place(bucket, idx, task, key);
+    }
+
+    private void place(Bucket bucket, int idx, Task task, long key) {
+        bucket.heap[idx] = task;
+        if (byPriority) bucket.keys[idx] = key;
+        positions[task.getId()] = idx;
+    }
+
+    /**
+     * Compares a Task against the one at a position of a bucket
+     */
+    private int compare(Bucket bucket, Task task, long key, int idx) {
+        Task other = bucket.heap[idx];
+        if (byPriority) {
+            int diff = Long.compare(key, bucket.keys[idx]);
+            return diff != 0 ? diff : Integer.compare(task.getId(), other.getId());
+        }
+        return comparator == null ? task.compareTo(other) : comparator.compare(task, other);
+    }
+
+    /**
+     * Tasks that share a bucket key laid out as a heap
+     */
+    private static class Bucket {
+        /** Tasks laid out as a heap */
+        private Task[] heap = new Task[4];
+        /** Priority key of the Task at each position, or null unless Tasks are in priority order */
+        private long[] keys;
+        /** Number of Tasks in the bucket */
+        private int size;
+
+        private Bucket(boolean byPriority) {
+            if (byPriority) keys = new long[4];
+        }
+
+        private void grow() {
+            heap = Arrays.copyOf(heap, size * 2);
+            if (keys != null) keys = Arrays.copyOf(keys, size * 2);
+        }
+    }
+
+    /**
+     * Binary min-heap of ints
+     */
+    private static class IntHeap {
+        /** Values laid out as a heap */
+        private int[] values = new int[16];
+        /** Number of values held */
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private int peek() {
+            return values[0];
+        }
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            int idx = size++;
+            while (idx > 0) {
+                int parent = (idx - 1) >>> 1;
+                if (values[parent] <= value) break;
+                values[idx] = values[parent];
+                idx = parent;
+            }
+            values[idx] = value;
+        }
+
+        private int poll() {
+            int head = values[0];
+            int value = values[--size];
+            int idx = 0;
+            while (true) {
+                int child = idx * 2 + 1;
+                if (child >= size) break;
+                if (child + 1 < size && values[child + 1] < values[child]) child++;
+                if (values[child] >= value) break;
+                values[idx] = values[child];
+                idx = child;
+            }
+            values[idx] = value;
+            return head;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
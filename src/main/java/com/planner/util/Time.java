@@ -1,21 +1,98 @@
 package com.planner.util;
 
 import com.planner.models.Event;
-import com.planner.models.UserConfig;
 import com.planner.schedule.day.Day;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 
 /**
- * Handles all time operations involving Calendar instances
+ * Handles all time operations involving Calendar instances.
+ * <p>
+ * Scheduling itself works on plain integers: dates are counted in days since the epoch (1970-01-01) and times in
+ * minutes since the start of the day (wall clock). Calendar instances are only created when rendering or exporting.
  *
  * @author Andrew Roe
  * @author Abah Olotuche Gabriel
  */
 public class Time {
 
+    /** Number of minutes in a day */
+    public static final int MINUTES_PER_DAY = 1440;
+    /** Number of milliseconds in a day */
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Gets the number of days since the epoch for the local date of a Calendar instance
+     *
+     * @param date Calendar instance being converted
+     * @return local date as days since 1970-01-01
+     */
+    public static int toEpochDay(Calendar date) {
+        long localMillis = date.getTimeInMillis() + date.get(Calendar.ZONE_OFFSET) + date.get(Calendar.DST_OFFSET);
+        return (int) Math.floorDiv(localMillis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Gets the day of the week for a date counted in days since the epoch
+     *
+     * @param epochDay days since 1970-01-01
+     * @return day of the week (0=Sunday, ...)
+     */
+    public static int getDayOfWeek(int epochDay) {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 4, 7);
+    }
+
+    /**
+     * Gets the wall clock minute of the day for a Calendar instance
+     *
+     * @param date Calendar instance being converted
+     * @return minutes since the start of the day
+     */
+    public static int toMinuteOfDay(Calendar date) {
+        return date.get(Calendar.HOUR_OF_DAY) * 60 + date.get(Calendar.MINUTE);
+    }
+
+    /**
+     * Creates a Calendar instance for a given day and minute. Minutes past the end of the day roll over into the
+     * following days.
+     *
+     * @param epochDay days since 1970-01-01
+     * @param minute wall clock minutes since the start of the day
+     * @return new Calendar instance with seconds and milliseconds set to zero
+     */
+    public static Calendar toCalendar(int epochDay, int minute) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth() + minute / MINUTES_PER_DAY,
+                (minute % MINUTES_PER_DAY) / 60, minute % 60, 0);
+        return calendar;
+    }
+
+    /**
+     * Converts a number of hours in half hour steps to minutes
+     *
+     * @param hours number of hours
+     * @return number of minutes
+     */
+    public static int toMinutes(double hours) {
+        return (int) hours * 60 + (hours % 1 == 0.5 ? 30 : 0);
+    }
+
+    /**
+     * Rounds a minute of the day up to the nearest quarter of an hour
+     *
+     * @param minute minutes since the start of the day
+     * @return minutes since the start of the day at the next quarter of an hour (or the same minute if on one)
+     */
+    public static int roundUpToQuarterOfHour(int minute) {
+        return (minute + 14) / 15 * 15;
+    }
+
     /**
      * Determines the difference of days between two Calendar instances
      *
@@ -128,53 +205,18 @@ public class Time {
         return hours;
     }
 
-    // [COMPLETE]
-    public static Calendar getFirstAvailableTimeInDay(List<TimeStamp> taskTimeStamps, List<TimeStamp> eventTimeStamps, UserConfig userConfig, Calendar time, boolean isToday) {
-        Calendar startTime;
-        if (isToday && time.get(Calendar.HOUR_OF_DAY) >= userConfig.getDailyHoursRange()[0] && taskTimeStamps.isEmpty() && !userConfig.isDefaultAtStart()) {
-            startTime = Time.getNearestQuarterOfHour(time, true);
-        } else if (taskTimeStamps.isEmpty()) {
-            startTime = Time.getFormattedCalendarInstance(time, 0);
-            startTime.set(Calendar.HOUR_OF_DAY, userConfig.getDailyHoursRange()[0]);
-            startTime.set(Calendar.MINUTE, 0);
-        } else {
-            TimeStamp ts = taskTimeStamps.get(taskTimeStamps.size() - 1);
-            startTime = (Calendar) ts.getEnd().clone();
-        }
-
-        if (eventTimeStamps.isEmpty()) {
-            return startTime;
-        }
-
-        /*
-        Steps for determining correct start time with events throughout day:
-        1. Check whether startTime interferes with the event
-        2. If it does, assign the end of the event to startTime
-            a. If no more events, loop will break with correct value (so, do nothing here)
-            b. If there are events, simply continue (so, do nothing here)
-        3. If it doesn't, check whether it is before or after startTime
-            a. If it's before, continue (if no more events, no changes to startTime)
-            b. If it's after, check how much time there is between
-                i. If enough, break
-                ii. If not enough, assign end of event to startTime and loop again
-         */
-        for (TimeStamp eTS : eventTimeStamps) {
-            if (isInsideEventBlock(startTime, eTS)) startTime = eTS.getEnd();
-            else {
-                if (isAfter(startTime, eTS.getEnd())) {
-                    // do nothing here
-                } else {
-                    double hours = getTimeInterval(startTime, eTS.getStart());
-                    if (hours > 0) break;
-                    else startTime = eTS.getEnd();
-                }
-            }
-        }
-
-        // todo need to think about whether we should have startTime configured with getNearestQuarterOfHour() (at most, we're losing 14 minutes, but that could theoretically cost us 30 min due to formatting)
-        // todo might need another config option to allow tasks to be scheduled with 'unclean' times around events (not an issue without events, at most you'd be losing is 14 minutes)
-        // todo would need to update line 162
-        return startTime;
+    /**
+     * Determines how many hours fit between two minutes of the same day, rounded down to the half hour
+     *
+     * @param startMinute first minute of the interval
+     * @param endMinute last minute of the interval
+     * @return number of hours in half hour steps
+     */
+    public static double getTimeInterval(int startMinute, int endMinute) {
+        int min = Math.abs(endMinute - startMinute);
+        double hours = min / 60;
+        hours += min % 60 >= 30 ? 0.5 : 0;
+        return hours;
     }
 
     // [COMPLETE]
@@ -206,13 +248,11 @@ public class Time {
 
     // [COMPLETE]
     public static boolean isConflictingEvent(Event curr, Event other) {
-        Calendar currStart = cloneAndResetSecMillis(curr.getTimeStamp().getStart());
-        Calendar currEnd = cloneAndResetSecMillis(curr.getTimeStamp().getEnd());
-        Calendar otherStart = cloneAndResetSecMillis(other.getTimeStamp().getEnd());
-        Calendar otherEnd = cloneAndResetSecMillis(other.getTimeStamp().getEnd());
+        TimeStamp currTS = curr.getTimeStamp();
+        TimeStamp otherTS = other.getTimeStamp();
+        if (currTS.getDay() != otherTS.getDay()) return false;
 
-        if (currStart.compareTo(otherStart) >= 0 && currStart.compareTo(otherEnd) < 0) return true;
-        else return currEnd.compareTo(otherStart) > 0 && currEnd.compareTo(otherEnd) < 0;
+        return currTS.getStartMinute() < otherTS.getEndMinute() && otherTS.getStartMinute() < currTS.getEndMinute();
     }
 
     // [COMPLETE]
@@ -232,9 +272,18 @@ public class Time {
      * @author Andrew Roe
      */
     public static class TimeStamp implements Comparable<TimeStamp> {
-        private final Calendar start;
-        private final Calendar end;
-        private final String strStamp;
+        /** Days since the epoch from which the minutes of the time stamp are counted */
+        private final int day;
+        /** Minute at which the time stamp starts, counted from the start of the day */
+        private final int startMinute;
+        /** Minute at which the time stamp ends, counted from the start of the day */
+        private final int endMinute;
+        /** Calendar instance for the start, created on first use */
+        private Calendar start;
+        /** Calendar instance for the end, created on first use */
+        private Calendar end;
+        /** Time stamp formatted for display, built the first time it is rendered */
+        private String strStamp;
 
         public TimeStamp(Calendar start, Calendar end) {
             start.set(Calendar.SECOND, 0);
@@ -244,31 +293,67 @@ public class Time {
             if (start.compareTo(end) >= 0) throw new IllegalArgumentException("Start time is greater than or equal to end time");
             this.start = start;
             this.end = end;
-            strStamp = buildStamp();
+            this.day = toEpochDay(start);
+            this.startMinute = toMinuteOfDay(start);
+            this.endMinute = (toEpochDay(end) - day) * MINUTES_PER_DAY + toMinuteOfDay(end);
+        }
+
+        /**
+         * Constructs a TimeStamp without any Calendar instances, as done during scheduling. Minutes past the end of the
+         * day (e.g. a SubTask that runs past midnight) roll over into the following day.
+         *
+         * @param day days since the epoch from which the minutes are counted
+         * @param startMinute minute at which the time stamp starts, counted from the start of the day
+         * @param endMinute minute at which the time stamp ends, counted from the start of the day
+         */
+        public TimeStamp(int day, int startMinute, int endMinute) {
+            if (startMinute < 0) throw new IllegalArgumentException("Start time cannot be before the start of the day");
+            if (startMinute >= endMinute) throw new IllegalArgumentException("Start time is greater than or equal to end time");
+            this.day = day;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
         }
 
         public Calendar getStart() {
+            if (start == null) {
+                start = toCalendar(day, startMinute);
+            }
             return start;
         }
 
         public Calendar getEnd() {
+            if (end == null) {
+                end = toCalendar(day, endMinute);
+            }
             return end;
         }
 
+        public int getDay() {
+            return day;
+        }
+
+        public int getStartMinute() {
+            return startMinute;
+        }
+
+        public int getEndMinute() {
+            return endMinute;
+        }
+
         public int getStartHour() {
-            return start.get(Calendar.HOUR_OF_DAY);
+            return (startMinute / 60) % 24;
         }
 
         public int getStartMin() {
-            return start.get(Calendar.MINUTE);
+            return startMinute % 60;
         }
 
         public int getEndHour() {
-            return end.get(Calendar.HOUR_OF_DAY);
+            return (endMinute / 60) % 24;
         }
 
         public int getEndMin() {
-            return end.get(Calendar.MINUTE);
+            return endMinute % 60;
         }
 
         private String buildStamp() {
@@ -309,16 +394,15 @@ public class Time {
 
         @Override
         public String toString() {
+            if (strStamp == null) {
+                strStamp = buildStamp();
+            }
             return strStamp;
         }
 
         @Override
         public int compareTo(TimeStamp o) {
-            if (this.getStartHour() < o.getStartHour()) return -1;
-            else if (this.getStartHour() > o.getStartHour()) return 1;
-            else {
-                return Integer.compare(this.getStartMin(), o.getStartMin());
-            }
+            return Integer.compare(this.startMinute, o.startMinute);
         }
     }
 
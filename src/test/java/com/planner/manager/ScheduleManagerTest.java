@@ -2,12 +2,21 @@ package com.planner.manager;
 
 import com.planner.models.Card;
 import com.planner.models.Event;
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.ScheduleStrategy;
+import com.planner.schedule.StrategyResult;
+import com.planner.schedule.day.Day;
 import com.planner.util.Time;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,6 +116,12 @@ class ScheduleManagerTest {
         sm.modTask(0, null, 4.0, null, null);
         assertEquals("Task [name=project, total=4.0]", sm.getTaskManager().peek().toString());
 
+        sm.addTask("essay", 2, Time.getFormattedCalendarInstance(3), null);
+        sm.modTask(0, null, null, Time.getFormattedCalendarInstance(5), null);
+        assertEquals("Task [name=essay, total=2.0]", sm.getTaskManager().peek().toString());
+        sm.modTask(1, null, null, Time.getFormattedCalendarInstance(6), null);
+        assertEquals("Task [name=project, total=4.0]", sm.getTaskManager().peek().toString());
+
         assertThrows(IllegalArgumentException.class, () -> sm.modTask(10, "non-existent task", null, null, null));
     }
 
@@ -164,6 +179,17 @@ class ScheduleManagerTest {
 
         assertNull(sm.modEvent(10, "non-existent event", null, null, null));
 
+        // days dropped from a recurring event no longer list it
+        List<Calendar> fewerDates = new ArrayList<>();
+        fewerDates.add(Time.getFormattedCalendarInstance(3));
+        sm.modEvent(1, null, null, null, fewerDates);
+        int numListed = 0;
+        for (List<Event> dayEvents : sm.getRecurEvents()) {
+            numListed += dayEvents.size();
+        }
+        assertEquals(1, numListed);
+        assertEquals(1, sm.getRecurEvents().get(fewerDates.get(0).get(Calendar.DAY_OF_WEEK) - 1).size());
+
     }
 
     @Test
@@ -195,6 +221,18 @@ class ScheduleManagerTest {
         assertEquals(0, sm.getCards().size());
 
         assertNull(sm.getTask(0).getCard());
+
+        sm.addCard("work", Card.Color.BLUE);
+        Calendar start = Time.getFormattedCalendarInstance(1);
+        start.set(Calendar.HOUR_OF_DAY, 9);
+        Calendar end = (Calendar) start.clone();
+        end.set(Calendar.HOUR_OF_DAY, 10);
+        Event event = sm.addEvent("meeting", 1, new Time.TimeStamp(start, end), false, null);
+        sm.modTask(0, null, null, null, 1);
+        assertTrue(sm.deleteCard(1));
+        assertNull(sm.getCardById(1));
+        assertNull(sm.getTask(0).getCard());
+        assertNull(event.getCard());
     }
 
     @Test
@@ -229,6 +267,457 @@ class ScheduleManagerTest {
         assertFalse(sm.deleteEvent(2));
     }
 
+    @Test
+    void eventsByDay() {
+        ScheduleManager sm = new ScheduleManager();
+
+        Calendar pastStart = Time.getFormattedCalendarInstance(-2);
+        pastStart.set(Calendar.HOUR_OF_DAY, 10);
+        Calendar pastEnd = (Calendar) pastStart.clone();
+        pastEnd.set(Calendar.HOUR_OF_DAY, 11);
+        sm.addEvent("past", null, new Time.TimeStamp(pastStart, pastEnd), false, null);
+
+        Calendar start = Time.getFormattedCalendarInstance(1);
+        start.set(Calendar.HOUR_OF_DAY, 14);
+        Calendar end = (Calendar) start.clone();
+        end.set(Calendar.HOUR_OF_DAY, 15);
+        sm.addEvent("later", null, new Time.TimeStamp(start, end), false, null);
+        start.set(Calendar.HOUR_OF_DAY, 9);
+        end.set(Calendar.HOUR_OF_DAY, 10);
+        sm.addEvent("earlier", null, new Time.TimeStamp(start, end), false, null);
+
+        int tomorrow = Time.toEpochDay(start);
+        assertEquals("earlier", sm.getEventsOnDay(tomorrow).get(0).getName());
+        assertEquals("later", sm.getEventsOnDay(tomorrow).get(1).getName());
+        assertEquals(0, sm.getEventsOnDay(tomorrow + 1).size());
+        assertEquals(3, sm.getEventsInRange(tomorrow - 3, tomorrow).size());
+
+        sm.addTask("essay", 20, Time.getFormattedCalendarInstance(3), null);
+        sm.buildSchedule();
+
+        // the past event is archived and no longer holds back events after it
+        assertEquals(0, sm.getEventsInRange(tomorrow - 3, tomorrow - 1).size());
+        assertEquals(3, sm.getIndivEvents().size());
+        assertEquals(2, sm.getSchedule().get(1).getNumEvents());
+        assertTrue(sm.deleteEvent(0));
+        assertEquals(2, sm.getIndivEvents().size());
+    }
+
+    @Test
+    void buildBestSchedule() {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("lab", 9, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 20, Time.getFormattedCalendarInstance(4), null);
+        sm.addTask("reading", 1.5, Time.getFormattedCalendarInstance(2), null);
+
+        List<StrategyResult> results = sm.buildBestSchedule();
+        assertEquals(ScheduleStrategy.getCandidates().size(), results.size());
+        assertEquals(ScheduleStrategy.DEFAULT, results.get(0).getStrategy());
+
+        StrategyResult chosen = null;
+        for (StrategyResult result : results) {
+            assertTrue(result.getElapsedMillis() >= 0);
+            if (result.getStrategy() == sm.getStrategy()) chosen = result;
+        }
+        assertNotNull(chosen);
+        for (StrategyResult result : results) {
+            assertFalse(result.isBetterThan(chosen));
+        }
+        // the winner is rebuilt on the manager's own Tasks
+        assertEquals(chosen.getErrorCount(), sm.getErrorCount());
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                assertSame(sm.getTask(subTask.getParentTask().getId()), subTask.getParentTask());
+            }
+        }
+        assertEquals(4, sm.getTaskManager().size());
+    }
+
+    @Test
+    void getDays() {
+        ScheduleManager sm = new ScheduleManager();
+        assertNull(sm.getDay(Time.getFormattedCalendarInstance(0)));
+        assertTrue(sm.getDays(Time.getFormattedCalendarInstance(0), Time.getFormattedCalendarInstance(6)).isEmpty());
+        sm.addTask("project", 30, Time.getFormattedCalendarInstance(5), null);
+        sm.buildSchedule();
+        List<Day> schedule = sm.getSchedule();
+        assertEquals(4, schedule.size());
+
+        for (int i = 0; i < schedule.size(); i++) {
+            assertSame(schedule.get(i), sm.getDay(Time.getFormattedCalendarInstance(i)));
+        }
+        assertNull(sm.getDay(Time.getFormattedCalendarInstance(-1)));
+        assertNull(sm.getDay(Time.getFormattedCalendarInstance(4)));
+
+        List<Day> days = sm.getDays(Time.getFormattedCalendarInstance(1), Time.getFormattedCalendarInstance(2));
+        assertEquals(schedule.subList(1, 3), days);
+        // ranges are cut to the schedule
+        assertEquals(schedule, sm.getDays(Time.getFormattedCalendarInstance(-3), Time.getFormattedCalendarInstance(6)));
+        assertTrue(sm.getDays(Time.getFormattedCalendarInstance(5), Time.getFormattedCalendarInstance(6)).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> days.remove(0));
+        assertThrows(IllegalArgumentException.class, () -> sm.getDays(Time.getFormattedCalendarInstance(2), Time.getFormattedCalendarInstance(1)));
+        assertThrows(IllegalArgumentException.class, () -> sm.getDay(null));
+    }
+
+    @Test
+    void rollSchedule() {
+        ScheduleManager sm = new ScheduleManager();
+        assertFalse(sm.isRolling());
+        sm.setRolling(true);
+        assertTrue(sm.isRolling());
+        sm.addTask("essay", 4, Time.getFormattedCalendarInstance(0), null);
+        sm.addTask("reading", 2, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("project", 20, Time.getFormattedCalendarInstance(4), null);
+        sm.buildSchedule();
+        List<Day> kept = new ArrayList<>(sm.getSchedule().subList(1, sm.getSchedule().size()));
+        assertEquals(4, sm.getSchedule().size());
+
+        sm.rollSchedule(Time.getFormattedCalendarInstance(1));
+        // the rest of the Days keep their plans
+        assertEquals(kept, sm.getSchedule());
+        for (int i = 0; i < kept.size(); i++) {
+            assertSame(kept.get(i), sm.getSchedule().get(i));
+        }
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(1)), sm.getSchedule().get(0).getEpochDay());
+        assertEquals(0, sm.getErrorCount());
+
+        // 'essay' is past due and 'reading' was planned in full on the retired Day
+        assertEquals(1, sm.getNumActiveTasks());
+        assertEquals(2, sm.getArchivedTasks().size());
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(4)), sm.getLastDueDate());
+        // the 2 hours of 'project' on the retired Day count as worked
+        double hours = 0;
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                hours += subTask.getSubTaskHours();
+            }
+        }
+        assertEquals(18, hours);
+
+        sm.setRolling(false);
+        assertFalse(sm.isRolling());
+    }
+
+    @Test
+    void getEarliestDueDate() {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 20, Time.getFormattedCalendarInstance(4), null);
+
+        // 8 hours a day: 12 more hours only fit alongside the essay from the third day
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(2)), Time.toEpochDay(sm.getEarliestDueDate(12)));
+        // the project must still fit by its own due date
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(5)), Time.toEpochDay(sm.getEarliestDueDate(20)));
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(0)), Time.toEpochDay(sm.getEarliestDueDate(2)));
+        assertNull(sm.getEarliestDueDate(200));
+        assertThrows(IllegalArgumentException.class, () -> sm.getEarliestDueDate(0));
+        assertThrows(IllegalArgumentException.class, () -> sm.getEarliestDueDate(1.25));
+
+        // nothing is added or built
+        assertEquals(2, sm.getNumActiveTasks());
+        assertTrue(sm.scheduleIsEmpty());
+        assertEquals(2, sm.getLastTaskId());
+    }
+
+    @Test
+    void getLastDueDate() {
+        ScheduleManager sm = new ScheduleManager();
+        assertEquals(Integer.MIN_VALUE, sm.getLastDueDate());
+        sm.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 12, Time.getFormattedCalendarInstance(5), null);
+        sm.buildSchedule();
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(5)), sm.getLastDueDate());
+
+        sm.deleteTask(1);
+        sm.buildSchedule();
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(1)), sm.getLastDueDate());
+
+        // kept up to date without a build
+        sm.addTask("reading", 2, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("notes", 1, Time.getFormattedCalendarInstance(3), null);
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(3)), sm.getLastDueDate());
+        sm.deleteTask(2);
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(3)), sm.getLastDueDate());
+        sm.modTask(3, null, null, Time.getFormattedCalendarInstance(2), null);
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(2)), sm.getLastDueDate());
+        sm.modTask(0, null, null, Time.getFormattedCalendarInstance(6), null);
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(6)), sm.getLastDueDate());
+        sm.deleteTask(0);
+        sm.deleteTask(3);
+        assertEquals(Integer.MIN_VALUE, sm.getLastDueDate());
+
+        // the horizon never goes past the 'maxDays' config option
+        sm.addTask("thesis", 200, Time.getFormattedCalendarInstance(20), null);
+        sm.buildSchedule();
+        assertEquals(sm.getUserConfig().getMaxDays(), sm.getSchedule().size());
+    }
+
+    @Test
+    void improveSchedule() {
+        ScheduleManager sm = new ScheduleManager();
+        ScheduleManager expected = new ScheduleManager();
+        for (ScheduleManager manager : new ScheduleManager[]{sm, expected}) {
+            manager.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+            manager.addTask("project", 12, Time.getFormattedCalendarInstance(5), null);
+            manager.addTask("reading", 3, Time.getFormattedCalendarInstance(4), null);
+            manager.buildSchedule();
+        }
+        assertThrows(IllegalArgumentException.class, () -> sm.improveSchedule(0, 10));
+        sm.improveSchedule(2, 100);
+
+        // every Task keeps its hours, none of them past its due date
+        for (Task task : sm.getTaskManager()) {
+            double hours = 0;
+            for (Day day : sm.getSchedule()) {
+                for (Task.SubTask subTask : day.getSubTaskList()) {
+                    if (subTask.getParentTask() != task) continue;
+                    assertTrue(day.getEpochDay() <= task.getDueDay());
+                    hours += subTask.getSubTaskHours();
+                }
+            }
+            assertEquals(expected.getTask(task.getId()).getTotalHours() - expected.getTask(task.getId()).getSubTotalHoursRemaining(), hours);
+        }
+        assertTrue(sm.getErrorCount() <= expected.getErrorCount());
+
+        // the next build plans every Day again
+        sm.buildSchedule();
+        assertEquals(expected.buildScheduleStr(), sm.buildScheduleStr());
+        assertEquals(expected.getErrorCount(), sm.getErrorCount());
+    }
+
+    @Test
+    void buildScheduleIncrementally() {
+        ScheduleManager sm = new ScheduleManager();
+        ScheduleManager expected = new ScheduleManager();
+
+        for (ScheduleManager manager : new ScheduleManager[]{sm, expected}) {
+            manager.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+            manager.addTask("lab", 4, Time.getFormattedCalendarInstance(3), null);
+            manager.addTask("project", 20, Time.getFormattedCalendarInstance(6), null);
+            manager.addTask("reading", 3, Time.getFormattedCalendarInstance(8), null);
+        }
+        sm.buildSchedule();
+
+        sm.addTask("quiz", 2, Time.getFormattedCalendarInstance(7), null);
+        sm.modTask(1, null, 6.0, null, null);
+        sm.deleteTask(3);
+        sm.buildSchedule();
+
+        expected.addTask("quiz", 2, Time.getFormattedCalendarInstance(7), null);
+        expected.modTask(1, null, 6.0, null, null);
+        expected.deleteTask(3);
+        expected.buildSchedule();
+
+        assertEquals(expected.buildScheduleStr(), sm.buildScheduleStr());
+        assertEquals(expected.buildSubTaskStr(), sm.buildSubTaskStr());
+        assertEquals(expected.getErrorCount(), sm.getErrorCount());
+        assertEquals(4, sm.getTaskManager().size());
+    }
+
+    @Test
+    void streamSchedule() {
+        ScheduleManager sm = new ScheduleManager();
+        ScheduleManager expected = new ScheduleManager();
+        for (ScheduleManager manager : new ScheduleManager[]{sm, expected}) {
+            manager.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+            manager.addTask("lab", 10, Time.getFormattedCalendarInstance(3), null);
+            manager.addTask("project", 30, Time.getFormattedCalendarInstance(8), null);
+        }
+        expected.buildSchedule();
+
+        // stops after the first two Days
+        try (Stream<Day> days = sm.streamSchedule()) {
+            assertEquals(2, days.limit(2).count());
+        }
+        assertEquals(2, sm.getSchedule().size());
+        assertEquals(3, sm.getNumActiveTasks());
+
+        // the rest of the horizon is planned on demand
+        List<Day> streamed = sm.streamSchedule().collect(Collectors.toList());
+        assertEquals(expected.getSchedule().size(), streamed.size());
+        assertEquals(expected.buildScheduleStr(), sm.buildScheduleStr());
+        assertEquals(expected.buildSubTaskStr(), sm.buildSubTaskStr());
+        assertEquals(expected.getErrorCount(), sm.getErrorCount());
+
+        Iterator<Day> stale = sm.streamSchedule().iterator();
+        sm.buildSchedule();
+        assertThrows(ConcurrentModificationException.class, stale::hasNext);
+        assertEquals(expected.buildScheduleStr(), sm.buildScheduleStr());
+    }
+
+    @Test
+    void getInfeasibleTasks() {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("essay", 10, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("lab", 10, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 9, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("thesis", 50, Time.getFormattedCalendarInstance(100), null);
+
+        // 16 hours fit by tomorrow, so the second Task due then overflows
+        List<Task> infeasible = sm.getInfeasibleTasks();
+        assertEquals(1, infeasible.size());
+        assertEquals("lab", infeasible.get(0).getName());
+
+        // an event taking up the whole daily range leaves no room on that Day
+        int day = Time.toEpochDay(Time.getFormattedCalendarInstance(2));
+        sm.addEvent("trip", null, new Time.TimeStamp(day, 0, Time.MINUTES_PER_DAY - 1), false, null);
+        infeasible = sm.getInfeasibleTasks();
+        assertEquals(2, infeasible.size());
+        assertEquals("project", infeasible.get(1).getName());
+
+        sm.buildSchedule();
+        assertTrue(sm.getErrorCount() > 0);
+        assertEquals(4, sm.getNumActiveTasks());
+    }
+
+    @Test
+    void setCustomHours() {
+        ScheduleManager sm = new ScheduleManager();
+        ScheduleManager expected = new ScheduleManager();
+        Calendar holiday = Time.getFormattedCalendarInstance(2);
+
+        for (ScheduleManager manager : new ScheduleManager[]{sm, expected}) {
+            manager.addTask("essay", 6, Time.getFormattedCalendarInstance(1), null);
+            manager.addTask("project", 20, Time.getFormattedCalendarInstance(6), null);
+        }
+        sm.buildSchedule();
+
+        // only the Days from the holiday onward are planned again
+        sm.setCustomHours(holiday, 0);
+        sm.buildSchedule();
+        assertEquals(0, sm.getSchedule().get(2).getCapacity());
+        assertEquals(0, sm.getSchedule().get(2).getHoursFilled());
+
+        expected.setCustomHours(holiday, 0);
+        expected.buildSchedule();
+        assertEquals(expected.buildScheduleStr(), sm.buildScheduleStr());
+        assertEquals(expected.getErrorCount(), sm.getErrorCount());
+
+        // going back to the weekly hours
+        sm.setCustomHours(holiday, null);
+        sm.buildSchedule();
+        assertEquals(sm.getUserConfig().getHoursPerDayOfWeek()[holiday.get(Calendar.DAY_OF_WEEK) - 1],
+                sm.getSchedule().get(2).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> sm.setCustomHours(holiday, 25));
+    }
+
+    @Test
+    void prioritySchedule() {
+        ScheduleManager sm = new ScheduleManager();
+        UserConfig userConfig = new UserConfig(sm.getUserConfig());
+        userConfig.setPriority(true);
+        sm.setUserConfig(userConfig);
+
+        Task soon = sm.addTask("soon", 8, Time.getFormattedCalendarInstance(5), null);
+        Task urgent = sm.addTask("urgent", 8, Time.getFormattedCalendarInstance(10), null, Task.MAX_PRIORITY);
+        Task today = sm.addTask("today", 1, Time.getFormattedCalendarInstance(1), null);
+        sm.buildSchedule();
+
+        // the Tasks due on a Day still come first, then the highest priority takes the spare hours
+        Day second = sm.getSchedule().get(1);
+        List<Task> secondTasks = second.getSubTaskList().stream().map(Task.SubTask::getParentTask).collect(Collectors.toList());
+        assertSame(today, secondTasks.get(0));
+        int urgentDay = -1;
+        int soonDay = -1;
+        for (int i = sm.getSchedule().size() - 1; i >= 0; i--) {
+            for (Task.SubTask subTask : sm.getSchedule().get(i).getSubTaskList()) {
+                if (subTask.getParentTask() == urgent) urgentDay = i;
+                if (subTask.getParentTask() == soon) soonDay = i;
+            }
+        }
+        assertTrue(urgentDay <= soonDay);
+        assertEquals(0, sm.getErrorCount());
+
+        // the priority survives an edit
+        sm.modTask(soon.getId(), null, null, null, null, 3);
+        assertEquals(3, sm.getTask(soon.getId()).getPriority());
+        assertThrows(IllegalArgumentException.class, () -> sm.modTask(soon.getId(), null, null, null, null, 10));
+    }
+
+    @Test
+    void modTaskBelowAssignedHours() {
+        ScheduleManager sm = new ScheduleManager();
+        UserConfig userConfig = new UserConfig(sm.getUserConfig());
+        userConfig.setPriority(true);
+        sm.setUserConfig(userConfig);
+        sm.addTask("essay", 3, Time.getFormattedCalendarInstance(8), null);
+        sm.buildSchedule();
+
+        // the build assigned all 3 hours, so 2.5 hours leaves the Task with less than nothing remaining
+        sm.modTask(0, null, 2.5, null, null);
+        sm.modTask(0, null, null, Time.getFormattedCalendarInstance(7), null);
+        assertTrue(sm.deleteTask(0));
+        assertEquals(0, sm.getNumActiveTasks());
+    }
+
+    @Test
+    void undoRedo() {
+        ScheduleManager sm = new ScheduleManager();
+        assertFalse(sm.undo());
+        sm.addCard("school", Card.Color.RED);
+        sm.addTask("essay", 4, Time.getFormattedCalendarInstance(2), 0);
+        sm.modTask(0, "paper", null, null, null);
+        sm.deleteCard(0);
+        sm.buildSchedule();
+        assertEquals(4, sm.getNumUndos());
+
+        // the Card comes back along with its place on the Task
+        assertTrue(sm.undo());
+        assertEquals("school", sm.getCardById(0).getName());
+        assertSame(sm.getCardById(0), sm.getTask(0).getCard());
+        assertTrue(sm.undo());
+        assertEquals("essay", sm.getTask(0).getName());
+        assertTrue(sm.undo());
+        assertNull(sm.getTask(0));
+        assertEquals(0, sm.getNumActiveTasks());
+
+        assertTrue(sm.redo());
+        assertTrue(sm.redo());
+        assertEquals("paper", sm.getTask(0).getName());
+        assertEquals(1, sm.getNumRedos());
+        sm.buildSchedule();
+        assertEquals(4, sm.getSchedule().stream().mapToDouble(Day::getHoursFilled).sum());
+
+        // a new edit clears the redo history
+        sm.addTask("lab", 2, Time.getFormattedCalendarInstance(3), null);
+        assertFalse(sm.redo());
+        assertEquals(2, sm.getNumActiveTasks());
+    }
+
+    @Test
+    void fork() {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addCard("school", Card.Color.RED);
+        sm.addTask("essay", 4, Time.getFormattedCalendarInstance(2), 0);
+        sm.buildSchedule();
+        String original = sm.buildScheduleStr();
+
+        ScheduleManager fork = sm.fork();
+        assertEquals(2, fork.getNumUndos());
+        assertNotSame(sm.getTask(0), fork.getTask(0));
+        assertSame(fork.getCardById(0), fork.getTask(0).getCard());
+        fork.buildSchedule();
+        assertEquals(original, fork.buildScheduleStr());
+
+        // changes to the fork leave the original alone, and the other way around
+        fork.addTask("project", 10, Time.getFormattedCalendarInstance(3), 0);
+        fork.modCard(0, "work", null);
+        fork.buildSchedule();
+        assertNull(sm.getTask(1));
+        assertEquals("school", sm.getCardById(0).getName());
+        sm.deleteTask(0);
+        assertNotNull(fork.getTask(0));
+        assertEquals(2, fork.getNumActiveTasks());
+
+        // the fork shares the history from before it was created
+        assertTrue(fork.undo());
+        assertTrue(fork.undo());
+        assertTrue(fork.undo());
+        assertNull(fork.getTask(0));
+        assertNotNull(fork.getCardById(0));
+    }
+
     private String eventToString(Event e) {
         StringBuilder eventSb = new StringBuilder();
         eventSb.append(e.getName())
@@ -60,6 +60,17 @@ class TaskTest {
         assertEquals(0, subTask1.compareTo(subTask2));
     }
 
+    @Test
+    void assignHours() {
+        assertTrue(task.assignHours(5));
+        assertFalse(task.assignHours(0));
+        // hours past the total of the Task are not assigned at all
+        assertFalse(task.assignHours(4));
+        assertEquals(3, task.getSubTotalHoursRemaining());
+        assertTrue(task.assignHours(3));
+        assertEquals(0, task.getSubTotalHoursRemaining());
+    }
+
     @Test
     void reset() {
         task.reset();
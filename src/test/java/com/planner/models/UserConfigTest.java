@@ -101,4 +101,34 @@ class UserConfigTest {
         assertFalse(userConfig.isDefaultAtStart());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void setCustomHours() {
+        userConfig.setHoursPerDayOfWeek(new int[]{0, 8, 8, 8, 8, 8, 4});
+        // 2024-01-01 was a Monday
+        int monday = 19723;
+        assertEquals(8, userConfig.getHoursOnDay(monday));
+        assertEquals(44, userConfig.getHoursBetween(monday, monday + 6));
+        assertEquals(0, userConfig.getHoursBetween(monday + 1, monday));
+
+        userConfig.setCustomHours(monday + 2, 2);
+        userConfig.setCustomHours(monday, 0);
+        userConfig.setCustomHours(monday + 6, 12);
+        assertArrayEquals(new int[]{monday, monday + 2, monday + 6}, userConfig.getCustomDays());
+        assertEquals(0, userConfig.getHoursOnDay(monday));
+        assertEquals(2, userConfig.getHoursOnDay(monday + 2));
+        assertEquals(8, userConfig.getHoursOnDay(monday + 7));
+        assertEquals(42, userConfig.getHoursBetween(monday, monday + 6));
+        assertEquals(10, userConfig.getHoursBetween(monday + 1, monday + 2));
+
+        // the copy keeps its own dates
+        UserConfig copy = new UserConfig(userConfig);
+        userConfig.setCustomHours(monday + 2, null);
+        assertArrayEquals(new int[]{monday, monday + 6}, userConfig.getCustomDays());
+        assertEquals(8, userConfig.getHoursOnDay(monday + 2));
+        assertEquals(2, copy.getHoursOnDay(monday + 2));
+
+        assertThrows(IllegalArgumentException.class, () -> userConfig.setCustomHours(monday, -1));
+        assertThrows(IllegalArgumentException.class, () -> userConfig.setCustomHours(monday, 25));
+    }
+}
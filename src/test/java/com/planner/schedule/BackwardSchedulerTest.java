@@ -0,0 +1,83 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackwardSchedulerTest {
+
+    @Test
+    void alapAcrossDueDates() {
+        Scheduler scheduler = new BackwardScheduler(new UserConfig(), null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        taskManager.add(new Task(0, "slides", 4, Time.getFormattedCalendarInstance(2)));
+        taskManager.add(new Task(1, "report", 10, Time.getFormattedCalendarInstance(4)));
+        taskManager.add(new Task(2, "notes", 6, Time.getFormattedCalendarInstance(4)));
+        taskManager.add(new Task(3, "review", 3, Time.getFormattedCalendarInstance(6)));
+
+        double[] filled = new double[6];
+        int errors = 0;
+        for (int i = 0; i < filled.length; i++) {
+            Day day = new Day(i, 8, i + 1);
+            errors = scheduler.assignDay(day, errors, complete, taskManager, Calendar.getInstance());
+            filled[i] = day.getHoursFilled();
+        }
+        // the Tasks due on the fourth day fill it and spill back into the third, and nothing is planned early
+        assertArrayEquals(new double[]{0, 4, 8, 8, 0, 3}, filled);
+        assertEquals(0, errors);
+        assertTrue(taskManager.isEmpty());
+        assertEquals(4, complete.size());
+        assertFalse(scheduler.isIncremental());
+    }
+
+    @Test
+    void noHourCanMoveLater() {
+        Random random = new Random(31);
+        int today = Time.toEpochDay(Calendar.getInstance());
+        for (int trial = 0; trial < 200; trial++) {
+            UserConfig userConfig = new UserConfig();
+            int numDays = 6;
+            for (int k = 0; k < numDays; k++) {
+                userConfig.setCustomHours(today + k + 1, random.nextInt(5));
+            }
+            int numTasks = 2 + random.nextInt(5);
+            Task[] tasks = new Task[numTasks];
+            TaskQueue taskManager = new TaskQueue();
+            for (int id = 0; id < numTasks; id++) {
+                tasks[id] = new Task(id, "task" + id, 0.5 * (1 + random.nextInt(10)),
+                        Time.getFormattedCalendarInstance(1 + random.nextInt(numDays)));
+                taskManager.add(tasks[id]);
+            }
+
+            Scheduler scheduler = new BackwardScheduler(userConfig, null);
+            TaskQueue complete = new TaskQueue();
+            Day[] days = new Day[numDays];
+            for (int k = 0; k < numDays; k++) {
+                days[k] = new Day(k, userConfig.getHoursOnDay(today + k + 1), k + 1);
+                scheduler.assignDay(days[k], 0, complete, taskManager, Calendar.getInstance());
+            }
+            assertTrue(taskManager.isEmpty());
+            for (int k = 0; k < numDays; k++) {
+                for (int i = 0; i < days[k].getNumSubTasks(); i++) {
+                    Task task = days[k].getSubTaskParent(i);
+                    int dueIdx = task.getDueDay() - today - 1;
+                    // no hours after the due date, and every day between a Task's hours and its due date is full
+                    assertTrue(k <= dueIdx, "trial " + trial);
+                    for (int later = k + 1; later <= dueIdx; later++) {
+                        assertTrue(days[later].getHoursFilled() >= days[later].getCapacity(), "trial " + trial);
+                    }
+                }
+            }
+            for (Task task : tasks) assertEquals(0, task.getSubTotalHoursRemaining());
+        }
+    }
+}
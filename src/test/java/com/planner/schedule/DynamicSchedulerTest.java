@@ -0,0 +1,120 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicSchedulerTest {
+
+    /**
+     * Plans the given number of 8 hour Days in a row, starting tomorrow
+     */
+    private static Day[] planDays(Scheduler scheduler, TaskQueue taskManager, TaskQueue complete, int numDays) {
+        Day[] days = new Day[numDays];
+        int errors = 0;
+        for (int i = 0; i < numDays; i++) {
+            days[i] = new Day(i, 8, i + 1);
+            errors = scheduler.assignDay(days[i], errors, complete, taskManager, Calendar.getInstance());
+        }
+        assertEquals(0, errors);
+        return days;
+    }
+
+    private static double getHours(Day day, Task task) {
+        double hours = 0;
+        for (int i = 0; i < day.getNumSubTasks(); i++) {
+            if (day.getSubTaskParent(i) == task) hours += day.getSubTaskHours(i);
+        }
+        return hours;
+    }
+
+    @Test
+    void sharesFollowRates() {
+        UserConfig userConfig = new UserConfig();
+        Scheduler scheduler = new DynamicScheduler(userConfig, null);
+        // a quarter, three eighths and a sixteenth of every hour until the due dates
+        Task report = new Task(0, "report", 6, Time.getFormattedCalendarInstance(3));
+        Task project = new Task(1, "project", 15, Time.getFormattedCalendarInstance(5));
+        Task reading = new Task(2, "reading", 2.5, Time.getFormattedCalendarInstance(5));
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        taskManager.add(report);
+        taskManager.add(project);
+        taskManager.add(reading);
+
+        Day[] days = planDays(scheduler, taskManager, complete, 5);
+        for (int i = 0; i < days.length; i++) {
+            // the rate of each Task is kept as the others are finished
+            assertEquals(i < 3 ? 2 : 0, getHours(days[i], report));
+            assertEquals(3, getHours(days[i], project));
+            // a share below 'minHours' is left for the next Day rather than raised
+            double hours = getHours(days[i], reading);
+            assertTrue(hours == 0 || hours >= userConfig.getMinHours() || i == days.length - 1);
+        }
+        assertTrue(taskManager.isEmpty());
+        assertEquals(3, complete.size());
+        assertEquals(0, reading.getSubTotalHoursRemaining());
+    }
+
+    @Test
+    void smallSharesTakeTurns() {
+        UserConfig userConfig = new UserConfig();
+        Scheduler scheduler = new DynamicScheduler(userConfig, null);
+        // more Tasks than a Day holds blocks of 'minHours', each needing less than a block per day
+        int numTasks = 12;
+        assertTrue(numTasks > 8 / userConfig.getMinHours());
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        for (int id = 0; id < numTasks; id++) {
+            taskManager.add(new Task(id, "task" + id, 4, Time.getFormattedCalendarInstance(10)));
+        }
+
+        Day[] days = planDays(scheduler, taskManager, complete, 10);
+        boolean[] started = new boolean[numTasks];
+        double total = 0;
+        for (int i = 0; i < days.length; i++) {
+            Day day = days[i];
+            // 48 hours over 10 days, so no Day is filled up front
+            assertTrue(day.getHoursFilled() < day.getCapacity());
+            for (int j = 0; j < day.getNumSubTasks(); j++) {
+                assertTrue(day.getSubTaskHours(j) >= userConfig.getMinHours());
+                if (i < 2) started[day.getSubTaskParent(j).getId()] = true;
+            }
+            total += day.getHoursFilled();
+        }
+        // every Task gets its turn within the first two Days
+        for (boolean taskStarted : started) assertTrue(taskStarted);
+        assertEquals(48, total);
+        assertTrue(taskManager.isEmpty());
+        assertEquals(numTasks, complete.size());
+    }
+
+    @Test
+    void overloadedDay() {
+        UserConfig userConfig = new UserConfig();
+        Scheduler scheduler = new DynamicScheduler(userConfig, null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        for (int id = 0; id < 10; id++) {
+            taskManager.add(new Task(id, "task" + id, 3, Time.getFormattedCalendarInstance(2)));
+        }
+
+        Day day = new Day(0, 8, 1);
+        scheduler.assignDay(day, 0, complete, taskManager, Calendar.getInstance());
+        // shares are scaled down to fit the Day, and none of them fall below 'minHours'
+        assertEquals(day.getCapacity(), day.getHoursFilled());
+        for (int i = 0; i < day.getNumSubTasks(); i++) {
+            assertTrue(day.getSubTaskHours(i) >= userConfig.getMinHours());
+        }
+        assertEquals(10, taskManager.size());
+        assertTrue(complete.isEmpty());
+        assertFalse(scheduler.isIncremental());
+    }
+}
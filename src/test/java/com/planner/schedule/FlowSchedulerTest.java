@@ -0,0 +1,126 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowSchedulerTest {
+
+    /**
+     * Finds the most half hours that can be planned on or before the due dates by trying every plan
+     *
+     * @param units half hours of each Task
+     * @param due index of the last day each Task can go on
+     * @param dayUnits half hours each day can hold, which are used up as plans are tried
+     * @param task index of the Task being planned
+     * @param day index of the day being tried for the Task
+     * @param unitsLeft half hours of the Task not yet planned
+     */
+    private static int maxPlanned(int[] units, int[] due, int[] dayUnits, int task, int day, int unitsLeft) {
+        if (task == units.length) return 0;
+        if (day > due[task] || unitsLeft == 0) {
+            return task + 1 == units.length ? 0 : maxPlanned(units, due, dayUnits, task + 1, 0, units[task + 1]);
+        }
+        int best = 0;
+        for (int take = 0; take <= Math.min(unitsLeft, dayUnits[day]); take++) {
+            dayUnits[day] -= take;
+            best = Math.max(best, take + maxPlanned(units, due, dayUnits, task, day + 1, unitsLeft - take));
+            dayUnits[day] += take;
+        }
+        return best;
+    }
+
+    @Test
+    void fewestHoursLeftOver() {
+        Random random = new Random(17);
+        int today = Time.toEpochDay(Calendar.getInstance());
+        for (int trial = 0; trial < 200; trial++) {
+            UserConfig userConfig = new UserConfig();
+            int numDays = 3;
+            int[] dayUnits = new int[numDays];
+            for (int k = 0; k < numDays; k++) {
+                dayUnits[k] = 2 * random.nextInt(3);
+                userConfig.setCustomHours(today + k + 1, dayUnits[k] / 2);
+            }
+            int numTasks = 2 + random.nextInt(3);
+            int[] units = new int[numTasks];
+            int[] due = new int[numTasks];
+            TaskQueue taskManager = new TaskQueue();
+            for (int id = 0; id < numTasks; id++) {
+                units[id] = 1 + random.nextInt(4);
+                due[id] = random.nextInt(numDays);
+                taskManager.add(new Task(id, "task" + id, units[id] / 2.0, Time.getFormattedCalendarInstance(due[id] + 1)));
+            }
+
+            Scheduler scheduler = new FlowScheduler(userConfig, null);
+            TaskQueue complete = new TaskQueue();
+            double overflowHours = 0;
+            for (int k = 0; k < numDays; k++) {
+                Day day = new Day(k, dayUnits[k] / 2.0, k + 1);
+                scheduler.assignDay(day, 0, complete, taskManager, Calendar.getInstance());
+                overflowHours += Math.max(day.getHoursFilled() - day.getCapacity(), 0);
+            }
+            // whatever is not planned by its due date goes past the capacity of that Day
+            int total = Arrays.stream(units).sum();
+            int best = maxPlanned(units, due, dayUnits.clone(), 0, 0, units[0]);
+            assertEquals((total - best) / 2.0, overflowHours, "trial " + trial);
+            assertTrue(taskManager.isEmpty());
+        }
+    }
+
+    @Test
+    void wholeTasksBeforeSplits() {
+        Scheduler scheduler = new FlowScheduler(new UserConfig(), null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        double[] hours = {5, 5, 3, 3};
+        for (int id = 0; id < hours.length; id++) {
+            taskManager.add(new Task(id, "task" + id, hours[id], Time.getFormattedCalendarInstance(3)));
+        }
+
+        Day first = new Day(0, 8, 1);
+        Day second = new Day(1, 8, 2);
+        scheduler.assignDay(first, 0, complete, taskManager, Calendar.getInstance());
+        scheduler.assignDay(second, 0, complete, taskManager, Calendar.getInstance());
+        // each Day takes one long and one short Task whole, rather than splitting the second long one
+        for (Day day : new Day[]{first, second}) {
+            assertEquals(8, day.getHoursFilled());
+            assertEquals(2, day.getNumSubTasks());
+        }
+        assertTrue(taskManager.isEmpty());
+        assertEquals(hours.length, complete.size());
+        assertFalse(scheduler.isIncremental());
+    }
+
+    @Test
+    void assignDayByPriority() {
+        UserConfig userConfig = new UserConfig();
+        userConfig.setPriority(true);
+        Scheduler scheduler = new FlowScheduler(userConfig, null);
+        Task low = new Task(0, "low", 6, Time.getFormattedCalendarInstance(1));
+        Task high = new Task(1, "high", 4, Time.getFormattedCalendarInstance(1));
+        high.setPriority(5);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        taskManager.add(low);
+        taskManager.add(high);
+
+        Day day = new Day(1, 4, 1);
+        scheduler.assignDay(day, 0, complete, taskManager, Calendar.getInstance());
+        // the Day cannot fit both, so the hours left over are taken from the lower priority
+        Task.SubTask first = day.getSubTask(0);
+        assertSame(high, first.getParentTask());
+        assertFalse(first.isOverflow());
+        assertSame(low, day.getSubTask(day.getNumSubTasks() - 1).getParentTask());
+        assertTrue(complete.contains(low));
+    }
+}
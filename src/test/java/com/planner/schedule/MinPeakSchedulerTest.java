@@ -0,0 +1,132 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinPeakSchedulerTest {
+
+    /**
+     * Finds the lightest busiest day of any plan that does every Task by its due date, by trying every plan
+     *
+     * @param units half hours of each Task
+     * @param due index of the last day each Task can go on
+     * @param dayUnits half hours each day can hold
+     * @param load half hours planned on each day so far
+     * @param task index of the Task being planned
+     * @param day index of the day being tried for the Task
+     * @param unitsLeft half hours of the Task not yet planned
+     * @return half hours of the busiest day, or Integer.MAX_VALUE if no plan does every Task in time
+     */
+    private static int minPeak(int[] units, int[] due, int[] dayUnits, int[] load, int task, int day, int unitsLeft) {
+        if (unitsLeft == 0) {
+            if (task + 1 < units.length) return minPeak(units, due, dayUnits, load, task + 1, 0, units[task + 1]);
+            int peak = 0;
+            for (int dayLoad : load) peak = Math.max(peak, dayLoad);
+            return peak;
+        }
+        if (day > due[task]) return Integer.MAX_VALUE;
+        int best = Integer.MAX_VALUE;
+        for (int take = 0; take <= Math.min(unitsLeft, dayUnits[day] - load[day]); take++) {
+            load[day] += take;
+            best = Math.min(best, minPeak(units, due, dayUnits, load, task, day + 1, unitsLeft - take));
+            load[day] -= take;
+        }
+        return best;
+    }
+
+    @Test
+    void peakMatchesBruteForce() {
+        Random random = new Random(23);
+        int today = Time.toEpochDay(Calendar.getInstance());
+        int numChecked = 0;
+        for (int trial = 0; trial < 200; trial++) {
+            UserConfig userConfig = new UserConfig();
+            int numDays = 4;
+            int[] dayUnits = new int[numDays];
+            for (int k = 0; k < numDays; k++) {
+                dayUnits[k] = 2 * random.nextInt(4);
+                userConfig.setCustomHours(today + k + 1, dayUnits[k] / 2);
+            }
+            int numTasks = 2 + random.nextInt(2);
+            int[] units = new int[numTasks];
+            int[] due = new int[numTasks];
+            TaskQueue taskManager = new TaskQueue();
+            for (int id = 0; id < numTasks; id++) {
+                units[id] = 1 + random.nextInt(5);
+                due[id] = random.nextInt(numDays);
+                taskManager.add(new Task(id, "task" + id, units[id] / 2.0, Time.getFormattedCalendarInstance(due[id] + 1)));
+            }
+            int best = minPeak(units, due, dayUnits, new int[numDays], 0, 0, units[0]);
+            if (best == Integer.MAX_VALUE) continue;
+            numChecked++;
+
+            Scheduler scheduler = new MinPeakScheduler(userConfig, null);
+            TaskQueue complete = new TaskQueue();
+            int errors = 0;
+            double peakHours = 0;
+            for (int k = 0; k < numDays; k++) {
+                Day day = new Day(k, dayUnits[k] / 2.0, k + 1);
+                errors = scheduler.assignDay(day, errors, complete, taskManager, Calendar.getInstance());
+                peakHours = Math.max(peakHours, day.getHoursFilled());
+            }
+            // every Task is done in time, and no plan that does so has a lighter busiest day
+            assertEquals(0, errors, "trial " + trial);
+            assertEquals(best / 2.0, peakHours, "trial " + trial);
+            assertTrue(taskManager.isEmpty());
+        }
+        assertTrue(numChecked > 50);
+    }
+
+    @Test
+    void peakKeptAfterTightDueDate() {
+        Scheduler scheduler = new MinPeakScheduler(new UserConfig(), null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        // the first Task forces 2.5 hours a day until its due date, which the rest then keep to
+        taskManager.add(new Task(0, "slides", 5, Time.getFormattedCalendarInstance(2)));
+        taskManager.add(new Task(1, "notes", 2, Time.getFormattedCalendarInstance(4)));
+        taskManager.add(new Task(2, "review", 3, Time.getFormattedCalendarInstance(5)));
+
+        double[] filled = new double[5];
+        for (int i = 0; i < filled.length; i++) {
+            Day day = new Day(i, 8, i + 1);
+            scheduler.assignDay(day, 0, complete, taskManager, Calendar.getInstance());
+            filled[i] = day.getHoursFilled();
+        }
+        assertArrayEquals(new double[]{2.5, 2.5, 2.5, 2.5, 0}, filled);
+        assertTrue(taskManager.isEmpty());
+        assertFalse(scheduler.isIncremental());
+    }
+
+    @Test
+    void noCapFits() {
+        Scheduler scheduler = new MinPeakScheduler(new UserConfig(), null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        Task early = new Task(0, "early", 6, Time.getFormattedCalendarInstance(1));
+        Task late = new Task(1, "late", 9, Time.getFormattedCalendarInstance(2));
+        taskManager.add(early);
+        taskManager.add(late);
+
+        Day first = new Day(0, 4, 1);
+        Day second = new Day(1, 8, 2);
+        scheduler.assignDay(first, 0, complete, taskManager, Calendar.getInstance());
+        scheduler.assignDay(second, 0, complete, taskManager, Calendar.getInstance());
+        // the Days are filled by earliest due date, and whatever is left goes past the due date's capacity
+        assertEquals(6, first.getHoursFilled());
+        assertTrue(first.getSubTask(first.getNumSubTasks() - 1).isOverflow());
+        assertEquals(9, second.getHoursFilled());
+        assertTrue(second.getSubTask(second.getNumSubTasks() - 1).isOverflow());
+        assertTrue(taskManager.isEmpty());
+        assertEquals(2, complete.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleImproverTest {
+
+    /**
+     * Builds Days with the compact scheduler, which front-loads the Tasks
+     */
+    private static List<Day> build(UserConfig userConfig, int numDays, Task... tasks) {
+        Scheduler scheduler = new CompactScheduler(userConfig, null);
+        TaskQueue taskManager = new TaskQueue();
+        TaskQueue complete = new TaskQueue();
+        for (Task task : tasks) {
+            taskManager.add(task);
+        }
+        List<Day> days = new ArrayList<>();
+        for (int i = 1; i <= numDays; i++) {
+            Day day = new Day(i, 8, i);
+            scheduler.assignDay(day, 0, complete, taskManager, Calendar.getInstance());
+            days.add(day);
+        }
+        return days;
+    }
+
+    private static double getHours(Day day, Task task) {
+        double hours = 0;
+        for (Task.SubTask subTask : day.getSubTaskList()) {
+            if (subTask.getParentTask() == task) hours += subTask.getSubTaskHours();
+        }
+        return hours;
+    }
+
+    @Test
+    void improve() {
+        UserConfig userConfig = new UserConfig();
+        Task essay = new Task(0, "essay", 8, Time.getFormattedCalendarInstance(4));
+        Task lab = new Task(1, "lab", 2, Time.getFormattedCalendarInstance(1));
+        List<Day> days = build(userConfig, 4, essay, lab);
+        assertEquals(8, days.get(0).getHoursFilled());
+
+        ScheduleImprover improver = new ScheduleImprover(userConfig, days, new double[]{8, 8, 8, 8});
+        assertTrue(improver.improve(2, 100));
+        assertTrue(improver.getBestCost() < improver.getCurrentCost());
+        int[] errors = improver.apply(Calendar.getInstance(), null);
+        assertEquals(improver.getBestCost(), improver.getCurrentCost());
+
+        // the load is spread out, with every piece at least 'minHours' long
+        double essayHours = 0;
+        for (int i = 0; i < days.size(); i++) {
+            Day day = days.get(i);
+            assertTrue(day.getHoursFilled() < 8);
+            assertTrue(errors[i] <= 0);
+            double hours = getHours(day, essay);
+            assertTrue(hours == 0 || hours >= userConfig.getMinHours());
+            essayHours += hours;
+        }
+        assertEquals(8, essayHours);
+        // the lab cannot move past its due date
+        assertEquals(2, getHours(days.get(0), lab));
+        assertEquals(0, essay.getSubTotalHoursRemaining());
+        assertEquals(0, lab.getSubTotalHoursRemaining());
+    }
+
+    @Test
+    void improveOverflow() {
+        UserConfig userConfig = new UserConfig();
+        Task essay = new Task(0, "essay", 4, Time.getFormattedCalendarInstance(2));
+        List<Day> days = build(userConfig, 2, essay);
+        assertEquals(4, days.get(0).getHoursFilled());
+
+        // events leave only an hour free on the first Day
+        ScheduleImprover improver = new ScheduleImprover(userConfig, days, new double[]{1, 8});
+        assertTrue(improver.improve(1, 50));
+        improver.apply(Calendar.getInstance(), null);
+        assertTrue(days.get(0).getHoursFilled() <= 1);
+        assertEquals(4, getHours(days.get(0), essay) + getHours(days.get(1), essay));
+        assertEquals(0, essay.getSubTotalHoursRemaining());
+    }
+
+    @Test
+    void improveInvalid() {
+        UserConfig userConfig = new UserConfig();
+        List<Day> days = build(userConfig, 2, new Task(0, "essay", 4, Time.getFormattedCalendarInstance(2)));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleImprover(userConfig, days, new double[]{8}));
+        ScheduleImprover improver = new ScheduleImprover(userConfig, days, new double[]{8, 8});
+        assertThrows(IllegalArgumentException.class, () -> improver.improve(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> improver.improve(1, -1));
+        // with no time to search, the Days are left as they are
+        assertFalse(improver.improve(1, 0));
+        assertEquals(4, days.get(0).getHoursFilled());
+    }
+}
@@ -0,0 +1,110 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.TaskQueue;
+import com.planner.util.Time;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares {@link FlowScheduler} and {@link MinPeakScheduler} against the greedy {@link CompactScheduler} on an
+ * overloaded backlog, including how many Days each Task ends up spread over. It is not run
+ * with the tests, and can be started from its main method with the test classpath.
+ *
+ * @author Andrew Roe
+ */
+public class SchedulerBenchmark {
+
+    /** Number of Tasks in the backlog */
+    private static final int NUM_TASKS = 2000;
+    /** Number of Tasks in the backlog of longer Tasks, which can be split over several Days */
+    private static final int NUM_LONG_TASKS = 350;
+    /** Number of Days planned */
+    private static final int NUM_DAYS = 90;
+    /** Number of times each scheduler plans the backlog, where the first runs only warm up */
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        UserConfig userConfig = new UserConfig();
+        userConfig.setHoursPerDayOfWeek(new int[]{12, 12, 12, 12, 12, 12, 12});
+        for (boolean priority : new boolean[]{false, true}) {
+            userConfig.setPriority(priority);
+            for (boolean longTasks : new boolean[]{false, true}) {
+                System.out.println("priority scheduling: " + priority + ", long tasks: " + longTasks);
+                for (int run = 0; run < RUNS; run++) {
+                    boolean report = run == RUNS - 1;
+                    TaskQueue queue = priority ? TaskQueue.byPriority() : new TaskQueue();
+                    bench("compact", new CompactScheduler(userConfig, null), userConfig, queue, longTasks, report);
+                    bench("min-cost-flow", new FlowScheduler(userConfig, null), userConfig, new TaskQueue(), longTasks, report);
+                    bench("min-peak", new MinPeakScheduler(userConfig, null), userConfig, new TaskQueue(), longTasks, report);
+                }
+            }
+
+            // a single Day, which solves the flow over the whole backlog
+            TaskQueue backlog = createBacklog(false);
+            long start = System.nanoTime();
+            new FlowScheduler(userConfig, null).assignDay(new Day(1, 12, 1), 0, new TaskQueue(), backlog, Calendar.getInstance());
+            System.out.printf("one Day for %d tasks x %d days: %.1f ms%n", NUM_TASKS, NUM_DAYS, (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    private static void bench(String name, Scheduler scheduler, UserConfig userConfig, TaskQueue taskManager,
+                              boolean longTasks, boolean report) {
+        taskManager.addAll(createBacklog(longTasks));
+        TaskQueue complete = new TaskQueue();
+        Calendar now = Calendar.getInstance();
+        int errors = 0;
+        double overflowHours = 0;
+        double peakHours = 0;
+        Day[] days = new Day[NUM_DAYS];
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_DAYS; i++) {
+            days[i] = new Day(i, userConfig.getHoursOnDay(Time.toEpochDay(now) + i + 1), i + 1);
+            errors = scheduler.assignDay(days[i], errors, complete, taskManager, now);
+            overflowHours += Math.max(days[i].getHoursFilled() - days[i].getCapacity(), 0);
+            peakHours = Math.max(peakHours, days[i].getHoursFilled());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Tasks with any hours past the capacity of a Day, and how many of them have a high priority
+        Set<Task> late = new HashSet<>();
+        for (Day day : days) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask.isOverflow()) late.add(subTask.getParentTask());
+            }
+        }
+        long lateHighPriority = late.stream().filter(task -> task.getPriority() > Task.MAX_PRIORITY / 2).count();
+        // fragmentation is the number of Days each planned Task is spread over
+        int taskDays = 0;
+        Set<Task> planned = new HashSet<>();
+        for (Day day : days) {
+            Set<Task> onDay = new HashSet<>();
+            for (int i = 0; i < day.getNumSubTasks(); i++) onDay.add(day.getSubTaskParent(i));
+            taskDays += onDay.size();
+            planned.addAll(onDay);
+        }
+        if (report) {
+            System.out.printf("%-14s %7.1f ms  errors=%d  overflow hours=%.1f  peak hours=%.1f  late tasks=%d (high priority %d)  days per task=%.3f%n",
+                    name, elapsed / 1e6, errors, overflowHours, peakHours, late.size(), lateHighPriority,
+                    (double) taskDays / planned.size());
+        }
+    }
+
+    private static TaskQueue createBacklog(boolean longTasks) {
+        // about a third more work than the Days can hold, spread over the horizon, in Tasks of up to 1 or 8 hours
+        Random random = new Random(42);
+        TaskQueue backlog = new TaskQueue();
+        for (int id = 0; id < (longTasks ? NUM_LONG_TASKS : NUM_TASKS); id++) {
+            Task task = new Task(id, "task" + id, 0.5 * (1 + random.nextInt(longTasks ? 16 : 2)),
+                    Time.getFormattedCalendarInstance(1 + random.nextInt(NUM_DAYS)));
+            task.setPriority(random.nextInt(Task.MAX_PRIORITY + 1));
+            backlog.add(task);
+        }
+        return backlog;
+    }
+}
@@ -0,0 +1,130 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayTest {
+
+    @Test
+    void compactSubTasks() {
+        UserConfig userConfig = new UserConfig();
+        Day day = new Day(0, 8, 1);
+        day.addEvent(new Event(0, "lecture", null, new Time.TimeStamp(day.getEpochDay(), 9 * 60, 9 * 60 + 30)));
+        Task essay = new Task(0, "essay", 2, Time.getFormattedCalendarInstance(1));
+        Task lab = new Task(1, "lab", 1, Time.getFormattedCalendarInstance(1));
+
+        // essay is split around the lecture: 8:00-9:00 and 9:30-10:30, then lab runs 10:30-11:30
+        day.addPlainSubTask(essay, 2, userConfig, 0, false);
+        day.addPlainSubTask(lab, 1, userConfig, 0, false);
+        assertEquals(3, day.getNumSubTasks());
+
+        assertEquals(0, day.compactSubTasks());
+        assertEquals(2, day.getNumSubTasks());
+        assertSame(lab, day.getSubTask(0).getParentTask());
+        assertEquals(8 * 60, day.getTaskTimeStamps().get(0).getStartMinute());
+        assertEquals(9 * 60, day.getTaskTimeStamps().get(0).getEndMinute());
+        assertSame(essay, day.getSubTask(1).getParentTask());
+        assertEquals(2, day.getSubTask(1).getSubTaskHours());
+        assertEquals(9 * 60 + 30, day.getTaskTimeStamps().get(1).getStartMinute());
+        assertEquals(11 * 60 + 30, day.getTaskTimeStamps().get(1).getEndMinute());
+
+        // hours assigned to the Tasks and the Day are unchanged
+        assertEquals(0, essay.getSubTotalHoursRemaining());
+        assertEquals(0, lab.getSubTotalHoursRemaining());
+        assertEquals(3, day.getHoursFilled());
+
+        // nothing left to gain
+        assertEquals(0, day.compactSubTasks());
+        assertEquals(2, day.getNumSubTasks());
+    }
+
+    @Test
+    void compactSubTasksSplit() {
+        UserConfig userConfig = new UserConfig();
+        Day day = new Day(0, 8, 1);
+        day.addEvent(new Event(0, "lecture", null, new Time.TimeStamp(day.getEpochDay(), 9 * 60, 10 * 60)));
+        Task essay = new Task(0, "essay", 3, Time.getFormattedCalendarInstance(1));
+
+        // the only Task cannot fit any single gap, so the Day is left alone
+        day.addPlainSubTask(essay, 3, userConfig, 0, false);
+        assertEquals(2, day.getNumSubTasks());
+        assertEquals(1, day.compactSubTasks());
+        assertEquals(2, day.getNumSubTasks());
+        assertEquals(0, essay.getSubTotalHoursRemaining());
+    }
+
+    @Test
+    void daySkeleton() {
+        Event.DayOfWeek[] days = {Event.DayOfWeek.MON};
+        Event lecture = new Event(0, "lecture", null, new Time.TimeStamp(0, 10 * 60, 11 * 60), days);
+        Event lab = new Event(1, "lab", null, new Time.TimeStamp(0, 8 * 60, 9 * 60), days);
+        Event clash = new Event(2, "clash", null, new Time.TimeStamp(0, 10 * 60 + 30, 12 * 60), days);
+        DaySkeleton skeleton = new DaySkeleton(List.of(lecture, lab, clash));
+
+        // events are sorted by start time, and one that conflicts with an earlier event is left out
+        assertEquals(2, skeleton.getNumEvents());
+        assertSame(lab, skeleton.getEvent(0));
+        assertSame(lecture, skeleton.getEvent(1));
+        assertEquals(10 * 60, skeleton.countFree(8 * 60, 20 * 60));
+
+        Day first = new Day(0, 8, Time.getFormattedCalendarInstance(1), skeleton);
+        Day second = new Day(1, 8, Time.getFormattedCalendarInstance(8), skeleton);
+        assertEquals(2, first.getNumEvents());
+        // an individual event still has to fit around the recurring ones
+        assertFalse(first.addEvent(new Event(3, "meeting", null, new Time.TimeStamp(first.getEpochDay(), 8 * 60 + 30, 9 * 60 + 30))));
+        assertTrue(first.addEvent(new Event(4, "meeting", null, new Time.TimeStamp(first.getEpochDay(), 9 * 60, 10 * 60))));
+        assertEquals(3, first.getNumEvents());
+        assertEquals("meeting", first.getEvent(1).getName());
+
+        // each Day gets its own copies of the events, dated to the Day
+        assertEquals(2, second.getEventList().size());
+        assertEquals(second.getEpochDay(), second.getEventTimeStamps().get(1).getDay());
+        assertNotSame(first.getEvent(0), second.getEvent(0));
+
+        Task essay = new Task(0, "essay", 3, Time.getFormattedCalendarInstance(8));
+        second.addPlainSubTask(essay, 3, new UserConfig(), 0, false);
+        // 9:00-10:00 and 11:00-13:00 around the lab and lecture
+        assertEquals(9 * 60, second.getTaskTimeStamps().get(0).getStartMinute());
+        assertEquals(11 * 60, second.getTaskTimeStamps().get(1).getStartMinute());
+    }
+
+    @Test
+    void subTaskViews() {
+        UserConfig userConfig = new UserConfig();
+        Day day = new Day(0, 8, 1);
+        Task essay = new Task(0, "essay", 6, Time.getFormattedCalendarInstance(2));
+        Task lab = new Task(1, "lab", 1.5, Time.getFormattedCalendarInstance(2));
+        for (int i = 0; i < 5; i++) {
+            day.addPlainSubTask(essay, 1, userConfig, 0, false);
+        }
+        day.addPlainSubTask(lab, 1.5, userConfig, 0, false);
+        assertEquals(6, day.getNumSubTasks());
+        assertEquals(1, essay.getSubTotalHoursRemaining());
+
+        List<Task.SubTask> subTasks = day.getSubTaskList();
+        List<Time.TimeStamp> timeStamps = day.getTaskTimeStamps();
+        assertEquals(6, subTasks.size());
+        assertEquals(6, timeStamps.size());
+        Task.SubTask last = subTasks.get(5);
+        assertSame(lab, last.getParentTask());
+        assertSame(lab, day.getSubTaskParent(5));
+        assertEquals(1.5, last.getSubTaskHours());
+        assertEquals(1.5, day.getSubTaskHours(5));
+        assertFalse(last.isOverflow());
+        assertEquals("01:00pm-02:30pm", last.getTimeStamp().toString());
+        assertEquals(13 * 60, timeStamps.get(5).getStartMinute());
+        assertThrows(UnsupportedOperationException.class, () -> subTasks.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> day.getSubTask(6));
+
+        day.clearSubTasks();
+        assertEquals(0, day.getNumSubTasks());
+        assertTrue(day.getTaskTimeStamps().isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.planner.schedule.day;
+
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+
+    @Test
+    void occupy() {
+        Occupancy occupancy = new Occupancy();
+        assertTrue(occupancy.isFree(0, Time.MINUTES_PER_DAY));
+        assertEquals(-1, occupancy.nextOccupied(0));
+
+        // crosses a word boundary (minute 64)
+        occupancy.occupy(60, 130);
+        assertFalse(occupancy.isFree(0, 61));
+        assertTrue(occupancy.isFree(0, 60));
+        assertTrue(occupancy.isFree(130, 200));
+        assertFalse(occupancy.isFree(100, 110));
+        assertFalse(occupancy.isFree(30, 200));
+
+        occupancy.occupy(23 * 60, Time.MINUTES_PER_DAY + 30);
+        assertFalse(occupancy.isFree(Time.MINUTES_PER_DAY - 1, Time.MINUTES_PER_DAY));
+    }
+
+    @Test
+    void nextOccupied() {
+        Occupancy occupancy = new Occupancy();
+        occupancy.occupy(9 * 60 + 10, 10 * 60);
+        occupancy.occupy(12 * 60, 12 * 60 + 50);
+        assertEquals(9 * 60 + 10, occupancy.nextOccupied(0));
+        assertEquals(9 * 60 + 30, occupancy.nextOccupied(9 * 60 + 30));
+        assertEquals(12 * 60, occupancy.nextOccupied(10 * 60));
+        assertEquals(-1, occupancy.nextOccupied(12 * 60 + 50));
+        assertEquals(-1, occupancy.nextOccupied(Time.MINUTES_PER_DAY + 5));
+    }
+
+    @Test
+    void nextFree() {
+        Occupancy occupancy = new Occupancy();
+        occupancy.occupy(9 * 60, 10 * 60);
+        occupancy.occupy(10 * 60, 11 * 60 + 5);
+        assertEquals(8 * 60, occupancy.nextFree(8 * 60));
+        assertEquals(11 * 60 + 5, occupancy.nextFree(9 * 60));
+
+        occupancy.occupy(22 * 60, Time.MINUTES_PER_DAY);
+        assertEquals(Time.MINUTES_PER_DAY, occupancy.nextFree(23 * 60));
+        assertEquals(Time.MINUTES_PER_DAY + 20, occupancy.nextFree(Time.MINUTES_PER_DAY + 20));
+    }
+
+    @Test
+    void countOccupied() {
+        Occupancy occupancy = new Occupancy();
+        assertEquals(0, occupancy.countOccupied(0, Time.MINUTES_PER_DAY));
+        occupancy.occupy(60, 130);
+        occupancy.occupy(20 * 60, 21 * 60);
+        assertEquals(130, occupancy.countOccupied(0, Time.MINUTES_PER_DAY));
+        assertEquals(30, occupancy.countOccupied(100, 200));
+        assertEquals(0, occupancy.countOccupied(130, 20 * 60));
+        assertEquals(60, occupancy.countOccupied(20 * 60, Time.MINUTES_PER_DAY + 60));
+    }
+}
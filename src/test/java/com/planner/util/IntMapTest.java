@@ -0,0 +1,60 @@
+package com.planner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntMapTest {
+
+    @Test
+    void putGetRemove() {
+        IntMap<String> map = new IntMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(3, "three"));
+        assertNull(map.put(-7, "minus seven"));
+        assertEquals("three", map.put(3, "THREE"));
+        assertEquals("THREE", map.get(3));
+        assertEquals("minus seven", map.get(-7));
+        assertNull(map.get(4));
+        assertEquals(2, map.size());
+
+        assertEquals("THREE", map.remove(3));
+        assertNull(map.remove(3));
+        assertFalse(map.containsKey(3));
+        assertTrue(map.containsKey(-7));
+        assertEquals(1, map.size());
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void matchesHashMap() {
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 500; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+
+        Set<Integer> values = new HashSet<>();
+        for (int value : map) {
+            values.add(value);
+        }
+        assertEquals(new HashSet<>(expected.values()), values);
+    }
+}
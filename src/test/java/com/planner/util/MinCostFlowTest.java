@@ -0,0 +1,43 @@
+package com.planner.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinCostFlowTest {
+
+    @Test
+    void solve() {
+        // two routes from 0 to 3, where the cheap one can only carry part of the flow
+        MinCostFlow network = new MinCostFlow(4);
+        network.addEdge(0, 1, 4, 0);
+        int cheap = network.addEdge(1, 3, 3, 1);
+        int detour = network.addEdge(1, 2, 5, 1);
+        network.addEdge(2, 3, 5, 2);
+        network.addEdge(0, 2, 2, 0);
+
+        long[] result = network.solve(0, 3);
+        assertEquals(6, result[0]);
+        assertEquals(3 * 1 + 1 * 3 + 2 * 2, result[1]);
+        assertEquals(3, network.getFlow(cheap));
+        assertEquals(1, network.getFlow(detour));
+    }
+
+    @Test
+    void reroutesFlow() {
+        // the first path found uses the edge that the cheapest overall flow has to leave for another route
+        MinCostFlow network = new MinCostFlow(4);
+        network.addEdge(0, 1, 1, 0);
+        network.addEdge(0, 2, 1, 0);
+        int shared = network.addEdge(1, 2, 1, 0);
+        network.addEdge(1, 3, 1, 10);
+        network.addEdge(2, 3, 1, 0);
+
+        long[] result = network.solve(0, 3);
+        assertEquals(2, result[0]);
+        assertEquals(10, result[1]);
+        assertEquals(0, network.getFlow(shared));
+        assertThrows(IllegalArgumentException.class, () -> network.addEdge(0, 1, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> network.addEdge(0, 4, 1, 0));
+    }
+}
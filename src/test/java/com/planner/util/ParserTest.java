@@ -4,6 +4,7 @@ import com.planner.models.Card;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Calendar;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +35,18 @@ class ParserTest {
     void parseDay() {
     }
 
+    @Test
+    void parseRange() {
+        Calendar[] range = Parser.parseRange(Parser.tokenize("sched tmrw"), 1);
+        assertEquals(Time.toEpochDay(Time.getFormattedCalendarInstance(1)), Time.toEpochDay(range[0]));
+        assertEquals(Time.toEpochDay(range[0]), Time.toEpochDay(range[1]));
+        range = Parser.parseRange(Parser.tokenize("sched today 7"), 1);
+        assertEquals(Time.toEpochDay(range[0]) + 6, Time.toEpochDay(range[1]));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseRange(Parser.tokenize("sched today 0"), 1));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseRange(Parser.tokenize("sched today x"), 1));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseRange(Parser.tokenize("sched"), 1));
+    }
+
     @Test
     void parseModTask() {
     }
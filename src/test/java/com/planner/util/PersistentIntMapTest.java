@@ -0,0 +1,80 @@
+package com.planner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentIntMapTest {
+
+    @Test
+    void putGetRemove() {
+        PersistentIntMap<String> empty = PersistentIntMap.empty();
+        PersistentIntMap<String> one = empty.put(3, "three");
+        PersistentIntMap<String> two = one.put(40_000, "forty thousand");
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get(3));
+        assertEquals("three", one.get(3));
+        assertNull(one.get(40_000));
+        assertEquals("forty thousand", two.get(40_000));
+        assertEquals("three", two.get(3));
+        assertEquals(2, two.size());
+
+        PersistentIntMap<String> removed = two.remove(3);
+        assertNull(removed.get(3));
+        assertEquals("three", two.get(3));
+        assertEquals(1, removed.size());
+        assertSame(removed, removed.remove(3));
+        assertTrue(removed.remove(40_000).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> one.put(-1, "minus one"));
+        assertThrows(IllegalArgumentException.class, () -> one.put(1, null));
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(7);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 3000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        int count = 0;
+        for (Integer value : map) {
+            count++;
+            assertTrue(value > -1);
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test
+    void diff() {
+        PersistentIntMap<String> before = PersistentIntMap.empty();
+        for (int i = 0; i < 100; i++) before = before.put(i, "v" + i);
+        PersistentIntMap<String> after = before.put(5, "changed").remove(60).put(5000, "new");
+
+        List<String> seen = new ArrayList<>();
+        before.diff(after, (key, value, otherValue) -> seen.add(key + ":" + value + ":" + otherValue));
+        assertEquals(List.of("5:v5:changed", "60:v60:null", "5000:null:new"), seen);
+
+        seen.clear();
+        after.diff(after, (key, value, otherValue) -> seen.add(key + ""));
+        assertTrue(seen.isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+package com.planner.util;
+
+import com.planner.models.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskQueueTest {
+
+    private static Task createTask(int id, int dueIn, double hours) {
+        return new Task(id, "task" + id, hours, Time.getFormattedCalendarInstance(dueIn), null);
+    }
+
+    @Test
+    void offerPoll() {
+        TaskQueue queue = new TaskQueue();
+        Task later = createTask(0, 4, 2);
+        Task sooner = createTask(1, 1, 2);
+        Task longer = createTask(2, 1, 5);
+        queue.add(later);
+        queue.add(sooner);
+        queue.add(longer);
+
+        assertEquals(3, queue.size());
+        assertSame(longer, queue.peek());
+        assertSame(sooner, queue.get(1));
+        assertThrows(IllegalArgumentException.class, () -> queue.add(createTask(1, 2, 1)));
+
+        assertSame(longer, queue.poll());
+        assertSame(sooner, queue.poll());
+        assertSame(later, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void removeAndUpdate() {
+        TaskQueue queue = new TaskQueue();
+        Task first = createTask(0, 1, 2);
+        Task second = createTask(1, 2, 2);
+        Task third = createTask(2, 3, 2);
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        // an equal Task with the same ID is not the one being held
+        assertFalse(queue.remove(createTask(1, 2, 2)));
+        assertSame(second, queue.removeById(1));
+        assertNull(queue.removeById(1));
+        assertFalse(queue.contains(second));
+
+        first.setDueDate(Time.getFormattedCalendarInstance(5));
+        assertTrue(queue.update(first));
+        assertSame(third, queue.peek());
+        assertFalse(queue.update(second));
+    }
+
+    @Test
+    void peekDueDay() {
+        TaskQueue queue = new TaskQueue();
+        assertEquals(Integer.MAX_VALUE, queue.peekDueDay());
+        Task sooner = createTask(0, 1, 2);
+        Task later = createTask(1, 3, 2);
+        queue.add(later);
+        queue.add(sooner);
+        assertEquals(sooner.getDueDay(), queue.peekDueDay());
+
+        // an emptied bucket is skipped over and can be filled again
+        assertSame(sooner, queue.poll());
+        assertEquals(later.getDueDay(), queue.peekDueDay());
+        queue.add(sooner);
+        assertSame(sooner, queue.peek());
+        assertTrue(queue.remove(sooner));
+        assertTrue(queue.remove(later));
+        assertEquals(Integer.MAX_VALUE, queue.peekDueDay());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    @Test
+    void matchesPriorityQueue() {
+        Random random = new Random(7);
+        TaskQueue queue = new TaskQueue();
+        PriorityQueue<Task> expected = new PriorityQueue<>();
+        List<Task> held = new ArrayList<>();
+        for (int id = 0; id < 2000; id++) {
+            int op = random.nextInt(4);
+            if (op == 0 && !held.isEmpty()) {
+                Task task = held.remove(random.nextInt(held.size()));
+                assertTrue(queue.remove(task));
+                expected.remove(task);
+            } else if (op == 1 && !held.isEmpty()) {
+                Task task = held.get(random.nextInt(held.size()));
+                expected.remove(task);
+                task.setDueDate(Time.getFormattedCalendarInstance(random.nextInt(30)));
+                expected.add(task);
+                assertTrue(queue.update(task));
+            } else {
+                Task task = createTask(id, random.nextInt(30), 1 + random.nextInt(8));
+                held.add(task);
+                queue.add(task);
+                expected.add(task);
+            }
+            assertSame(expected.peek(), queue.peek());
+        }
+        while (!expected.isEmpty()) {
+            assertSame(expected.poll(), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void byPriorityNegativeRemaining() {
+        TaskQueue queue = TaskQueue.byPriority();
+        Task task = createTask(0, 8, 3);
+        task.addSubTask(3, false, null);
+        // lowering the hours below those assigned leaves -0.5 hours remaining
+        task.setTotalHours(2.5);
+        queue.add(task);
+        assertEquals(task.getDueDay(), queue.peekDueDay());
+        assertTrue(queue.update(task));
+        assertTrue(queue.remove(task));
+        assertTrue(queue.isEmpty());
+        assertEquals(Integer.MAX_VALUE, queue.peekDueDay());
+    }
+
+    @Test
+    void byPriority() {
+        Random random = new Random(11);
+        TaskQueue queue = TaskQueue.byPriority();
+        PriorityQueue<Task> expected = new PriorityQueue<>((a, b) -> {
+            if (a.getPriority() != b.getPriority()) return Integer.compare(b.getPriority(), a.getPriority());
+            if (a.getDueDay() != b.getDueDay()) return Integer.compare(a.getDueDay(), b.getDueDay());
+            int hours = Double.compare(b.getSubTotalHoursRemaining(), a.getSubTotalHoursRemaining());
+            return hours != 0 ? hours : Integer.compare(a.getId(), b.getId());
+        });
+        List<Task> held = new ArrayList<>();
+        for (int id = 0; id < 2000; id++) {
+            int op = random.nextInt(4);
+            if (op == 0 && !held.isEmpty()) {
+                Task task = held.remove(random.nextInt(held.size()));
+                assertTrue(queue.remove(task));
+                expected.remove(task);
+            } else if (op == 1 && !held.isEmpty()) {
+                Task task = held.get(random.nextInt(held.size()));
+                expected.remove(task);
+                task.setPriority(random.nextInt(Task.MAX_PRIORITY + 1));
+                task.setDueDate(Time.getFormattedCalendarInstance(random.nextInt(30)));
+                expected.add(task);
+                assertTrue(queue.update(task));
+            } else {
+                Task task = createTask(id, random.nextInt(30), 1 + random.nextInt(8));
+                task.setPriority(random.nextInt(Task.MAX_PRIORITY + 1));
+                held.add(task);
+                queue.add(task);
+                expected.add(task);
+            }
+            assertSame(expected.peek(), queue.peek());
+            assertEquals(expected.stream().mapToInt(Task::getDueDay).min().orElse(Integer.MAX_VALUE), queue.peekDueDay());
+        }
+
+        // Tasks due on a date come out by priority, whatever else is queued
+        int dueDay = queue.peekDueDay();
+        Task dueFirst = expected.stream().filter(task -> task.getDueDay() == dueDay).min(expected.comparator()).orElseThrow();
+        assertSame(dueFirst, queue.pollDueOn(dueDay));
+        expected.remove(dueFirst);
+        while (!expected.isEmpty()) {
+            assertSame(expected.poll(), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.pollDueOn(dueDay));
+    }
+}
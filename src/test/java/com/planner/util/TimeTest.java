@@ -0,0 +1,68 @@
+package com.planner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeTest {
+
+    @Test
+    void toEpochDay() {
+        Calendar date = Calendar.getInstance();
+        date.clear();
+        date.set(1970, Calendar.JANUARY, 2, 23, 59);
+        assertEquals(1, Time.toEpochDay(date));
+
+        date.set(2024, Calendar.MARCH, 1, 0, 0);
+        assertEquals(19783, Time.toEpochDay(date));
+    }
+
+    @Test
+    void toCalendar() {
+        Calendar date = Time.toCalendar(19783, 9 * 60 + 30);
+        assertEquals(2024, date.get(Calendar.YEAR));
+        assertEquals(Calendar.MARCH, date.get(Calendar.MONTH));
+        assertEquals(1, date.get(Calendar.DAY_OF_MONTH));
+        assertEquals(9, date.get(Calendar.HOUR_OF_DAY));
+        assertEquals(30, date.get(Calendar.MINUTE));
+
+        Calendar nextDay = Time.toCalendar(19783, Time.MINUTES_PER_DAY + 15);
+        assertEquals(2, nextDay.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, nextDay.get(Calendar.HOUR_OF_DAY));
+        assertEquals(15, nextDay.get(Calendar.MINUTE));
+    }
+
+    @Test
+    void roundUpToQuarterOfHour() {
+        assertEquals(0, Time.roundUpToQuarterOfHour(0));
+        assertEquals(15, Time.roundUpToQuarterOfHour(1));
+        assertEquals(15, Time.roundUpToQuarterOfHour(15));
+        assertEquals(60, Time.roundUpToQuarterOfHour(46));
+    }
+
+    @Test
+    void getTimeInterval() {
+        assertEquals(1.0, Time.getTimeInterval(60, 147));
+        assertEquals(1.5, Time.getTimeInterval(60, 150));
+        assertEquals(0.0, Time.getTimeInterval(60, 89));
+    }
+
+    @Test
+    void timeStamp() {
+        Calendar start = Time.toCalendar(19783, 23 * 60);
+        Calendar end = Time.toCalendar(19783, 23 * 60 + 45);
+        Time.TimeStamp fromCalendars = new Time.TimeStamp(start, end);
+        assertEquals(19783, fromCalendars.getDay());
+        assertEquals(23 * 60, fromCalendars.getStartMinute());
+        assertEquals(23 * 60 + 45, fromCalendars.getEndMinute());
+
+        Time.TimeStamp fromMinutes = new Time.TimeStamp(19783, 23 * 60, 25 * 60);
+        assertEquals(fromCalendars.toString().substring(0, 7), fromMinutes.toString().substring(0, 7));
+        assertEquals(1, fromMinutes.getEndHour());
+        assertEquals(2, fromMinutes.getEnd().get(Calendar.DAY_OF_MONTH));
+
+        assertThrows(IllegalArgumentException.class, () -> new Time.TimeStamp(19783, 60, 60));
+    }
+}